@@ -0,0 +1,227 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.cyclonedx.Version;
+import org.cyclonedx.exception.GeneratorException;
+import org.cyclonedx.generators.BomGeneratorFactory;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.component.evidence.Occurrence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pqca.errors.CBOMSerializationFailed;
+import org.pqca.scanning.CBOM;
+import org.pqca.scanning.CBOMDelta;
+import org.pqca.scanning.CBOMMerger;
+import org.pqca.scanning.StreamingCBOMReader;
+import org.pqca.scanning.StreamingCBOMWriter;
+
+/** Merging and (de)serialization of CBOMs of increasing size. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CBOMBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int components;
+
+    private CBOM cbom;
+    private JsonNode json;
+    private Path outputFile;
+    private Path inputFile;
+
+    @Setup(Level.Trial)
+    public void setup() throws CBOMSerializationFailed, IOException {
+        this.cbom = SyntheticCBOMs.create(1, components, 3, Math.max(1, components / 10));
+        this.json = cbom.toJSON();
+        this.outputFile = Files.createTempFile("cbomkit-benchmark", ".json");
+        this.inputFile = Files.createTempFile("cbomkit-benchmark-input", ".json");
+        cbom.write(inputFile.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(outputFile);
+        Files.deleteIfExists(inputFile);
+    }
+
+    @Benchmark
+    public JsonNode toJSON() throws CBOMSerializationFailed {
+        return cbom.toJSON();
+    }
+
+    /** The former toJSON, rendering a String with a new generator and parsing it again. */
+    @Benchmark
+    public JsonNode toJSONViaString() throws GeneratorException, JsonProcessingException {
+        final String bomString =
+                BomGeneratorFactory.createJson(Version.VERSION_16, cbom.cycloneDXbom())
+                        .toJsonString();
+        return new ObjectMapper().readTree(bomString);
+    }
+
+    @Benchmark
+    public CBOM formJSON() throws CBOMSerializationFailed {
+        return CBOM.formJSON(json);
+    }
+
+    @Benchmark
+    public int readStreaming() throws CBOMSerializationFailed, IOException {
+        int occurrences = 0;
+        try (StreamingCBOMReader reader = StreamingCBOMReader.open(inputFile)) {
+            for (Component component : reader.components()) {
+                occurrences += component.getEvidence().getOccurrences().size();
+            }
+        }
+        return occurrences;
+    }
+
+    @Benchmark
+    public CBOM readTree() throws CBOMSerializationFailed, IOException {
+        return CBOM.formJSON(new ObjectMapper().readTree(inputFile.toFile()));
+    }
+
+    /** The former formJSON, with a new object mapper per call. */
+    @Benchmark
+    public Bom formJSONNewMapper() throws JsonProcessingException {
+        return new ObjectMapper().treeToValue(json, Bom.class);
+    }
+
+    @Benchmark
+    public void write() throws CBOMSerializationFailed {
+        cbom.write(outputFile.toString());
+    }
+
+    @Benchmark
+    public long writeGzip() throws CBOMSerializationFailed {
+        final StreamingCBOMWriter writer = new StreamingCBOMWriter();
+        writer.setGzip(true);
+        return writer.write(cbom, outputFile);
+    }
+
+    /** After the first invocation the lists are already sorted, so this is mostly hashing. */
+    @Benchmark
+    public String digest() throws CBOMSerializationFailed {
+        return cbom.digest();
+    }
+
+    /** Merge mutates its target, both sides are created fresh for every invocation. */
+    @State(Scope.Thread)
+    public static class MergeState {
+        @Param({"100", "1000", "10000"})
+        public int components;
+
+        CBOM target;
+        CBOM other;
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            this.target = SyntheticCBOMs.create(1, components, 3, Math.max(1, components / 10));
+            this.other = SyntheticCBOMs.create(2, components, 3, Math.max(1, components / 10));
+        }
+    }
+
+    @Benchmark
+    public CBOM merge(MergeState state) {
+        state.target.merge(state.other);
+        return state.target;
+    }
+
+    /** Partial CBOMs as produced by a scan per module. */
+    @State(Scope.Thread)
+    public static class MergeAllState {
+        @Param({"64"})
+        public int partitions;
+
+        @Param({"100", "1000"})
+        public int componentsPerPartition;
+
+        List<CBOM> cboms;
+
+        @Setup(Level.Invocation)
+        public void setup() {
+            this.cboms = new ArrayList<>(partitions);
+            for (int i = 0; i < partitions; i++) {
+                cboms.add(
+                        SyntheticCBOMs.create(
+                                i,
+                                componentsPerPartition,
+                                3,
+                                Math.max(1, componentsPerPartition / 10)));
+            }
+        }
+    }
+
+    @Benchmark
+    public CBOM mergeAll(MergeAllState state) {
+        return CBOMMerger.mergeAll(state.cboms);
+    }
+
+    /** The same CBOM a commit later: some findings moved, one component removed. */
+    @State(Scope.Thread)
+    public static class DiffState {
+        @Param({"1000", "10000"})
+        public int components;
+
+        CBOM older;
+        CBOM newer;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            this.older = SyntheticCBOMs.create(1, components, 3, Math.max(1, components / 10));
+            this.newer = SyntheticCBOMs.create(1, components, 3, Math.max(1, components / 10));
+            final List<Component> newerComponents = newer.cycloneDXbom().getComponents();
+            for (int i = 0; i < newerComponents.size(); i += 10) {
+                final Occurrence occurrence =
+                        newerComponents.get(i).getEvidence().getOccurrences().get(0);
+                occurrence.setLine(occurrence.getLine() + 1);
+            }
+            newerComponents.remove(newerComponents.size() - 1);
+        }
+    }
+
+    @Benchmark
+    public CBOMDelta diff(DiffState state) {
+        return state.older.diff(state.newer);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pqca.errors.CBOMSerializationFailed;
+import org.pqca.scanning.CBOM;
+import org.pqca.scanning.CBOMFormat;
+
+/**
+ * Encoding and decoding of CBOMs in JSON and the binary formats. The encoded size of every
+ * format is printed during setup, so that size and speed can be compared in one run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CBOMFormatBenchmark {
+
+    @Param({"1000", "10000"})
+    public int components;
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public CBOMFormat format;
+
+    private CBOM cbom;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setup() throws CBOMSerializationFailed {
+        this.cbom = SyntheticCBOMs.create(1, components, 3, Math.max(1, components / 10));
+        this.encoded = cbom.encode(format);
+        System.out.printf("%n%s: %d bytes for %d components%n", format, encoded.length, components);
+    }
+
+    @Benchmark
+    public byte[] encode() throws CBOMSerializationFailed {
+        return cbom.encode(format);
+    }
+
+    @Benchmark
+    public CBOM decode() throws CBOMSerializationFailed {
+        return CBOM.decode(format, encoded);
+    }
+}
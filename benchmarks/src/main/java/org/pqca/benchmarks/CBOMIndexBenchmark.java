@@ -0,0 +1,97 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.component.evidence.Occurrence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pqca.scanning.CBOM;
+import org.pqca.scanning.CBOMIndex;
+import org.pqca.scanning.CBOMIndex.Dimension;
+
+/** Building the query index of a CBOM, and queries against the index and a linear scan. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CBOMIndexBenchmark {
+    private static final String FILE = SyntheticCBOMs.BASE_DIRECTORY + "/src/main/java/File7.java";
+
+    @Param({"10000", "100000"})
+    public int components;
+
+    private CBOM cbom;
+    private CBOMIndex index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.cbom = SyntheticCBOMs.create(1, components, 3, Math.max(1, components / 10));
+        this.index = CBOMIndex.of(cbom);
+    }
+
+    @Benchmark
+    public CBOMIndex build() {
+        return CBOMIndex.of(cbom);
+    }
+
+    @Benchmark
+    public List<Occurrence> queryAlgorithmInFile() {
+        return index.query().algorithm("RSA").location(FILE).occurrences();
+    }
+
+    @Benchmark
+    public Map<String, Integer> countByAlgorithm() {
+        return index.query().directory(SyntheticCBOMs.BASE_DIRECTORY).countBy(Dimension.ALGORITHM);
+    }
+
+    /** The same query as {@link #queryAlgorithmInFile()} without index. */
+    @Benchmark
+    public List<Occurrence> scanAlgorithmInFile() {
+        final List<Occurrence> result = new ArrayList<>();
+        for (Component component : cbom.cycloneDXbom().getComponents()) {
+            if (!component.getName().startsWith("RSA")) {
+                continue;
+            }
+            for (Occurrence occurrence : component.getEvidence().getOccurrences()) {
+                if (FILE.equals(occurrence.getLocation())) {
+                    result.add(occurrence);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pqca.errors.CBOMSerializationFailed;
+import org.pqca.scanning.CBOM;
+import org.pqca.store.CBOMStore;
+import org.pqca.store.CBOMStore.Field;
+import org.pqca.store.CBOMStore.Term;
+import org.pqca.store.StoredCBOM;
+
+/** Queries across the CBOMs of many repositories in a compacted {@link CBOMStore}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CBOMStoreBenchmark {
+    private static final int BATCH = 1000;
+
+    @Param({"10000"})
+    public int repositories;
+
+    @Param({"20"})
+    public int components;
+
+    private Path directory;
+    private CBOMStore store;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, CBOMSerializationFailed {
+        this.directory = Files.createTempDirectory("cbomkit-store-benchmark");
+        this.store = CBOMStore.open(directory);
+        final List<CBOM> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < repositories; i++) {
+            final CBOM cbom = SyntheticCBOMs.create(i, components, 3, 10);
+            cbom.addMetadata("https://example.com/repository" + i, "main", "c" + i, null);
+            batch.add(cbom);
+            if (batch.size() == BATCH) {
+                store.append(batch);
+                batch.clear();
+            }
+        }
+        store.append(batch);
+        store.compact();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<StoredCBOM> findAlgorithm() {
+        return store.find(Field.ALGORITHM, "RSA-2048");
+    }
+
+    @Benchmark
+    public List<StoredCBOM> findAll() {
+        return store.findAll(new Term(Field.ALGORITHM, "RSA"), new Term(Field.ALGORITHM, "ECDH"));
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks;
+
+import jakarta.annotation.Nonnull;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Locates the test data of the library, used as benchmark fixtures. The directory is taken from
+ * the system property {@value #TESTDATA_PROPERTY}, or found relative to the working directory.
+ */
+public final class Fixtures {
+    public static final String TESTDATA_PROPERTY = "cbomkit.testdata";
+
+    private static final List<String> CANDIDATES =
+            List.of("src/test/testdata", "../src/test/testdata");
+
+    private Fixtures() {}
+
+    @Nonnull
+    public static Path testdata() {
+        final String configured = System.getProperty(TESTDATA_PROPERTY);
+        if (configured != null) {
+            return Paths.get(configured).toAbsolutePath().normalize();
+        }
+        return CANDIDATES.stream()
+                .map(candidate -> Paths.get(candidate).toAbsolutePath().normalize())
+                .filter(Files::isDirectory)
+                .findFirst()
+                .orElseThrow(
+                        () ->
+                                new IllegalStateException(
+                                        "Test data not found, set -D"
+                                                + TESTDATA_PROPERTY
+                                                + "=<cbomkit-lib>/src/test/testdata"));
+    }
+
+    @Nonnull
+    public static Path keycloak() {
+        return testdata().resolve("java/keycloak");
+    }
+
+    @Nonnull
+    public static Path pyca() {
+        return testdata().resolve("python/pyca");
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pqca.errors.ClientDisconnected;
+import org.pqca.indexing.IBuildType;
+import org.pqca.indexing.IndexingService;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.indexing.java.JavaIndexService;
+import org.pqca.indexing.python.PythonIndexService;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+
+/** Walking a source tree into project modules, and reading single files with charset fallback. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndexingBenchmark {
+    private File keycloak;
+    private File pyca;
+    private Path tempDirectory;
+    private File utf8File;
+    private File latin1File;
+    private FileBuilderAccess fileBuilderAccess;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.keycloak = Fixtures.keycloak().toFile();
+        this.pyca = Fixtures.pyca().toFile();
+        this.tempDirectory = Files.createTempDirectory("cbomkit-indexing-benchmark");
+        final String source =
+                Files.readString(
+                        Fixtures.pyca().resolve("generate_key.py"), StandardCharsets.UTF_8);
+        this.utf8File = tempDirectory.resolve("utf8.py").toFile();
+        Files.writeString(utf8File.toPath(), "# ünïcödé\n" + source, StandardCharsets.UTF_8);
+        // not valid UTF-8, decoding falls back to ISO-8859-1
+        this.latin1File = tempDirectory.resolve("latin1.py").toFile();
+        Files.writeString(
+                latin1File.toPath(), "# ünïcödé\n" + source, StandardCharsets.ISO_8859_1);
+        this.fileBuilderAccess = new FileBuilderAccess(tempDirectory.toFile());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(utf8File.toPath());
+        Files.deleteIfExists(latin1File.toPath());
+        Files.deleteIfExists(tempDirectory);
+    }
+
+    @Benchmark
+    public List<ProjectModule> indexJava() throws ClientDisconnected {
+        return new JavaIndexService(keycloak).index(null);
+    }
+
+    @Benchmark
+    public List<ProjectModule> indexPython() throws ClientDisconnected {
+        return new PythonIndexService(pyca).index(null);
+    }
+
+    @Benchmark
+    public InputFile readUtf8File() throws IOException {
+        return fileBuilderAccess.build(utf8File);
+    }
+
+    @Benchmark
+    public InputFile readLatin1File() throws IOException {
+        return fileBuilderAccess.build(latin1File);
+    }
+
+    /** Exposes the file reading of the indexing service. */
+    private static final class FileBuilderAccess extends IndexingService {
+        @Nonnull private final File projectDirectory;
+
+        FileBuilderAccess(@Nonnull File projectDirectory) {
+            super(projectDirectory, "python", List.of(".py"));
+            this.projectDirectory = projectDirectory;
+        }
+
+        InputFile build(@Nonnull File file) throws IOException {
+            final TestInputFileBuilder builder = createTestFileBuilder(projectDirectory, file);
+            return builder.build();
+        }
+
+        @Override
+        public boolean isModule(@Nonnull File directory) {
+            return false;
+        }
+
+        @Nullable @Override
+        public IBuildType getMainBuildTypeFromModuleDirectory(@Nonnull File directory) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks;
+
+import java.io.File;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.pqca.errors.ClientDisconnected;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.indexing.python.PythonIndexService;
+import org.pqca.scanning.ScanResultDTO;
+import org.pqca.scanning.python.PythonScannerService;
+
+/** Python scan with all detection rules compared to a single rule group. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RuleSubsetBenchmark {
+
+    /** Comma separated rule groups, or "all". */
+    @Param({"all", "pyca"})
+    public String ruleGroups;
+
+    private File projectDirectory;
+    private List<ProjectModule> projectModules;
+
+    @Setup(Level.Trial)
+    public void setup() throws ClientDisconnected {
+        this.projectDirectory = Fixtures.pyca().toFile();
+        this.projectModules = new PythonIndexService(projectDirectory).index(null);
+    }
+
+    @Benchmark
+    public ScanResultDTO scan() throws ClientDisconnected {
+        final PythonScannerService scannerService = new PythonScannerService(projectDirectory);
+        if (!"all".equals(ruleGroups)) {
+            scannerService.setEnabledRuleGroups(Set.of(ruleGroups.split(",")));
+        }
+        return scannerService.scan(projectModules);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.component.evidence.Occurrence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.pqca.scanning.ScannerService;
+import org.pqca.scanning.python.PythonScannerService;
+
+/**
+ * Post-processing of detected components. The fixture is rebuilt before every invocation since
+ * both operations mutate the components, so a batch of components is processed per invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScannerServiceBenchmark {
+    private static final File BASE_DIRECTORY = new File(SyntheticCBOMs.BASE_DIRECTORY);
+
+    @Param({"1000"})
+    public int components;
+
+    @Param({"4"})
+    public int occurrences;
+
+    private List<Component> batch;
+    private PythonScannerService scannerService;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        this.batch =
+                SyntheticCBOMs.create(42, components, occurrences, components / 10)
+                        .cycloneDXbom()
+                        .getComponents();
+        this.scannerService = new PythonScannerService(BASE_DIRECTORY);
+    }
+
+    @Benchmark
+    public void deduplicateFindings(Blackhole blackhole) {
+        for (Component component : batch) {
+            blackhole.consume(scannerService.deduplicateFindings(component));
+        }
+    }
+
+    @Benchmark
+    public void sanitizeOccurrence(Blackhole blackhole) {
+        for (Component component : batch) {
+            ScannerService.sanitizeOccurrence(BASE_DIRECTORY, component);
+            for (Occurrence occurrence : component.getEvidence().getOccurrences()) {
+                blackhole.consume(occurrence.getLocation());
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks;
+
+import jakarta.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Dependency;
+import org.cyclonedx.model.Evidence;
+import org.cyclonedx.model.component.crypto.CryptoProperties;
+import org.cyclonedx.model.component.crypto.enums.AssetType;
+import org.cyclonedx.model.component.evidence.Occurrence;
+import org.pqca.scanning.CBOM;
+
+/** Generates CBOMs of a given size. The same seed always gives the same CBOM. */
+public final class SyntheticCBOMs {
+    /** Base directory of the occurrence locations. */
+    public static final String BASE_DIRECTORY = "/benchmark/project";
+
+    private static final List<String> ASSETS =
+            List.of(
+                    "AES128-GCM",
+                    "AES256-CBC-PKCS7",
+                    "SHA256",
+                    "SHA3-512",
+                    "RSA-2048",
+                    "RSA-OAEP",
+                    "HMAC-SHA256",
+                    "EC-secp256r1",
+                    "ECDH",
+                    "PBKDF2-SHA256",
+                    "Ed25519",
+                    "ML-KEM-768");
+
+    private SyntheticCBOMs() {}
+
+    /**
+     * @param components number of components, names repeat so that merges find equal assets
+     * @param occurrences occurrences per component
+     * @param files number of distinct source files the occurrences are spread over
+     */
+    @Nonnull
+    public static CBOM create(long seed, int components, int occurrences, int files) {
+        final Random random = new Random(seed);
+        final Bom bom = new Bom();
+        final List<Component> componentList = new ArrayList<>(components);
+        final List<Dependency> dependencies = new ArrayList<>();
+        for (int i = 0; i < components; i++) {
+            final Component component = new Component();
+            component.setType(Component.Type.CRYPTOGRAPHIC_ASSET);
+            component.setName(ASSETS.get(random.nextInt(ASSETS.size())));
+            component.setBomRef("ref-" + seed + "-" + i);
+            final CryptoProperties cryptoProperties = new CryptoProperties();
+            cryptoProperties.setAssetType(AssetType.ALGORITHM);
+            component.setCryptoProperties(cryptoProperties);
+            final List<Occurrence> occurrenceList = new ArrayList<>(occurrences);
+            for (int j = 0; j < occurrences; j++) {
+                final Occurrence occurrence = new Occurrence();
+                occurrence.setLocation(
+                        BASE_DIRECTORY + "/src/main/java/File" + random.nextInt(files) + ".java");
+                occurrence.setLine(1 + random.nextInt(2000));
+                occurrence.setOffset(random.nextInt(120));
+                occurrence.setAdditionalContext(
+                        "Cipher.getInstance(\"" + component.getName() + "\")");
+                occurrenceList.add(occurrence);
+            }
+            final Evidence evidence = new Evidence();
+            evidence.setOccurrences(occurrenceList);
+            component.setEvidence(evidence);
+            componentList.add(component);
+            if (i > 0 && random.nextInt(4) == 0) {
+                final Dependency dependency = new Dependency(component.getBomRef());
+                dependency.addDependency(
+                        new Dependency(componentList.get(random.nextInt(i)).getBomRef()));
+                dependencies.add(dependency);
+            }
+        }
+        bom.setComponents(componentList);
+        bom.setDependencies(dependencies);
+        return new CBOM(bom);
+    }
+}
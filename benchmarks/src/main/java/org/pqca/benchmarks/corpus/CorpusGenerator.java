@@ -0,0 +1,406 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks.corpus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates Java, Python and C/C++ source trees of arbitrary size, so that benchmarks and stress
+ * tests can run against large repositories without network access.
+ *
+ * <p>The output is a pure function of the {@link CorpusSpec}: every file draws from its own
+ * random generator, seeded from the corpus seed, the language, the module and the file index, so
+ * modules are generated in parallel without affecting the content.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar org.pqca.benchmarks.corpus.CorpusGenerator \
+ *     --out /tmp/corpus --modules 100 --files 1000
+ * </pre>
+ */
+public final class CorpusGenerator {
+    public static final String MANIFEST = "corpus.json";
+
+    private static final int FANOUT = 8;
+    private static final int STATEMENTS_PER_BLOCK = 12;
+    private static final String LATIN1_COMMENT =
+            "Schlüsselverwaltung für Benutzer, Größe ändern, café, naïve";
+    private static final Pattern JAVA_PACKAGE =
+            Pattern.compile("^package\\s+[\\w.]+;", Pattern.MULTILINE);
+
+    @Nonnull private final CorpusSpec spec;
+    @Nonnull private final Map<String, List<Template>> templates;
+
+    private final LongAdder files = new LongAdder();
+    private final LongAdder lines = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder cryptoStatements = new LongAdder();
+    private final LongAdder latin1Files = new LongAdder();
+
+    public CorpusGenerator(@Nonnull CorpusSpec spec) throws IOException {
+        this.spec = spec;
+        this.templates = loadTemplates(spec);
+    }
+
+    /** Writes the corpus and its manifest below the given directory. */
+    @Nonnull
+    public CorpusSummary generate(@Nonnull Path outputDirectory) throws IOException {
+        try {
+            for (CorpusLanguage language : spec.languages()) {
+                IntStream.range(0, spec.modules())
+                        .parallel()
+                        .forEach(module -> generateModule(outputDirectory, language, module));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        CorpusSummary summary =
+                new CorpusSummary(
+                        spec,
+                        (long) spec.languages().size() * spec.modules(),
+                        files.sum(),
+                        lines.sum(),
+                        bytes.sum(),
+                        cryptoStatements.sum(),
+                        latin1Files.sum());
+        new ObjectMapper()
+                .writerWithDefaultPrettyPrinter()
+                .writeValue(outputDirectory.resolve(MANIFEST).toFile(), summary);
+        return summary;
+    }
+
+    private void generateModule(
+            @Nonnull Path outputDirectory, @Nonnull CorpusLanguage language, int module) {
+        String moduleName = String.format(Locale.ROOT, "module-%04d", module);
+        Path moduleDirectory =
+                outputDirectory.resolve(language.getDirectory()).resolve(moduleName);
+        try {
+            Files.createDirectories(moduleDirectory);
+            Files.writeString(
+                    moduleDirectory.resolve(language.getBuildFile()),
+                    buildFile(language, moduleName));
+            Path sourceRoot = moduleDirectory.resolve(language.getSourceRoot());
+            for (int file = 0; file < spec.filesPerModule(); file++) {
+                generateFile(sourceRoot, language, module, file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void generateFile(
+            @Nonnull Path sourceRoot, @Nonnull CorpusLanguage language, int module, int file)
+            throws IOException {
+        SplittableRandom random = new SplittableRandom(seedOf(language, module, file));
+        List<String> segments = new ArrayList<>();
+        switch (language) {
+            case JAVA -> segments.addAll(
+                    List.of("org", "corpus", String.format(Locale.ROOT, "m%04d", module)));
+            case PYTHON -> segments.add(String.format(Locale.ROOT, "corpus_m%04d", module));
+            default -> {}
+        }
+        for (int level = 0, index = file; level < spec.depth(); level++, index /= FANOUT) {
+            segments.add("p" + (index % FANOUT));
+        }
+        String stem =
+                String.format(
+                        Locale.ROOT,
+                        language == CorpusLanguage.JAVA ? "Class%05d" : "file_%05d",
+                        file);
+        boolean latin1 = random.nextDouble() < spec.latin1Ratio();
+
+        String content;
+        List<Template> candidates = templates.get(language.getExtension());
+        if (candidates != null) {
+            Template template = candidates.get(random.nextInt(candidates.size()));
+            content = fromTemplate(template, segments, stem, language);
+        } else {
+            content = generateSource(random, language, segments, stem);
+        }
+        content = comment(language, LATIN1_COMMENT) + content;
+
+        Path directory = sourceRoot;
+        for (String segment : segments) {
+            directory = directory.resolve(segment);
+        }
+        Files.createDirectories(directory);
+        Charset charset = latin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8;
+        byte[] data = content.getBytes(charset);
+        Files.write(directory.resolve(stem + language.getExtension()), data);
+
+        files.increment();
+        lines.add(content.lines().count());
+        bytes.add(data.length);
+        if (latin1) {
+            latin1Files.increment();
+        }
+    }
+
+    @Nonnull
+    private String generateSource(
+            @Nonnull SplittableRandom random,
+            @Nonnull CorpusLanguage language,
+            @Nonnull List<String> segments,
+            @Nonnull String stem) {
+        int targetLines = random.nextInt(spec.minLines(), spec.maxLines() + 1);
+        StringBuilder source = new StringBuilder(targetLines * 48);
+        String indent;
+        switch (language) {
+            case JAVA -> {
+                source.append("package ").append(String.join(".", segments)).append(";\n\n")
+                        .append("import java.security.KeyPairGenerator;\n")
+                        .append("import java.security.MessageDigest;\n")
+                        .append("import java.security.Signature;\n")
+                        .append("import javax.crypto.Cipher;\n")
+                        .append("import javax.crypto.KeyGenerator;\n")
+                        .append("import javax.crypto.Mac;\n\n");
+                source.append("public class ").append(stem).append(" {\n");
+                indent = "        ";
+            }
+            case PYTHON -> {
+                source.append("import os\n")
+                        .append("from cryptography.fernet import Fernet\n")
+                        .append("from cryptography.hazmat.primitives import hashes, hmac\n")
+                        .append("from cryptography.hazmat.primitives.asymmetric import rsa\n")
+                        .append("from cryptography.hazmat.primitives.ciphers import ")
+                        .append("Cipher, algorithms, modes\n");
+                indent = "    ";
+            }
+            default -> {
+                source.append("#include <openssl/evp.h>\n")
+                        .append("#include <openssl/hmac.h>\n")
+                        .append("#include <openssl/rsa.h>\n");
+                indent = "    ";
+            }
+        }
+
+        int written = (int) source.chars().filter(c -> c == '\n').count();
+        int statement = 0;
+        for (int block = 0; written < targetLines; block++) {
+            switch (language) {
+                case JAVA -> source.append("\n    public void method")
+                        .append(block)
+                        .append("() throws Exception {\n");
+                case PYTHON -> source.append("\n\ndef function_")
+                        .append(block)
+                        .append("():\n")
+                        .append(indent)
+                        .append("key = os.urandom(32)\n")
+                        .append(indent)
+                        .append("iv = os.urandom(16)\n");
+                default -> source.append("\nvoid function_")
+                        .append(block)
+                        .append("(const unsigned char *key, const unsigned char *iv) {\n");
+            }
+            written += language == CorpusLanguage.PYTHON ? 5 : 2;
+            for (int i = 0; i < STATEMENTS_PER_BLOCK && written < targetLines; i++) {
+                List<String> formats;
+                if (random.nextDouble() < spec.cryptoDensity()) {
+                    formats = language.getCryptoStatements();
+                    cryptoStatements.increment();
+                } else {
+                    formats = language.getFillerStatements();
+                }
+                String format = formats.get(random.nextInt(formats.size()));
+                source.append(indent)
+                        .append(
+                                String.format(
+                                        Locale.ROOT,
+                                        format,
+                                        statement++,
+                                        random.nextInt(1, 1000),
+                                        random.nextInt(1, 1000)))
+                        .append('\n');
+                written++;
+            }
+            switch (language) {
+                case JAVA -> source.append("    }\n");
+                case PYTHON -> {}
+                default -> source.append("}\n");
+            }
+            written++;
+        }
+        if (language == CorpusLanguage.JAVA) {
+            source.append("}\n");
+        }
+        return source.toString();
+    }
+
+    @Nonnull
+    private static String fromTemplate(
+            @Nonnull Template template,
+            @Nonnull List<String> segments,
+            @Nonnull String stem,
+            @Nonnull CorpusLanguage language) {
+        if (language != CorpusLanguage.JAVA) {
+            return template.content();
+        }
+        String content =
+                JAVA_PACKAGE
+                        .matcher(template.content())
+                        .replaceFirst(
+                                Matcher.quoteReplacement(
+                                        "package " + String.join(".", segments) + ";"));
+        // rename the primary type, so that the file name matches the class
+        return Pattern.compile("\\b" + Pattern.quote(template.stem()) + "\\b")
+                .matcher(content)
+                .replaceAll(stem);
+    }
+
+    @Nonnull
+    private static String comment(@Nonnull CorpusLanguage language, @Nonnull String text) {
+        return (language == CorpusLanguage.PYTHON ? "# " : "// ") + text + "\n";
+    }
+
+    @Nonnull
+    private static String buildFile(@Nonnull CorpusLanguage language, @Nonnull String module) {
+        return switch (language) {
+            case JAVA -> "<project>\n"
+                    + "  <modelVersion>4.0.0</modelVersion>\n"
+                    + "  <groupId>org.corpus</groupId>\n"
+                    + "  <artifactId>" + module + "</artifactId>\n"
+                    + "  <version>1.0.0</version>\n"
+                    + "</project>\n";
+            case PYTHON -> "[project]\nname = \"corpus-" + module + "\"\nversion = \"1.0.0\"\n";
+            case CPP -> "cmake_minimum_required(VERSION 3.10)\nproject(corpus_"
+                    + module.replace('-', '_')
+                    + ")\nfile(GLOB_RECURSE SOURCES src/*.cpp)\nadd_library(corpus ${SOURCES})\n";
+        };
+    }
+
+    private long seedOf(@Nonnull CorpusLanguage language, int module, int file) {
+        long seed = spec.seed();
+        seed = seed * 31 + language.ordinal();
+        seed = seed * 1_000_003 + module;
+        seed = seed * 1_000_003 + file;
+        return new SplittableRandom(seed).nextLong();
+    }
+
+    @Nonnull
+    private static Map<String, List<Template>> loadTemplates(@Nonnull CorpusSpec spec)
+            throws IOException {
+        Map<String, List<Template>> templates = new HashMap<>();
+        if (spec.templateDirectory() == null) {
+            return templates;
+        }
+        try (Stream<Path> paths = Files.walk(spec.templateDirectory())) {
+            // sorted, so that the choice of a template does not depend on the file system
+            for (Path path : paths.filter(Files::isRegularFile).sorted().toList()) {
+                String name = path.getFileName().toString();
+                int dot = name.lastIndexOf('.');
+                if (dot < 0) {
+                    continue;
+                }
+                templates
+                        .computeIfAbsent(name.substring(dot), k -> new ArrayList<>())
+                        .add(
+                                new Template(
+                                        name.substring(0, dot),
+                                        Files.readString(path, StandardCharsets.UTF_8)));
+            }
+        }
+        return templates;
+    }
+
+    private record Template(@Nonnull String stem, @Nonnull String content) {}
+
+    public static void main(@Nonnull String[] args) throws IOException {
+        CorpusSpec defaults = CorpusSpec.defaults();
+        Path out = null;
+        Set<CorpusLanguage> languages = defaults.languages();
+        int modules = defaults.modules();
+        int filesPerModule = defaults.filesPerModule();
+        int depth = defaults.depth();
+        double density = defaults.cryptoDensity();
+        double latin1 = defaults.latin1Ratio();
+        int minLines = defaults.minLines();
+        int maxLines = defaults.maxLines();
+        long seed = defaults.seed();
+        Path templateDirectory = null;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--out" -> out = Path.of(value);
+                case "--languages" -> {
+                    languages = EnumSet.noneOf(CorpusLanguage.class);
+                    for (String language : value.split(",")) {
+                        languages.add(CorpusLanguage.of(language));
+                    }
+                }
+                case "--modules" -> modules = Integer.parseInt(value);
+                case "--files" -> filesPerModule = Integer.parseInt(value);
+                case "--depth" -> depth = Integer.parseInt(value);
+                case "--density" -> density = Double.parseDouble(value);
+                case "--latin1" -> latin1 = Double.parseDouble(value);
+                case "--min-lines" -> minLines = Integer.parseInt(value);
+                case "--max-lines" -> maxLines = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--templates" -> templateDirectory = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("Missing --out <directory>");
+        }
+
+        CorpusSpec spec =
+                new CorpusSpec(
+                        seed,
+                        languages,
+                        modules,
+                        filesPerModule,
+                        depth,
+                        density,
+                        latin1,
+                        minLines,
+                        maxLines,
+                        templateDirectory);
+        long start = System.nanoTime();
+        CorpusSummary summary = new CorpusGenerator(spec).generate(out);
+        System.out.printf(
+                Locale.ROOT,
+                "Generated %d files (%d lines, %d bytes) in %d modules in %d ms%n",
+                summary.files(),
+                summary.lines(),
+                summary.bytes(),
+                summary.modules(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks.corpus;
+
+import jakarta.annotation.Nonnull;
+import java.util.List;
+import java.util.Locale;
+
+/** The languages a corpus can be generated for, with their module layout. */
+public enum CorpusLanguage {
+    JAVA(
+            "java",
+            ".java",
+            "pom.xml",
+            "src/main/java",
+            List.of(
+                    "Cipher cipher%1$d = Cipher.getInstance(\"AES/GCM/NoPadding\");",
+                    "MessageDigest digest%1$d = MessageDigest.getInstance(\"SHA-256\");",
+                    "KeyPairGenerator generator%1$d = KeyPairGenerator.getInstance(\"RSA\");",
+                    "Mac mac%1$d = Mac.getInstance(\"HmacSHA256\");",
+                    "KeyGenerator keyGenerator%1$d = KeyGenerator.getInstance(\"AES\");",
+                    "Signature signature%1$d = Signature.getInstance(\"SHA256withECDSA\");"),
+            List.of(
+                    "int value%1$d = %2$d * %3$d + %1$d;",
+                    "String text%1$d = \"value-\" + %2$d;",
+                    "long sum%1$d = (long) %2$d * %3$d;")),
+    PYTHON(
+            "python",
+            ".py",
+            "pyproject.toml",
+            "src",
+            List.of(
+                    "digest_%1$d = hashes.Hash(hashes.SHA256())",
+                    "private_key_%1$d = rsa.generate_private_key(65537, 2048)",
+                    "cipher_%1$d = Cipher(algorithms.AES(key), modes.CBC(iv))",
+                    "mac_%1$d = hmac.HMAC(key, hashes.SHA256())",
+                    "fernet_%1$d = Fernet(Fernet.generate_key())"),
+            List.of(
+                    "value_%1$d = %2$d * %3$d + %1$d",
+                    "text_%1$d = \"value-\" + str(%2$d)",
+                    "total_%1$d = sum(range(%2$d))")),
+    CPP(
+            "cpp",
+            ".cpp",
+            "CMakeLists.txt",
+            "src",
+            List.of(
+                    "EVP_CIPHER_CTX *cipher%1$d = EVP_CIPHER_CTX_new();\n    "
+                            + "EVP_EncryptInit_ex(cipher%1$d, EVP_aes_256_gcm(), NULL, key, iv);",
+                    "EVP_MD_CTX *digest%1$d = EVP_MD_CTX_new();\n    "
+                            + "EVP_DigestInit_ex(digest%1$d, EVP_sha256(), NULL);",
+                    "unsigned char *mac%1$d = HMAC(EVP_sha256(), key, 32, iv, 16, NULL, NULL);",
+                    "RSA *rsa%1$d = RSA_new();"),
+            List.of(
+                    "int value%1$d = %2$d * %3$d + %1$d;",
+                    "long total%1$d = %2$dL + %3$dL;",
+                    "const char *text%1$d = \"value-%2$d\";"));
+
+    @Nonnull private final String directory;
+    @Nonnull private final String extension;
+    @Nonnull private final String buildFile;
+    @Nonnull private final String sourceRoot;
+    @Nonnull private final List<String> cryptoStatements;
+    @Nonnull private final List<String> fillerStatements;
+
+    CorpusLanguage(
+            @Nonnull String directory,
+            @Nonnull String extension,
+            @Nonnull String buildFile,
+            @Nonnull String sourceRoot,
+            @Nonnull List<String> cryptoStatements,
+            @Nonnull List<String> fillerStatements) {
+        this.directory = directory;
+        this.extension = extension;
+        this.buildFile = buildFile;
+        this.sourceRoot = sourceRoot;
+        this.cryptoStatements = cryptoStatements;
+        this.fillerStatements = fillerStatements;
+    }
+
+    @Nonnull
+    public static CorpusLanguage of(@Nonnull String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /** Directory of the language below the corpus root. */
+    @Nonnull
+    public String getDirectory() {
+        return directory;
+    }
+
+    @Nonnull
+    public String getExtension() {
+        return extension;
+    }
+
+    /** The build file that makes the indexing service detect a module. */
+    @Nonnull
+    public String getBuildFile() {
+        return buildFile;
+    }
+
+    @Nonnull
+    public String getSourceRoot() {
+        return sourceRoot;
+    }
+
+    /** Statement formats taking a unique index and two numbers as arguments. */
+    @Nonnull
+    public List<String> getCryptoStatements() {
+        return cryptoStatements;
+    }
+
+    @Nonnull
+    public List<String> getFillerStatements() {
+        return fillerStatements;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks.corpus;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Shape of a generated corpus. Files of a module are spread over a directory tree of the given
+ * depth.
+ *
+ * @param cryptoDensity fraction of the statements that are crypto API calls
+ * @param latin1Ratio fraction of the files written in ISO-8859-1 instead of UTF-8
+ * @param templateDirectory source files used as templates instead of generated code, e.g. the
+ *     keycloak samples of the test data. Templates are matched by file extension.
+ */
+public record CorpusSpec(
+        long seed,
+        @Nonnull Set<CorpusLanguage> languages,
+        int modules,
+        int filesPerModule,
+        int depth,
+        double cryptoDensity,
+        double latin1Ratio,
+        int minLines,
+        int maxLines,
+        @Nullable Path templateDirectory) {
+
+    public CorpusSpec {
+        if (languages.isEmpty()) {
+            throw new IllegalArgumentException("No language selected");
+        }
+        if (modules <= 0 || filesPerModule <= 0 || depth < 0) {
+            throw new IllegalArgumentException("modules and files must be positive");
+        }
+        if (cryptoDensity < 0 || cryptoDensity > 1 || latin1Ratio < 0 || latin1Ratio > 1) {
+            throw new IllegalArgumentException("Ratios must be between 0 and 1");
+        }
+        if (minLines <= 0 || maxLines < minLines) {
+            throw new IllegalArgumentException("Invalid line range");
+        }
+        languages = Collections.unmodifiableSet(EnumSet.copyOf(languages));
+    }
+
+    @Nonnull
+    public static CorpusSpec defaults() {
+        return new CorpusSpec(
+                1, Set.of(CorpusLanguage.values()), 10, 100, 3, 0.05, 0.05, 40, 400, null);
+    }
+
+    public long totalFiles() {
+        return (long) languages.size() * modules * filesPerModule;
+    }
+}
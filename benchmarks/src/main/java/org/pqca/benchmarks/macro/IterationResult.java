@@ -0,0 +1,45 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks.macro;
+
+import jakarta.annotation.Nonnull;
+import org.pqca.benchmarks.corpus.CorpusLanguage;
+
+/**
+ * Measurements of one index, scan and serialize run. Allocations are counted for all threads of
+ * the JVM, and the peak heap is the sum of the peak usages of the heap memory pools.
+ */
+public record IterationResult(
+        @Nonnull CorpusLanguage language,
+        int iteration,
+        boolean warmup,
+        int modules,
+        int files,
+        int lines,
+        int findings,
+        long cbomBytes,
+        long indexMillis,
+        long scanMillis,
+        long serializeMillis,
+        long wallMillis,
+        long gcMillis,
+        long gcCount,
+        long allocatedBytes,
+        long peakHeapBytes) {}
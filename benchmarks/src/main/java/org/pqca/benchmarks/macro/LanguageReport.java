@@ -0,0 +1,77 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks.macro;
+
+import jakarta.annotation.Nonnull;
+import java.util.List;
+import org.pqca.benchmarks.corpus.CorpusLanguage;
+
+/**
+ * Aggregate of the measured (non-warmup) iterations of a language. Throughput is based on the
+ * median wall time, so that a single slow iteration does not skew the comparison of two builds.
+ */
+public record LanguageReport(
+        @Nonnull CorpusLanguage language,
+        int iterations,
+        int files,
+        int lines,
+        int findings,
+        long medianWallMillis,
+        long minWallMillis,
+        long maxWallMillis,
+        double filesPerSecond,
+        double linesPerSecond,
+        long peakHeapBytes,
+        long gcMillisPerIteration,
+        double allocationRateBytesPerSecond,
+        @Nonnull List<IterationResult> results) {
+
+    @Nonnull
+    public static LanguageReport of(
+            @Nonnull CorpusLanguage language, @Nonnull List<IterationResult> results) {
+        List<IterationResult> measured =
+                results.stream().filter(result -> !result.warmup()).toList();
+        if (measured.isEmpty()) {
+            throw new IllegalArgumentException("No measured iteration for " + language);
+        }
+        long[] wallTimes =
+                measured.stream().mapToLong(IterationResult::wallMillis).sorted().toArray();
+        long median = wallTimes[wallTimes.length / 2];
+        double seconds = Math.max(median, 1) / 1000.0;
+        IterationResult first = measured.get(0);
+        long totalWall = measured.stream().mapToLong(IterationResult::wallMillis).sum();
+        long allocated = measured.stream().mapToLong(IterationResult::allocatedBytes).sum();
+        return new LanguageReport(
+                language,
+                measured.size(),
+                first.files(),
+                first.lines(),
+                first.findings(),
+                median,
+                wallTimes[0],
+                wallTimes[wallTimes.length - 1],
+                first.files() / seconds,
+                first.lines() / seconds,
+                measured.stream().mapToLong(IterationResult::peakHeapBytes).max().orElse(0),
+                measured.stream().mapToLong(IterationResult::gcMillis).sum() / measured.size(),
+                allocated / (Math.max(totalWall, 1) / 1000.0),
+                List.copyOf(results));
+    }
+}
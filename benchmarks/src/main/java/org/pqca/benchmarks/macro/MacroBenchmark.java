@@ -0,0 +1,263 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks.macro;
+
+import com.sun.management.ThreadMXBean;
+import jakarta.annotation.Nonnull;
+import java.io.File;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.pqca.benchmarks.Fixtures;
+import org.pqca.benchmarks.corpus.CorpusLanguage;
+import org.pqca.indexing.IndexingService;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.indexing.cpp.CppIndexService;
+import org.pqca.indexing.java.JavaIndexService;
+import org.pqca.indexing.python.PythonIndexService;
+import org.pqca.scanning.CBOM;
+import org.pqca.scanning.ScanResultDTO;
+import org.pqca.scanning.ScannerService;
+import org.pqca.scanning.cpp.CppScannerService;
+import org.pqca.scanning.java.JavaScannerService;
+import org.pqca.scanning.python.PythonScannerService;
+
+/**
+ * Runs the whole pipeline (index, scan and serialize the CBOM) over a source tree, per language,
+ * and reports throughput and memory as JSON. Each iteration uses new index and scanner services,
+ * so no state is carried over except for the JIT compiled code.
+ *
+ * <p>The corpus is either a tree written by the {@link
+ * org.pqca.benchmarks.corpus.CorpusGenerator}, with one directory per language, or any
+ * repository. It defaults to the test data of the library.
+ *
+ * <pre>
+ * java -Xmx4g -cp benchmarks/target/benchmarks.jar org.pqca.benchmarks.macro.MacroBenchmark \
+ *     --corpus /tmp/corpus --warmup 1 --iterations 5 --label main --out main.json
+ * </pre>
+ */
+public final class MacroBenchmark {
+    @Nonnull private final Path corpus;
+    @Nonnull private final List<String> javaClasspath;
+
+    public MacroBenchmark(@Nonnull Path corpus, @Nonnull List<String> javaClasspath) {
+        this.corpus = corpus;
+        this.javaClasspath = List.copyOf(javaClasspath);
+    }
+
+    @Nonnull
+    public LanguageReport run(@Nonnull CorpusLanguage language, int warmup, int iterations)
+            throws Exception {
+        List<IterationResult> results = new ArrayList<>();
+        for (int i = 0; i < warmup + iterations; i++) {
+            results.add(runIteration(language, i, i < warmup));
+        }
+        return LanguageReport.of(language, results);
+    }
+
+    @Nonnull
+    private IterationResult runIteration(
+            @Nonnull CorpusLanguage language, int iteration, boolean warmup) throws Exception {
+        File directory = directoryOf(language);
+        // start each iteration from a collected heap, so that peak heaps are comparable
+        System.gc();
+        Sample before = Sample.take();
+
+        long start = System.nanoTime();
+        List<ProjectModule> modules = createIndexService(language, directory).index(null);
+        long indexed = System.nanoTime();
+        ScanResultDTO result = createScannerService(language, directory).scan(modules);
+        long scanned = System.nanoTime();
+        CBOM cbom = result.cbom();
+        long cbomBytes =
+                cbom == null
+                        ? 0
+                        : cbom.toJSON().toString().getBytes(StandardCharsets.UTF_8).length;
+        long serialized = System.nanoTime();
+
+        Sample after = Sample.take();
+        return new IterationResult(
+                language,
+                iteration,
+                warmup,
+                modules.size(),
+                result.numberOfScannedFiles(),
+                result.numberOfScannedLines(),
+                cbom == null ? 0 : cbom.getNumberOfFindings(),
+                cbomBytes,
+                (indexed - start) / 1_000_000,
+                (scanned - indexed) / 1_000_000,
+                (serialized - scanned) / 1_000_000,
+                (serialized - start) / 1_000_000,
+                after.gcMillis() - before.gcMillis(),
+                after.gcCount() - before.gcCount(),
+                after.allocatedBytes() - before.allocatedBytes(),
+                after.peakHeapBytes());
+    }
+
+    @Nonnull
+    private File directoryOf(@Nonnull CorpusLanguage language) {
+        Path directory = corpus.resolve(language.getDirectory());
+        return (Files.isDirectory(directory) ? directory : corpus).toFile();
+    }
+
+    @Nonnull
+    private static IndexingService createIndexService(
+            @Nonnull CorpusLanguage language, @Nonnull File directory) {
+        return switch (language) {
+            case JAVA -> new JavaIndexService(directory);
+            case PYTHON -> new PythonIndexService(directory);
+            case CPP -> new CppIndexService(directory);
+        };
+    }
+
+    @Nonnull
+    private ScannerService createScannerService(
+            @Nonnull CorpusLanguage language, @Nonnull File directory) {
+        return switch (language) {
+            case JAVA -> {
+                JavaScannerService scannerService = new JavaScannerService(directory);
+                javaClasspath.forEach(scannerService::addJavaDependencyJar);
+                scannerService.setRequireBuild(false);
+                yield scannerService;
+            }
+            case PYTHON -> new PythonScannerService(directory);
+            case CPP -> new CppScannerService(directory);
+        };
+    }
+
+    /** JVM-wide counters, read before and after an iteration. */
+    private record Sample(long gcMillis, long gcCount, long allocatedBytes, long peakHeapBytes) {
+
+        @Nonnull
+        static Sample take() {
+            long gcMillis = 0;
+            long gcCount = 0;
+            for (GarbageCollectorMXBean collector :
+                    ManagementFactory.getGarbageCollectorMXBeans()) {
+                gcMillis += Math.max(collector.getCollectionTime(), 0);
+                gcCount += Math.max(collector.getCollectionCount(), 0);
+            }
+            long peakHeapBytes = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peakHeapBytes += pool.getPeakUsage().getUsed();
+                    pool.resetPeakUsage();
+                }
+            }
+            ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+            return new Sample(
+                    gcMillis, gcCount, threads.getTotalThreadAllocatedBytes(), peakHeapBytes);
+        }
+    }
+
+    @Nonnull
+    private static MacroBenchmarkReport.Environment environment() {
+        Runtime runtime = Runtime.getRuntime();
+        return new MacroBenchmarkReport.Environment(
+                System.getProperty("java.version"),
+                System.getProperty("java.vm.name"),
+                runtime.availableProcessors(),
+                runtime.maxMemory(),
+                ManagementFactory.getRuntimeMXBean().getInputArguments());
+    }
+
+    public static void main(@Nonnull String[] args) throws Exception {
+        Path corpus = null;
+        Set<CorpusLanguage> languages = EnumSet.of(CorpusLanguage.JAVA, CorpusLanguage.PYTHON);
+        int warmup = 1;
+        int iterations = 3;
+        String label = "current";
+        Path out = Path.of("macro-benchmark.json");
+        Path baseline = null;
+        List<String> javaClasspath = new ArrayList<>();
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--corpus" -> corpus = Path.of(value);
+                case "--languages" -> {
+                    languages = EnumSet.noneOf(CorpusLanguage.class);
+                    for (String language : value.split(",")) {
+                        languages.add(CorpusLanguage.of(language));
+                    }
+                }
+                case "--warmup" -> warmup = Integer.parseInt(value);
+                case "--iterations" -> iterations = Integer.parseInt(value);
+                case "--label" -> label = value;
+                case "--out" -> out = Path.of(value);
+                case "--baseline" -> baseline = Path.of(value);
+                case "--java-classpath" -> javaClasspath.addAll(
+                        List.of(value.split(File.pathSeparator)));
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (iterations <= 0 || warmup < 0) {
+            throw new IllegalArgumentException("Invalid number of iterations");
+        }
+        if (corpus == null) {
+            corpus = Fixtures.testdata();
+        }
+
+        MacroBenchmark benchmark = new MacroBenchmark(corpus.toAbsolutePath(), javaClasspath);
+        List<LanguageReport> reports = new ArrayList<>();
+        for (CorpusLanguage language : languages) {
+            LanguageReport report = benchmark.run(language, warmup, iterations);
+            reports.add(report);
+            System.out.printf(
+                    Locale.ROOT,
+                    "%s: %d files, %.1f files/s, %.0f lines/s, peak heap %d MiB, "
+                            + "gc %d ms/iteration, %.1f MiB/s allocated%n",
+                    language.getDirectory(),
+                    report.files(),
+                    report.filesPerSecond(),
+                    report.linesPerSecond(),
+                    report.peakHeapBytes() >> 20,
+                    report.gcMillisPerIteration(),
+                    report.allocationRateBytesPerSecond() / (1 << 20));
+        }
+
+        MacroBenchmarkReport report =
+                new MacroBenchmarkReport(
+                        label,
+                        Instant.now().toString(),
+                        corpus.toAbsolutePath().toString(),
+                        warmup,
+                        iterations,
+                        environment(),
+                        reports);
+        report.write(out);
+        if (baseline != null) {
+            MacroBenchmarkReport previous = MacroBenchmarkReport.read(baseline);
+            System.out.printf("%s compared to %s:%n", label, previous.label());
+            System.out.print(report.compare(previous));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks.macro;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+import org.pqca.benchmarks.corpus.CorpusLanguage;
+
+/**
+ * Result of a {@link MacroBenchmark} run. Reports of two builds, distinguished by their label, are
+ * compared with {@link #compare(MacroBenchmarkReport)}.
+ */
+public record MacroBenchmarkReport(
+        @Nonnull String label,
+        @Nonnull String timestamp,
+        @Nonnull String corpus,
+        int warmupIterations,
+        int iterations,
+        @Nonnull Environment environment,
+        @Nonnull List<LanguageReport> languages) {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** The JVM the benchmark ran on, since results are only comparable on equal hardware. */
+    public record Environment(
+            @Nonnull String javaVersion,
+            @Nonnull String vmName,
+            int availableProcessors,
+            long maxHeapBytes,
+            @Nonnull List<String> jvmArguments) {}
+
+    @Nonnull
+    public Optional<LanguageReport> getLanguage(@Nonnull CorpusLanguage language) {
+        return languages.stream().filter(report -> report.language() == language).findFirst();
+    }
+
+    /** A table of the throughput and memory of this report relative to the baseline. */
+    @Nonnull
+    public String compare(@Nonnull MacroBenchmarkReport baseline) {
+        StringBuilder table = new StringBuilder();
+        table.append(
+                String.format(
+                        Locale.ROOT,
+                        "%-8s %14s %14s %14s %14s%n",
+                        "", "files/s", "lines/s", "peak heap", "alloc/s"));
+        for (LanguageReport current : languages) {
+            LanguageReport previous = baseline.getLanguage(current.language()).orElse(null);
+            table.append(
+                    String.format(
+                            Locale.ROOT,
+                            "%-8s %14s %14s %14s %14s%n",
+                            current.language().getDirectory(),
+                            change(current, previous, LanguageReport::filesPerSecond),
+                            change(current, previous, LanguageReport::linesPerSecond),
+                            change(current, previous, LanguageReport::peakHeapBytes),
+                            change(
+                                    current,
+                                    previous,
+                                    LanguageReport::allocationRateBytesPerSecond)));
+        }
+        return table.toString();
+    }
+
+    @Nonnull
+    private static String change(
+            @Nonnull LanguageReport current,
+            @Nullable LanguageReport previous,
+            @Nonnull ToDoubleFunction<LanguageReport> metric) {
+        if (previous == null || metric.applyAsDouble(previous) == 0) {
+            return "n/a";
+        }
+        double ratio = metric.applyAsDouble(current) / metric.applyAsDouble(previous);
+        return String.format(Locale.ROOT, "%+.1f%%", (ratio - 1) * 100);
+    }
+
+    public void write(@Nonnull Path path) throws IOException {
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), this);
+    }
+
+    @Nonnull
+    public static MacroBenchmarkReport read(@Nonnull Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), MacroBenchmarkReport.class);
+    }
+}
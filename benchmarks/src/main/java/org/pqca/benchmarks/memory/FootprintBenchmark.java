@@ -0,0 +1,230 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks.memory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.openjdk.jol.info.GraphLayout;
+import org.pqca.benchmarks.Fixtures;
+import org.pqca.benchmarks.SyntheticCBOMs;
+import org.pqca.indexing.IndexingService;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.indexing.java.JavaIndexService;
+import org.pqca.indexing.python.PythonIndexService;
+import org.pqca.scanning.CBOM;
+import org.pqca.scanning.OccurrenceCompactor;
+import org.pqca.scanning.ScanResultDTO;
+import org.pqca.scanning.ScannerService;
+import org.pqca.scanning.java.JavaScannerService;
+import org.pqca.scanning.python.PythonScannerService;
+
+/**
+ * Measures the retained heap of the structures held during a scan, per indexed file and per
+ * finding, with JOL. Sizes are the total of the object graph reachable from a structure, so
+ * objects shared with other structures, such as interned strings, are counted for each.
+ *
+ * <p>The indexing and cbom stages measure the index and the scan result of the Java and Python
+ * test data, or of a corpus written by the {@link org.pqca.benchmarks.corpus.CorpusGenerator}.
+ * The aggregation stage measures components as created by the detection translation, at a scale
+ * set with {@code --components} and {@code --occurrences}.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar org.pqca.benchmarks.memory.FootprintBenchmark \
+ *     --java /tmp/corpus/java --python /tmp/corpus/python --out footprint.json
+ * </pre>
+ */
+public final class FootprintBenchmark {
+    private static final String FILE = "file";
+    private static final String FINDING = "finding";
+
+    @Nonnull private final List<FootprintRow> rows = new ArrayList<>();
+
+    @Nonnull
+    public List<FootprintRow> getRows() {
+        return rows;
+    }
+
+    public void measureScan(
+            @Nonnull String language,
+            @Nonnull IndexingService indexService,
+            @Nonnull ScannerService scannerService)
+            throws Exception {
+        List<ProjectModule> modules = indexService.index(null);
+        long files = modules.stream().mapToLong(module -> module.inputFileList().size()).sum();
+        add("indexing", "List<ProjectModule> (" + language + ")", FILE, files, sizeOf(modules));
+        Object[] inputFileLists = modules.stream().map(ProjectModule::inputFileList).toArray();
+        long inputFilesSize = sizeOf(inputFileLists);
+        add("indexing", "InputFile (" + language + ")", FILE, files, inputFilesSize);
+        // the modules without their files
+        add(
+                "indexing",
+                "ProjectModule (" + language + ")",
+                "module",
+                modules.size(),
+                sizeOf(modules) - inputFilesSize);
+
+        ScanResultDTO result = scannerService.scan(modules);
+        CBOM cbom = result.cbom();
+        if (cbom == null) {
+            return;
+        }
+        long findings = cbom.getNumberOfFindings();
+        add("cbom", "Bom (" + language + ")", FINDING, findings, sizeOf(cbom.cycloneDXbom()));
+        add("cbom", "JsonNode (" + language + ")", FINDING, findings, sizeOf(cbom.toJSON()));
+    }
+
+    public void measureAggregation(int components, int occurrences) throws Exception {
+        CBOM cbom = SyntheticCBOMs.create(42, components, occurrences, components / 10);
+        Bom bom = cbom.cycloneDXbom();
+        long findings = cbom.getNumberOfFindings();
+        // the same components, measured without their evidence
+        List<Component> withoutEvidence =
+                SyntheticCBOMs.create(42, components, occurrences, components / 10)
+                        .cycloneDXbom()
+                        .getComponents();
+        withoutEvidence.forEach(component -> component.setEvidence(null));
+        add(
+                "aggregation",
+                "Component without Evidence",
+                "component",
+                components,
+                sizeOf(withoutEvidence));
+        add(
+                "aggregation",
+                "Component with Evidence/Occurrence",
+                FINDING,
+                findings,
+                sizeOf(bom.getComponents()));
+
+        // the dedup set is the only state deduplicateFindings adds to the scanner
+        ScannerService scannerService =
+                new PythonScannerService(new File(SyntheticCBOMs.BASE_DIRECTORY));
+        long before = sizeOf(scannerService);
+        long unique = 0;
+        for (Component component : bom.getComponents()) {
+            unique +=
+                    scannerService
+                            .deduplicateFindings(component)
+                            .map(deduplicated -> deduplicated.getEvidence().getOccurrences().size())
+                            .orElse(0);
+        }
+        add(
+                "aggregation",
+                "findings dedup set",
+                FINDING,
+                unique,
+                sizeOf(scannerService) - before);
+
+        add("cbom", "Bom", FINDING, unique, sizeOf(bom));
+        add("cbom", "JsonNode", FINDING, unique, sizeOf(cbom.toJSON()));
+        add("cbom", "JSON String", FINDING, unique, sizeOf(cbom.toJSON().toString()));
+
+        new OccurrenceCompactor().compact(cbom);
+        add("cbom", "Bom with compacted occurrences", FINDING, unique, sizeOf(bom));
+    }
+
+    private void add(
+            @Nonnull String stage,
+            @Nonnull String structure,
+            @Nonnull String unit,
+            long units,
+            long retainedBytes) {
+        rows.add(new FootprintRow(stage, structure, unit, units, retainedBytes));
+    }
+
+    // objects reachable from several roots are counted once
+    private static long sizeOf(@Nonnull Object... roots) {
+        return GraphLayout.parseInstance(roots).totalSize();
+    }
+
+    @Nonnull
+    public String toTable() {
+        StringBuilder table = new StringBuilder();
+        String format = "%-12s %-44s %10s %10s %14s %12s%n";
+        table.append(
+                String.format(
+                        Locale.ROOT,
+                        format,
+                        "stage",
+                        "structure",
+                        "unit",
+                        "units",
+                        "retained",
+                        "bytes/unit"));
+        for (FootprintRow row : rows) {
+            table.append(
+                    String.format(
+                            Locale.ROOT,
+                            format,
+                            row.stage(),
+                            row.structure(),
+                            row.unit(),
+                            row.units(),
+                            row.retainedBytes(),
+                            String.format(Locale.ROOT, "%.1f", row.bytesPerUnit())));
+        }
+        return table.toString();
+    }
+
+    public static void main(@Nonnull String[] args) throws Exception {
+        Path java = null;
+        Path python = null;
+        int components = 10_000;
+        int occurrences = 4;
+        Path out = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--java" -> java = Path.of(value);
+                case "--python" -> python = Path.of(value);
+                case "--components" -> components = Integer.parseInt(value);
+                case "--occurrences" -> occurrences = Integer.parseInt(value);
+                case "--out" -> out = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        File javaDirectory = (java == null ? Fixtures.keycloak() : java).toFile();
+        File pythonDirectory = (python == null ? Fixtures.pyca() : python).toFile();
+
+        FootprintBenchmark benchmark = new FootprintBenchmark();
+        JavaScannerService javaScannerService = new JavaScannerService(javaDirectory);
+        javaScannerService.setRequireBuild(false);
+        benchmark.measureScan("java", new JavaIndexService(javaDirectory), javaScannerService);
+        benchmark.measureScan(
+                "python",
+                new PythonIndexService(pythonDirectory),
+                new PythonScannerService(pythonDirectory));
+        benchmark.measureAggregation(components, occurrences);
+
+        System.out.print(benchmark.toTable());
+        if (out != null) {
+            new ObjectMapper()
+                    .writerWithDefaultPrettyPrinter()
+                    .writeValue(out.toFile(), benchmark.getRows());
+        }
+    }
+}
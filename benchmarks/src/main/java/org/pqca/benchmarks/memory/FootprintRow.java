@@ -0,0 +1,41 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.benchmarks.memory;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Retained heap of a structure, and the share of one unit such as an indexed file or a finding.
+ *
+ * @param stage the pipeline stage the structure belongs to: indexing, aggregation or cbom
+ */
+public record FootprintRow(
+        @Nonnull String stage,
+        @Nonnull String structure,
+        @Nonnull String unit,
+        long units,
+        long retainedBytes) {
+
+    @JsonProperty
+    public double bytesPerUnit() {
+        return units == 0 ? 0 : (double) retainedBytes / units;
+    }
+}
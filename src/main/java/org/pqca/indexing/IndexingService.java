@@ -34,9 +34,15 @@ import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
 import org.pqca.errors.ClientDisconnected;
+import org.pqca.jfr.IndexingEvent;
+import org.pqca.metrics.IMetricsRegistry;
+import org.pqca.metrics.MetricsRegistry;
+import org.pqca.metrics.ScanMetrics;
 import org.pqca.progress.IProgressDispatcher;
 import org.pqca.progress.ProgressMessage;
 import org.pqca.progress.ProgressMessageType;
+import org.pqca.tracing.Span;
+import org.pqca.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.sonar.api.batch.fs.InputFile;
@@ -52,6 +58,9 @@ public abstract class IndexingService {
     @Nullable private IBuildType mainBuildType;
 
     private List<Pattern> excludePatterns = new ArrayList<Pattern>();
+    @Nonnull private ScanMetrics metrics = ScanMetrics.of(MetricsRegistry.getDefault());
+    @Nullable private Tracer tracer;
+    @Nullable private Span parentSpan;
 
     protected IndexingService(
             @Nonnull File baseDirectory,
@@ -76,6 +85,17 @@ public abstract class IndexingService {
                 excludePatterns.stream().map(pattern -> Pattern.compile(pattern)).toList();
     }
 
+    // Defaults to the process wide MetricsRegistry.getDefault()
+    public void setMetricsRegistry(@Nonnull IMetricsRegistry metricsRegistry) {
+        this.metrics = ScanMetrics.of(metricsRegistry);
+    }
+
+    // Records an "index" span, as child of the given span if there is one.
+    public void setTracer(@Nullable Tracer tracer, @Nullable Span parentSpan) {
+        this.tracer = tracer;
+        this.parentSpan = parentSpan;
+    }
+
     @Nonnull
     public List<ProjectModule> index(@Nullable Path packageFolder) throws ClientDisconnected {
         Optional.ofNullable(packageFolder)
@@ -85,8 +105,42 @@ public abstract class IndexingService {
                     new ProgressMessage(ProgressMessageType.LABEL, "Indexing projects ..."));
         }
         LOGGER.info("Indexing projects ...");
+        final IndexingEvent event = new IndexingEvent();
+        event.begin();
+        final Span span = tracer != null ? tracer.startSpan("index", parentSpan) : null;
         final List<ProjectModule> projectModules = new ArrayList<>();
-        detectModules(baseDirectory, projectModules);
+        boolean indexed = false;
+        try {
+            detectModules(baseDirectory, projectModules);
+            indexed = true;
+        } finally {
+            if (span != null) {
+                span.setError(!indexed);
+                span.setAttribute("cbomkit.language", languageIdentifier);
+                span.setAttribute("cbomkit.directory", baseDirectory.getPath());
+                getMainBuildType()
+                        .ifPresent(
+                                type -> span.setAttribute("cbomkit.build_type", type.toString()));
+                span.setAttribute("cbomkit.modules", projectModules.size());
+                span.setAttribute(
+                        "cbomkit.files",
+                        projectModules.stream().mapToLong(m -> m.inputFileList().size()).sum());
+                span.end();
+            }
+        }
+        if (event.shouldCommit()) {
+            event.language = languageIdentifier;
+            event.directory = baseDirectory.getPath();
+            event.modules = projectModules.size();
+            for (ProjectModule module : projectModules) {
+                event.files += module.inputFileList().size();
+                for (InputFile inputFile : module.inputFileList()) {
+                    event.lines += inputFile.lines();
+                    event.bytes += inputFile.file().length();
+                }
+            }
+            event.commit();
+        }
         return projectModules;
     }
 
@@ -185,6 +239,8 @@ public abstract class IndexingService {
                             createTestFileBuilder(projectDirectory, file);
                     builder.setLanguage(this.languageIdentifier);
                     inputFiles.add(builder.build());
+                    metrics.filesIndexed().increment();
+                    metrics.bytesRead().add(file.length());
                 } catch (IOException iox) {
                     LOGGER.debug(iox.getLocalizedMessage());
                 }
@@ -0,0 +1,52 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.pqca.Indexing")
+@Label("Indexing")
+@Category({"CBOMkit", "Indexing"})
+@Description("Indexing of a directory tree into project modules")
+public final class IndexingEvent extends Event {
+    @Label("Language")
+    public String language;
+
+    @Label("Directory")
+    public String directory;
+
+    @Label("Modules")
+    public int modules;
+
+    @Label("Files")
+    public int files;
+
+    @Label("Lines")
+    public long lines;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,102 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.jfr;
+
+import com.ibm.mapper.model.INode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.List;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.scanning.IScanListener;
+import org.sonar.api.batch.fs.InputFile;
+
+/**
+ * Emits {@link ModuleScanEvent}s and {@link FileScanEvent}s. Events are only created while a
+ * recording has them enabled, otherwise the listener does nothing.
+ */
+public final class JfrScanListener implements IScanListener {
+    @Nonnull private final String scanner;
+    @Nullable private ModuleScanEvent moduleEvent;
+    @Nullable private FileScanEvent fileEvent;
+    private int moduleFindings;
+    private int fileFindings;
+
+    public JfrScanListener(@Nonnull String scanner) {
+        this.scanner = scanner;
+    }
+
+    @Override
+    public void moduleStarted(@Nonnull ProjectModule module) {
+        final ModuleScanEvent event = new ModuleScanEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            this.moduleEvent = event;
+            this.moduleFindings = 0;
+        }
+    }
+
+    @Override
+    public void moduleFinished(@Nonnull ProjectModule module) {
+        final ModuleScanEvent event = this.moduleEvent;
+        this.moduleEvent = null;
+        if (event != null && event.shouldCommit()) {
+            event.scanner = scanner;
+            event.module = module.identifier();
+            event.files = module.inputFileList().size();
+            event.lines = module.inputFileList().stream().mapToLong(InputFile::lines).sum();
+            event.findings = moduleFindings;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void fileStarted(@Nonnull InputFile inputFile) {
+        final FileScanEvent event = new FileScanEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            this.fileEvent = event;
+            this.fileFindings = 0;
+        }
+    }
+
+    @Override
+    public void fileFinished(@Nonnull InputFile inputFile) {
+        final FileScanEvent event = this.fileEvent;
+        this.fileEvent = null;
+        if (event != null && event.shouldCommit()) {
+            event.scanner = scanner;
+            event.path = inputFile.toString();
+            event.bytes = inputFile.file().length();
+            event.lines = inputFile.lines();
+            event.findings = fileFindings;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void findingsDetected(@Nonnull List<INode> nodes) {
+        if (moduleEvent != null) {
+            moduleFindings++;
+        }
+        if (fileEvent != null) {
+            fileFindings++;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.metrics;
+
+import jakarta.annotation.Nonnull;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of values over fixed buckets. Every bucket is a striped counter, recording a value
+ * is a short scan over the bounds and an uncontended add.
+ */
+public final class Histogram implements IMetric {
+    /** Latency bucket bounds from 100 microseconds to 60 seconds, in nanoseconds. */
+    public static final long[] LATENCY_BOUNDS_NANOS = {
+        100_000L,
+        250_000L,
+        500_000L,
+        1_000_000L,
+        2_500_000L,
+        5_000_000L,
+        10_000_000L,
+        25_000_000L,
+        50_000_000L,
+        100_000_000L,
+        250_000_000L,
+        500_000_000L,
+        1_000_000_000L,
+        2_500_000_000L,
+        5_000_000_000L,
+        10_000_000_000L,
+        30_000_000_000L,
+        60_000_000_000L
+    };
+
+    /** Factor converting recorded nanoseconds to seconds on export. */
+    public static final double NANOS_TO_SECONDS = 1e-9;
+
+    @Nonnull private final String name;
+    @Nonnull private final String help;
+    @Nonnull private final long[] bounds;
+    private final double unit;
+    // one count per bound plus the overflow bucket
+    @Nonnull private final LongAdder[] buckets;
+    @Nonnull private final LongAdder sum = new LongAdder();
+
+    Histogram(@Nonnull String name, @Nonnull String help, @Nonnull long[] bounds, double unit) {
+        if (bounds.length == 0) {
+            throw new IllegalArgumentException("Histogram " + name + " has no buckets");
+        }
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException(
+                        "Bucket bounds of histogram " + name + " are not increasing");
+            }
+        }
+        this.name = name;
+        this.help = help;
+        this.bounds = bounds.clone();
+        this.unit = unit;
+        this.buckets = new LongAdder[bounds.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    @Nonnull
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Nonnull
+    @Override
+    public String help() {
+        return help;
+    }
+
+    /** Factor converting recorded values to the exported unit. */
+    public double unit() {
+        return unit;
+    }
+
+    public void record(long value) {
+        int bucket = 0;
+        while (bucket < bounds.length && value > bounds[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        sum.add(value);
+    }
+
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    @Nonnull
+    public Snapshot snapshot() {
+        final long[] counts = new long[buckets.length];
+        long count = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        return new Snapshot(bounds.clone(), counts, count, sum.sum());
+    }
+
+    /**
+     * Counts per bucket at one point in time. Updates racing with the snapshot may be partially
+     * included.
+     *
+     * @param bounds the upper bounds of the buckets, the last bucket is unbounded
+     * @param counts the counts per bucket, not cumulative
+     */
+    public record Snapshot(@Nonnull long[] bounds, @Nonnull long[] counts, long count, long sum) {
+
+        /** Upper bound of the bucket holding the quantile, or the largest bound on overflow. */
+        public long quantile(double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            final long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < bounds.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return bounds[i];
+                }
+            }
+            return bounds[bounds.length - 1];
+        }
+    }
+}
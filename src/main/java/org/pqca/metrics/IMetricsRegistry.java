@@ -0,0 +1,56 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.metrics;
+
+import jakarta.annotation.Nonnull;
+import java.util.Collection;
+import java.util.function.LongSupplier;
+
+/**
+ * Creates and holds the metrics of the scanners. Metrics are identified by name, asking twice for
+ * the same name returns the same metric. The metric types are fixed, {@link MetricsRegistry} is
+ * the implementation. Embedders bridge to an existing metrics library by exporting {@link
+ * #getMetrics()}, as {@link PrometheusExporter} and {@link JmxExporter} do.
+ */
+public interface IMetricsRegistry {
+
+    @Nonnull
+    Counter counter(@Nonnull String name, @Nonnull String help);
+
+    /** Registers a gauge, replacing a gauge of the same name. */
+    void gauge(@Nonnull String name, @Nonnull String help, @Nonnull LongSupplier supplier);
+
+    /**
+     * @param bounds increasing upper bounds of the buckets
+     * @param unit factor converting recorded values to the exported unit
+     */
+    @Nonnull
+    Histogram histogram(
+            @Nonnull String name, @Nonnull String help, @Nonnull long[] bounds, double unit);
+
+    /** A histogram of durations recorded in nanoseconds and exported in seconds. */
+    @Nonnull
+    default Histogram timer(@Nonnull String name, @Nonnull String help) {
+        return histogram(name, help, Histogram.LATENCY_BOUNDS_NANOS, Histogram.NANOS_TO_SECONDS);
+    }
+
+    @Nonnull
+    Collection<IMetric> getMetrics();
+}
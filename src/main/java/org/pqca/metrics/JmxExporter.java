@@ -0,0 +1,160 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.metrics;
+
+import jakarta.annotation.Nonnull;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Exposes the metrics of a registry as read-only attributes of a single MBean. Counters and gauges
+ * map to one attribute each, histograms to {@code <name>_count}, {@code <name>_sum}, {@code
+ * <name>_p50}, {@code <name>_p95} and {@code <name>_p99} in the exported unit.
+ */
+public final class JmxExporter implements DynamicMBean {
+    private static final String COUNT = "_count";
+    private static final String SUM = "_sum";
+    private static final List<String> QUANTILES = List.of("_p50", "_p95", "_p99");
+
+    @Nonnull private final IMetricsRegistry registry;
+
+    public JmxExporter(@Nonnull IMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Registers the registry with the platform MBean server as {@code
+     * org.pqca:type=Metrics,name=<name>}, replacing an MBean registered under the same name.
+     */
+    @Nonnull
+    public static ObjectName register(@Nonnull IMetricsRegistry registry, @Nonnull String name)
+            throws JMException {
+        final ObjectName objectName =
+                new ObjectName("org.pqca:type=Metrics,name=" + ObjectName.quote(name));
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+        server.registerMBean(new JmxExporter(registry), objectName);
+        return objectName;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        return read(attribute)
+                .orElseThrow(() -> new AttributeNotFoundException("No metric " + attribute));
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        final AttributeList list = new AttributeList();
+        for (String attribute : attributes) {
+            read(attribute).ifPresent(value -> list.add(new Attribute(attribute, value)));
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException("Metrics have no operations");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        final List<MBeanAttributeInfo> attributes = new ArrayList<>();
+        for (IMetric metric : registry.getMetrics()) {
+            if (metric instanceof Histogram) {
+                attributes.add(attribute(metric.name() + COUNT, "long", metric.help()));
+                attributes.add(attribute(metric.name() + SUM, "double", metric.help()));
+                for (String quantile : QUANTILES) {
+                    attributes.add(attribute(metric.name() + quantile, "double", metric.help()));
+                }
+            } else {
+                attributes.add(attribute(metric.name(), "long", metric.help()));
+            }
+        }
+        return new MBeanInfo(
+                JmxExporter.class.getName(),
+                "CBOMkit metrics",
+                attributes.toArray(MBeanAttributeInfo[]::new),
+                null,
+                null,
+                null);
+    }
+
+    @Nonnull
+    private Optional<Object> read(@Nonnull String attribute) {
+        for (IMetric metric : registry.getMetrics()) {
+            if (metric instanceof Counter counter && counter.name().equals(attribute)) {
+                return Optional.of(counter.get());
+            } else if (metric instanceof Gauge gauge && gauge.name().equals(attribute)) {
+                return Optional.of(gauge.get());
+            } else if (metric instanceof Histogram histogram
+                    && attribute.startsWith(histogram.name())) {
+                final Optional<Object> value =
+                        read(histogram, attribute.substring(histogram.name().length()));
+                if (value.isPresent()) {
+                    return value;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Nonnull
+    private static Optional<Object> read(@Nonnull Histogram histogram, @Nonnull String suffix) {
+        final Histogram.Snapshot snapshot = histogram.snapshot();
+        return switch (suffix) {
+            case COUNT -> Optional.of(snapshot.count());
+            case SUM -> Optional.of(snapshot.sum() * histogram.unit());
+            case "_p50" -> Optional.of(snapshot.quantile(0.5) * histogram.unit());
+            case "_p95" -> Optional.of(snapshot.quantile(0.95) * histogram.unit());
+            case "_p99" -> Optional.of(snapshot.quantile(0.99) * histogram.unit());
+            default -> Optional.empty();
+        };
+    }
+
+    @Nonnull
+    private static MBeanAttributeInfo attribute(
+            @Nonnull String name, @Nonnull String type, @Nonnull String description) {
+        return new MBeanAttributeInfo(name, type, description, true, false, false);
+    }
+}
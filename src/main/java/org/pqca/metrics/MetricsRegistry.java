@@ -0,0 +1,94 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.metrics;
+
+import jakarta.annotation.Nonnull;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/** Default in-memory registry. Metrics are listed by name. */
+public final class MetricsRegistry implements IMetricsRegistry {
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    @Nonnull private final Map<String, IMetric> metrics = new ConcurrentSkipListMap<>();
+
+    /** The registry used by scanners and indexers unless another one is set. */
+    @Nonnull
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    @Nonnull
+    @Override
+    public Counter counter(@Nonnull String name, @Nonnull String help) {
+        return register(name, Counter.class, () -> new Counter(name, help));
+    }
+
+    @Override
+    public void gauge(@Nonnull String name, @Nonnull String help, @Nonnull LongSupplier supplier) {
+        metrics.compute(
+                name,
+                (key, existing) -> {
+                    if (existing != null && !(existing instanceof Gauge)) {
+                        throw conflict(name, existing);
+                    }
+                    return new Gauge(name, help, supplier);
+                });
+    }
+
+    @Nonnull
+    @Override
+    public Histogram histogram(
+            @Nonnull String name, @Nonnull String help, @Nonnull long[] bounds, double unit) {
+        return register(name, Histogram.class, () -> new Histogram(name, help, bounds, unit));
+    }
+
+    @Nonnull
+    @Override
+    public Collection<IMetric> getMetrics() {
+        return List.copyOf(metrics.values());
+    }
+
+    @Nonnull
+    private <T extends IMetric> T register(
+            @Nonnull String name,
+            @Nonnull Class<T> type,
+            @Nonnull Supplier<T> factory) {
+        final IMetric metric = metrics.computeIfAbsent(name, key -> factory.get());
+        if (!type.isInstance(metric)) {
+            throw conflict(name, metric);
+        }
+        return type.cast(metric);
+    }
+
+    @Nonnull
+    private static IllegalArgumentException conflict(
+            @Nonnull String name, @Nonnull IMetric existing) {
+        return new IllegalArgumentException(
+                "Metric "
+                        + name
+                        + " is already registered as "
+                        + existing.getClass().getSimpleName());
+    }
+}
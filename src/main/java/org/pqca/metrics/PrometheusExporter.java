@@ -0,0 +1,89 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.metrics;
+
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/** Writes the metrics of a registry in the Prometheus text exposition format 0.0.4. */
+public final class PrometheusExporter {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private PrometheusExporter() {}
+
+    @Nonnull
+    public static String toText(@Nonnull IMetricsRegistry registry) {
+        final StringWriter writer = new StringWriter();
+        try {
+            write(registry, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    public static void write(@Nonnull IMetricsRegistry registry, @Nonnull Writer writer)
+            throws IOException {
+        for (IMetric metric : registry.getMetrics()) {
+            writer.write("# HELP " + metric.name() + " " + escapeHelp(metric.help()) + "\n");
+            if (metric instanceof Counter counter) {
+                writer.write("# TYPE " + counter.name() + " counter\n");
+                writer.write(counter.name() + " " + counter.get() + "\n");
+            } else if (metric instanceof Gauge gauge) {
+                writer.write("# TYPE " + gauge.name() + " gauge\n");
+                writer.write(gauge.name() + " " + gauge.get() + "\n");
+            } else if (metric instanceof Histogram histogram) {
+                writeHistogram(histogram, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeHistogram(@Nonnull Histogram histogram, @Nonnull Writer writer)
+            throws IOException {
+        final String name = histogram.name();
+        final Histogram.Snapshot snapshot = histogram.snapshot();
+        writer.write("# TYPE " + name + " histogram\n");
+        long cumulative = 0;
+        for (int i = 0; i < snapshot.bounds().length; i++) {
+            cumulative += snapshot.counts()[i];
+            final String bound = format(snapshot.bounds()[i] * histogram.unit());
+            writer.write(name + "_bucket{le=\"" + bound + "\"} " + cumulative + "\n");
+        }
+        writer.write(name + "_bucket{le=\"+Inf\"} " + snapshot.count() + "\n");
+        writer.write(name + "_sum " + format(snapshot.sum() * histogram.unit()) + "\n");
+        writer.write(name + "_count " + snapshot.count() + "\n");
+    }
+
+    @Nonnull
+    private static String format(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? Long.toString((long) value)
+                : Double.toString(value);
+    }
+
+    @Nonnull
+    private static String escapeHelp(@Nonnull String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.metrics;
+
+import jakarta.annotation.Nonnull;
+
+/** The metrics updated by the indexing and scanning services, resolved once per registry. */
+public final class ScanMetrics {
+    @Nonnull private final IMetricsRegistry registry;
+    @Nonnull private final Counter filesIndexed;
+    @Nonnull private final Counter bytesRead;
+    @Nonnull private final Counter filesParsed;
+    @Nonnull private final Counter findings;
+    @Nonnull private final Counter duplicateFindings;
+    @Nonnull private final Counter progressMessagesDropped;
+    @Nonnull private final Histogram parseTime;
+    @Nonnull private final Histogram fileAnalysisTime;
+    @Nonnull private final Histogram translationTime;
+
+    private ScanMetrics(@Nonnull IMetricsRegistry registry) {
+        this.registry = registry;
+        this.filesIndexed =
+                registry.counter("cbomkit_files_indexed_total", "Files added to project modules");
+        this.bytesRead =
+                registry.counter("cbomkit_bytes_read_total", "Bytes of source files read");
+        this.filesParsed =
+                registry.counter("cbomkit_files_parsed_total", "Files parsed and analyzed");
+        this.findings =
+                registry.counter("cbomkit_findings_total", "Findings reported by the rules");
+        this.duplicateFindings =
+                registry.counter(
+                        "cbomkit_findings_deduplicated_total",
+                        "Occurrences dropped as already reported, only with a progress dispatcher");
+        this.progressMessagesDropped =
+                registry.counter(
+                        "cbomkit_progress_messages_dropped_total",
+                        "Progress messages not delivered to a disconnected client");
+        this.parseTime =
+                registry.timer(
+                        "cbomkit_parse_seconds",
+                        "Time to parse a file, for frontends that parse separately");
+        this.fileAnalysisTime =
+                registry.timer(
+                        "cbomkit_file_analysis_seconds", "Time to analyze a file with the rules");
+        this.translationTime =
+                registry.timer(
+                        "cbomkit_translation_seconds", "Time to translate a finding to nodes");
+    }
+
+    @Nonnull
+    public static ScanMetrics of(@Nonnull IMetricsRegistry registry) {
+        return new ScanMetrics(registry);
+    }
+
+    @Nonnull
+    public IMetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    @Nonnull
+    public Counter filesIndexed() {
+        return filesIndexed;
+    }
+
+    @Nonnull
+    public Counter bytesRead() {
+        return bytesRead;
+    }
+
+    @Nonnull
+    public Counter filesParsed() {
+        return filesParsed;
+    }
+
+    @Nonnull
+    public Counter findings() {
+        return findings;
+    }
+
+    /**
+     * Occurrences dropped by {@code ScannerService.deduplicateFindings}. Findings are only
+     * deduplicated when they are streamed to a progress dispatcher, without one the counter stays
+     * 0.
+     */
+    @Nonnull
+    public Counter duplicateFindings() {
+        return duplicateFindings;
+    }
+
+    @Nonnull
+    public Counter progressMessagesDropped() {
+        return progressMessagesDropped;
+    }
+
+    @Nonnull
+    public Histogram parseTime() {
+        return parseTime;
+    }
+
+    @Nonnull
+    public Histogram fileAnalysisTime() {
+        return fileAnalysisTime;
+    }
+
+    @Nonnull
+    public Histogram translationTime() {
+        return translationTime;
+    }
+}
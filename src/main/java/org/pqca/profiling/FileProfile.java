@@ -0,0 +1,35 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.profiling;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Cost of analyzing a single file on the analysis thread. CPU time and allocated bytes are -1 if
+ * the JVM does not measure them.
+ */
+public record FileProfile(
+        @Nonnull String module,
+        @Nonnull String file,
+        int lines,
+        long wallTimeMillis,
+        long cpuTimeMillis,
+        long allocatedBytes,
+        int findings) {}
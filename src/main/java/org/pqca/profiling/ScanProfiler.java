@@ -0,0 +1,228 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.profiling;
+
+import com.ibm.mapper.model.INode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.scanning.IScanListener;
+import org.sonar.api.batch.fs.InputFile;
+
+/**
+ * Measures wall time, CPU time, allocated bytes and findings per file and per module, keeping the
+ * slowest of each. CPU time and allocations are measured on the analysis thread.
+ *
+ * <p>For scanners analyzing files in batches, a file is measured from the end of the previous file
+ * of the batch, so that its parsing is included. The batch may be analyzed on another thread than
+ * the one starting it, so the CPU time and allocations of the first file of a batch are measured
+ * from its start on the analysis thread.
+ */
+public final class ScanProfiler implements IScanListener {
+    private static final Comparator<FileProfile> FILES_BY_WALL_TIME =
+            Comparator.comparingLong(FileProfile::wallTimeMillis);
+    private static final Comparator<ModuleProfile> MODULES_BY_WALL_TIME =
+            Comparator.comparingLong(ModuleProfile::wallTimeMillis);
+
+    @Nullable private final com.sun.management.ThreadMXBean threadMXBean;
+    private final int topN;
+
+    @Nonnull private final PriorityQueue<FileProfile> slowestFiles;
+    @Nonnull private final PriorityQueue<ModuleProfile> slowestModules;
+
+    // state of the module and file being scanned, updated by the current analysis thread
+    @Nullable private volatile ProjectModule module;
+    private volatile long moduleStartNanos;
+    private volatile long moduleCpuNanos;
+    private volatile long moduleAllocatedBytes;
+    private volatile int moduleFindings;
+    private volatile boolean inBatch;
+    private volatile long fileStartNanos;
+    // thread the file is analyzed on, -1 until the first file of a batch has started
+    private volatile long fileThreadId = -1;
+    private volatile long fileStartCpuNanos;
+    private volatile long fileStartAllocatedBytes;
+    private volatile int fileFindings;
+
+    /**
+     * @param topN number of files and modules in the report
+     */
+    public ScanProfiler(int topN) {
+        if (topN <= 0) {
+            throw new IllegalArgumentException("topN must be positive");
+        }
+        this.topN = topN;
+        this.threadMXBean = enableThreadMeasurements();
+        this.slowestFiles = new PriorityQueue<>(FILES_BY_WALL_TIME);
+        this.slowestModules = new PriorityQueue<>(MODULES_BY_WALL_TIME);
+    }
+
+    @Override
+    public synchronized void scanStarted() {
+        slowestFiles.clear();
+        slowestModules.clear();
+    }
+
+    @Override
+    public void moduleStarted(@Nonnull ProjectModule projectModule) {
+        this.module = projectModule;
+        this.moduleStartNanos = System.nanoTime();
+        this.moduleCpuNanos = 0;
+        this.moduleAllocatedBytes = 0;
+        this.moduleFindings = 0;
+    }
+
+    @Override
+    public void moduleFinished(@Nonnull ProjectModule projectModule) {
+        offer(
+                slowestModules,
+                new ModuleProfile(
+                        projectModule.identifier(),
+                        projectModule.inputFileList().size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - moduleStartNanos),
+                        threadMXBean != null ? TimeUnit.NANOSECONDS.toMillis(moduleCpuNanos) : -1,
+                        threadMXBean != null ? moduleAllocatedBytes : -1,
+                        moduleFindings),
+                MODULES_BY_WALL_TIME);
+        this.module = null;
+    }
+
+    @Override
+    public void batchStarted(@Nonnull List<InputFile> inputFiles) {
+        this.inBatch = true;
+        this.fileStartNanos = System.nanoTime();
+        this.fileThreadId = -1;
+    }
+
+    @Override
+    public void batchFinished(@Nonnull List<InputFile> inputFiles) {
+        this.inBatch = false;
+    }
+
+    @Override
+    public void fileStarted(@Nonnull InputFile inputFile) {
+        if (!inBatch) {
+            markFileStart();
+        } else if (fileThreadId < 0) {
+            markThreadStart();
+        }
+        this.fileFindings = 0;
+    }
+
+    @Override
+    public void fileFinished(@Nonnull InputFile inputFile) {
+        final long wallNanos = System.nanoTime() - fileStartNanos;
+        long cpuNanos = -1;
+        long allocatedBytes = -1;
+        final long threadId = this.fileThreadId;
+        if (threadMXBean != null && threadId >= 0) {
+            cpuNanos = Math.max(0, threadMXBean.getThreadCpuTime(threadId) - fileStartCpuNanos);
+            allocatedBytes =
+                    Math.max(
+                            0,
+                            threadMXBean.getThreadAllocatedBytes(threadId)
+                                    - fileStartAllocatedBytes);
+            moduleCpuNanos += cpuNanos;
+            moduleAllocatedBytes += allocatedBytes;
+        }
+        final ProjectModule currentModule = this.module;
+        offer(
+                slowestFiles,
+                new FileProfile(
+                        currentModule != null ? currentModule.identifier() : "",
+                        inputFile.toString(),
+                        inputFile.lines(),
+                        TimeUnit.NANOSECONDS.toMillis(wallNanos),
+                        cpuNanos >= 0 ? TimeUnit.NANOSECONDS.toMillis(cpuNanos) : -1,
+                        allocatedBytes,
+                        fileFindings),
+                FILES_BY_WALL_TIME);
+        // the next file of a batch is parsed from here on
+        markFileStart();
+    }
+
+    @Override
+    public void findingsDetected(@Nonnull List<INode> nodes) {
+        fileFindings++;
+        moduleFindings++;
+    }
+
+    @Nonnull
+    public synchronized ProfileReport getReport() {
+        return new ProfileReport(
+                sortedDescending(slowestFiles, FILES_BY_WALL_TIME),
+                sortedDescending(slowestModules, MODULES_BY_WALL_TIME));
+    }
+
+    private void markFileStart() {
+        this.fileStartNanos = System.nanoTime();
+        markThreadStart();
+    }
+
+    private void markThreadStart() {
+        this.fileThreadId = Thread.currentThread().threadId();
+        if (threadMXBean != null) {
+            this.fileStartCpuNanos = threadMXBean.getCurrentThreadCpuTime();
+            this.fileStartAllocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    private synchronized <T> void offer(
+            @Nonnull PriorityQueue<T> slowest, @Nonnull T profile, @Nonnull Comparator<T> order) {
+        if (slowest.size() < topN) {
+            slowest.add(profile);
+        } else if (order.compare(profile, slowest.peek()) > 0) {
+            slowest.poll();
+            slowest.add(profile);
+        }
+    }
+
+    @Nonnull
+    private static <T> List<T> sortedDescending(
+            @Nonnull PriorityQueue<T> slowest, @Nonnull Comparator<T> order) {
+        final List<T> sorted = new ArrayList<>(slowest);
+        sorted.sort(order.reversed());
+        return List.copyOf(sorted);
+    }
+
+    @Nullable private static com.sun.management.ThreadMXBean enableThreadMeasurements() {
+        if (!(ManagementFactory.getThreadMXBean()
+                instanceof com.sun.management.ThreadMXBean threadMXBean)) {
+            return null;
+        }
+        if (!threadMXBean.isThreadCpuTimeSupported()
+                || !threadMXBean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        if (!threadMXBean.isThreadCpuTimeEnabled()) {
+            threadMXBean.setThreadCpuTimeEnabled(true);
+        }
+        if (!threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return threadMXBean;
+    }
+}
@@ -19,19 +19,16 @@
  * */
 package org.pqca.scanning;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
-import java.io.FileWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Date;
 import java.util.List;
-import org.cyclonedx.Version;
-import org.cyclonedx.exception.GeneratorException;
-import org.cyclonedx.generators.BomGeneratorFactory;
-import org.cyclonedx.generators.json.BomJsonGenerator;
 import org.cyclonedx.model.Bom;
 import org.cyclonedx.model.Metadata;
 import org.cyclonedx.model.OrganizationalEntity;
@@ -39,50 +36,91 @@ import org.cyclonedx.model.Property;
 import org.cyclonedx.model.Service;
 import org.cyclonedx.model.metadata.ToolInformation;
 import org.pqca.errors.CBOMSerializationFailed;
+import org.pqca.jfr.CBOMSerializationEvent;
+import org.pqca.tracing.Span;
+import org.pqca.tracing.Tracer;
 
 public record CBOM(@Nonnull Bom cycloneDXbom) {
     private static final String ACTION_NAME = "CBOMkit";
     private static final String ACTION_ORG = "PQCA";
 
-    // Merge components and dependecies
+    // Merge components and dependencies, one component per distinct asset, see CBOMMerger
     public void merge(@Nullable CBOM cbom) {
         if (cycloneDXbom != null && cbom != null && cbom.cycloneDXbom() != null) {
-            // components
-            if (cbom.cycloneDXbom().getComponents() != null) {
-                if (cycloneDXbom.getComponents() != null) {
-                    cycloneDXbom.getComponents().addAll(cbom.cycloneDXbom().getComponents());
-                } else {
-                    cycloneDXbom.setComponents(cbom.cycloneDXbom().getComponents());
-                }
-            }
-            // dependencies
-            if (cbom.cycloneDXbom().getDependencies() != null) {
-                if (cycloneDXbom.getDependencies() != null) {
-                    cycloneDXbom.getDependencies().addAll(cbom.cycloneDXbom().getDependencies());
-                } else {
-                    cycloneDXbom.setDependencies(cbom.cycloneDXbom().getDependencies());
-                }
-            }
+            new CBOMMerger().add(cycloneDXbom).add(cbom.cycloneDXbom()).writeTo(cycloneDXbom);
         }
     }
 
+    // Changes from this CBOM to a newer one of the same project, see CBOMDiff
+    public @Nonnull CBOMDelta diff(@Nonnull CBOM newer) {
+        return CBOMDiff.diff(this, newer);
+    }
+
+    // Sorts components, occurrences, properties and dependencies, see CBOMCanonicalizer
+    public void canonicalize() {
+        if (cycloneDXbom != null) {
+            CBOMCanonicalizer.canonicalize(cycloneDXbom);
+        }
+    }
+
+    // SHA-256 of the canonical components and dependencies, metadata is not included. The CBOM
+    // is not modified.
+    public @Nonnull String digest() throws CBOMSerializationFailed {
+        return CBOMCanonicalizer.digest(cycloneDXbom);
+    }
+
     public static @Nonnull CBOM formJSON(@Nonnull JsonNode jsonNode)
             throws CBOMSerializationFailed {
         try {
-            final ObjectMapper mapper = new ObjectMapper();
-            return new CBOM(mapper.treeToValue(jsonNode, Bom.class));
+            return new CBOM(CBOMMappers.READER.treeToValue(jsonNode, Bom.class));
         } catch (JsonProcessingException e) {
             throw new CBOMSerializationFailed(e);
         }
     }
 
+    // Builds the JSON tree directly from the model, without rendering and parsing a String
     public @Nonnull JsonNode toJSON() throws CBOMSerializationFailed {
+        return toJSON(null, null);
+    }
+
+    // As toJSON(), recording a "serialize" span as child of the given span if there is a tracer
+    public @Nonnull JsonNode toJSON(@Nullable Tracer tracer, @Nullable Span parentSpan)
+            throws CBOMSerializationFailed {
+        final CBOMSerializationEvent event = new CBOMSerializationEvent();
+        event.begin();
+        final Span span = tracer != null ? tracer.startSpan("serialize", parentSpan) : null;
+        long bytes = -1;
         try {
-            final ObjectMapper mapper = new ObjectMapper();
-            final BomJsonGenerator bomGenerator =
-                    BomGeneratorFactory.createJson(Version.VERSION_16, cycloneDXbom);
-            return mapper.readTree(bomGenerator.toJsonString());
-        } catch (JsonProcessingException | GeneratorException e) {
+            final JsonNode jsonNode =
+                    CBOMMappers.serializer().valueToTree(CBOMMappers.prepare(cycloneDXbom));
+            // only measured while recording or tracing
+            if (event.shouldCommit() || span != null) {
+                bytes = serializedSize(jsonNode);
+            }
+            commit(event, "toJSON", bytes);
+            end(span, "toJSON", bytes, false);
+            return jsonNode;
+        } catch (IllegalArgumentException e) {
+            end(span, "toJSON", bytes, true);
+            throw new CBOMSerializationFailed(e);
+        }
+    }
+
+    // Encodes the CBOM in the given format, see CBOMFormat
+    public @Nonnull byte[] encode(@Nonnull CBOMFormat format) throws CBOMSerializationFailed {
+        final StreamingCBOMWriter writer = new StreamingCBOMWriter();
+        writer.setFormat(format);
+        writer.setPrettyPrint(false);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writer.write(this, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    public static @Nonnull CBOM decode(@Nonnull CBOMFormat format, @Nonnull byte[] data)
+            throws CBOMSerializationFailed {
+        try (JsonParser parser = format.getFactory().createParser(data)) {
+            return new CBOM(CBOMMappers.READER.readValue(parser, Bom.class));
+        } catch (IOException e) {
             throw new CBOMSerializationFailed(e);
         }
     }
@@ -137,19 +175,54 @@ public record CBOM(@Nonnull Bom cycloneDXbom) {
     }
 
     public void write(String fileName) throws CBOMSerializationFailed {
-        final BomJsonGenerator bomGenerator =
-                BomGeneratorFactory.createJson(Version.VERSION_16, cycloneDXbom);
+        write(fileName, null, null);
+    }
 
+    // As write(fileName), recording a "serialize" span as child of the given span if there is a
+    // tracer
+    public void write(String fileName, @Nullable Tracer tracer, @Nullable Span parentSpan)
+            throws CBOMSerializationFailed {
+        final StreamingCBOMWriter writer = new StreamingCBOMWriter();
+        writer.setTracer(tracer, parentSpan);
+        writer.write(this, Path.of(fileName));
+    }
+
+    private static long serializedSize(@Nonnull JsonNode json) {
         try {
-            String bomString = bomGenerator.toJsonString();
-            if (bomString != null) {
-                try (FileWriter writer = new FileWriter(fileName)) {
-                    writer.write(bomString);
-                }
-            }
-        } catch (IOException | GeneratorException e) {
-            throw new CBOMSerializationFailed(e);
+            return CBOMMappers.serializer().writeValueAsBytes(json).length;
+        } catch (JsonProcessingException e) {
+            return -1;
+        }
+    }
+
+    void commit(@Nonnull CBOMSerializationEvent event, @Nonnull String operation, long bytes) {
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.components =
+                    cycloneDXbom.getComponents() == null ? 0 : cycloneDXbom.getComponents().size();
+            event.findings = getNumberOfFindings();
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    // Ends the span of a serialization, the byte count is omitted if it is unknown
+    void end(@Nullable Span span, @Nonnull String operation, long bytes, boolean failed) {
+        if (span == null) {
+            return;
+        }
+        span.setError(failed);
+        span.setAttribute("cbomkit.operation", operation);
+        span.setAttribute(
+                "cbomkit.components",
+                cycloneDXbom == null || cycloneDXbom.getComponents() == null
+                        ? 0
+                        : cycloneDXbom.getComponents().size());
+        span.setAttribute("cbomkit.findings", getNumberOfFindings());
+        if (bytes >= 0) {
+            span.setAttribute("cbomkit.bytes", bytes);
         }
+        span.end();
     }
 
     public int getNumberOfFindings() {
@@ -0,0 +1,294 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Dependency;
+import org.cyclonedx.model.Property;
+import org.cyclonedx.model.component.evidence.Occurrence;
+
+/**
+ * Puts a CBOM in canonical order, so that the same findings give the same output regardless of
+ * the order in which files were scanned.
+ *
+ * <p>Components are sorted by their identity, see {@link CBOMMerger}, bom-ref and a hash of their
+ * content, so that components with the same identity and bom-ref are ordered deterministically as
+ * well. The sort keys are computed once per component. Occurrences are sorted by location, line,
+ * offset, symbol and context, properties by name and value, dependencies and their edges by
+ * bom-ref.
+ *
+ * <p>The digest leaves the CBOM as it is. It hashes the sort keys of the components in canonical
+ * order. The content hash is computed from the model, without serializing the component: it covers
+ * the identity, bom-ref, description, mime type, publisher, copyright, cpe, purl and scope, and the
+ * occurrences, properties and nested components, which are hashed one by one and their hashes
+ * sorted, the same result as sorting them. Other fields, which findings do not carry, are not part
+ * of the digest.
+ */
+final class CBOMCanonicalizer {
+    private static final Comparator<String> NULLS_FIRST =
+            Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<Integer> INTEGERS_NULLS_FIRST =
+            Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<Occurrence> OCCURRENCE_ORDER =
+            Comparator.comparing(Occurrence::getLocation, NULLS_FIRST)
+                    .thenComparing(Occurrence::getLine, INTEGERS_NULLS_FIRST)
+                    .thenComparing(Occurrence::getOffset, INTEGERS_NULLS_FIRST)
+                    .thenComparing(Occurrence::getSymbol, NULLS_FIRST)
+                    .thenComparing(Occurrence::getAdditionalContext, NULLS_FIRST)
+                    .thenComparing(Occurrence::getBomRef, NULLS_FIRST);
+    private static final Comparator<Property> PROPERTY_ORDER =
+            Comparator.comparing(Property::getName, NULLS_FIRST)
+                    .thenComparing(Property::getValue, NULLS_FIRST);
+    private static final Comparator<Dependency> DEPENDENCY_ORDER =
+            Comparator.comparing(Dependency::getRef, NULLS_FIRST);
+
+    // sort key of a component, components with equal identity and bom-ref are ordered by hash
+    private record Keyed(
+            @Nonnull String identity,
+            @Nullable String ref,
+            @Nonnull byte[] hash,
+            @Nonnull Component value) {
+        static final Comparator<Keyed> ORDER =
+                Comparator.comparing(Keyed::identity)
+                        .thenComparing(Keyed::ref, NULLS_FIRST)
+                        .thenComparing(Keyed::hash, Arrays::compare);
+    }
+
+    private CBOMCanonicalizer() {}
+
+    static void canonicalize(@Nonnull Bom bom) {
+        bom.setComponents(sortComponents(bom.getComponents(), sha256()));
+        if (bom.getMetadata() != null && bom.getMetadata().getProperties() != null) {
+            bom.getMetadata().setProperties(sortedProperties(bom.getMetadata().getProperties()));
+        }
+        if (bom.getDependencies() != null) {
+            final List<Dependency> dependencies = new ArrayList<>(bom.getDependencies());
+            dependencies.sort(DEPENDENCY_ORDER);
+            for (Dependency dependency : dependencies) {
+                if (dependency.getDependencies() != null) {
+                    final List<Dependency> edges = new ArrayList<>(dependency.getDependencies());
+                    edges.sort(DEPENDENCY_ORDER);
+                    dependency.setDependencies(edges);
+                }
+            }
+            bom.setDependencies(dependencies);
+        }
+    }
+
+    /** SHA-256 of the canonical components and dependencies, as hex. */
+    @Nonnull
+    static String digest(@Nonnull Bom bom) {
+        // a single digest, the component hashes are completed before the next one starts
+        final MessageDigest digest = sha256();
+        final List<Keyed> components = new ArrayList<>();
+        if (bom.getComponents() != null) {
+            for (Component component : bom.getComponents()) {
+                components.add(keyed(component, digest));
+            }
+        }
+        components.sort(Keyed.ORDER);
+
+        update(digest, components.size());
+        for (Keyed component : components) {
+            update(digest, component.identity());
+            update(digest, component.ref());
+            digest.update(component.hash());
+        }
+        final List<Dependency> dependencies =
+                new ArrayList<>(bom.getDependencies() != null ? bom.getDependencies() : List.of());
+        dependencies.sort(DEPENDENCY_ORDER);
+        update(digest, dependencies.size());
+        for (Dependency dependency : dependencies) {
+            update(digest, dependency.getRef());
+            final List<String> edges = new ArrayList<>();
+            if (dependency.getDependencies() != null) {
+                dependency.getDependencies().forEach(edge -> edges.add(edge.getRef()));
+            }
+            edges.sort(NULLS_FIRST);
+            update(digest, edges.size());
+            edges.forEach(edge -> update(digest, edge));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    @Nonnull
+    private static Keyed keyed(@Nonnull Component component, @Nonnull MessageDigest digest) {
+        final String identity = CBOMMerger.identityOf(component);
+        return new Keyed(
+                identity,
+                component.getBomRef(),
+                componentHash(component, identity, digest),
+                component);
+    }
+
+    /** Hash of the content of a component, independent of the order of its lists. */
+    @Nonnull
+    private static byte[] componentHash(
+            @Nonnull Component component,
+            @Nonnull String identity,
+            @Nonnull MessageDigest digest) {
+        // the element hashes use the digest as well, so they are computed first
+        final List<byte[]> occurrences = new ArrayList<>();
+        if (component.getEvidence() != null && component.getEvidence().getOccurrences() != null) {
+            for (Occurrence occurrence : component.getEvidence().getOccurrences()) {
+                update(digest, occurrence.getLocation());
+                update(digest, occurrence.getLine());
+                update(digest, occurrence.getOffset());
+                update(digest, occurrence.getSymbol());
+                update(digest, occurrence.getAdditionalContext());
+                update(digest, occurrence.getBomRef());
+                occurrences.add(digest.digest());
+            }
+        }
+        final List<byte[]> properties = new ArrayList<>();
+        if (component.getProperties() != null) {
+            for (Property property : component.getProperties()) {
+                update(digest, property.getName());
+                update(digest, property.getValue());
+                properties.add(digest.digest());
+            }
+        }
+        final List<byte[]> nested = new ArrayList<>();
+        if (component.getComponents() != null) {
+            for (Component child : component.getComponents()) {
+                nested.add(keyed(child, digest).hash());
+            }
+        }
+
+        update(digest, identity);
+        update(digest, component.getBomRef());
+        update(digest, component.getDescription());
+        update(digest, component.getMimeType());
+        update(digest, component.getPublisher());
+        update(digest, component.getCopyright());
+        update(digest, component.getCpe());
+        update(digest, component.getPurl());
+        update(digest, Objects.toString(component.getScope(), null));
+        for (List<byte[]> hashes : List.of(occurrences, properties, nested)) {
+            hashes.sort(Arrays::compare);
+            update(digest, hashes.size());
+            hashes.forEach(digest::update);
+        }
+        return digest.digest();
+    }
+
+    private static void update(@Nonnull MessageDigest digest, int value) {
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(value).array());
+    }
+
+    private static void update(@Nonnull MessageDigest digest, @Nullable Integer value) {
+        digest.update(value == null ? (byte) 0 : (byte) 1);
+        update(digest, value == null ? 0 : value.intValue());
+    }
+
+    // length prefixed, so that consecutive strings cannot run into each other
+    private static void update(@Nonnull MessageDigest digest, @Nullable String value) {
+        if (value == null) {
+            update(digest, -1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        update(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    @Nonnull
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Nullable private static List<Component> sortComponents(
+            @Nullable List<Component> components, @Nonnull MessageDigest digest) {
+        if (components == null) {
+            return null;
+        }
+        final List<Keyed> keyed = new ArrayList<>(components.size());
+        for (Component component : components) {
+            sortNested(component, digest);
+            keyed.add(keyed(component, digest));
+        }
+        keyed.sort(Keyed.ORDER);
+        final List<Component> sorted = new ArrayList<>(keyed.size());
+        for (Keyed entry : keyed) {
+            sorted.add(entry.value());
+        }
+        return sorted;
+    }
+
+    private static void sortNested(@Nonnull Component component, @Nonnull MessageDigest digest) {
+        if (component.getProperties() != null) {
+            component.setProperties(sortedProperties(component.getProperties()));
+        }
+        if (component.getEvidence() != null && component.getEvidence().getOccurrences() != null) {
+            component
+                    .getEvidence()
+                    .setOccurrences(sortedOccurrences(component.getEvidence().getOccurrences()));
+        }
+        if (component.getComponents() != null) {
+            component.setComponents(sortComponents(component.getComponents(), digest));
+        }
+    }
+
+    @Nonnull
+    private static List<Property> sortedProperties(@Nonnull List<Property> properties) {
+        final List<Property> sorted = new ArrayList<>(properties);
+        sorted.sort(PROPERTY_ORDER);
+        return sorted;
+    }
+
+    @Nonnull
+    private static List<Occurrence> sortedOccurrences(@Nonnull List<Occurrence> occurrences) {
+        final List<Occurrence> sorted = new ArrayList<>(occurrences);
+        sorted.sort(OCCURRENCE_ORDER);
+        if (!(occurrences instanceof CompactOccurrenceList)) {
+            return sorted;
+        }
+        // keep compacted occurrences compact, sorted occurrences are grouped by location
+        final List<List<Occurrence>> files = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= sorted.size(); i++) {
+            if (i == sorted.size()
+                    || !Objects.equals(
+                            sorted.get(i).getLocation(), sorted.get(start).getLocation())) {
+                files.add(sorted.subList(start, i));
+                start = i;
+            }
+        }
+        return new CompactOccurrenceList(files);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.List;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.component.evidence.Occurrence;
+import org.pqca.errors.CBOMSerializationFailed;
+
+/**
+ * Changes between two CBOMs of the same project, see {@link CBOMDiff}.
+ *
+ * @param added assets only found in the newer CBOM, with all of their occurrences
+ * @param removed assets only found in the older CBOM
+ * @param changed assets found in both CBOMs with different occurrences
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record CBOMDelta(
+        @Nonnull List<Component> added,
+        @Nonnull List<Asset> removed,
+        @Nonnull List<AssetChange> changed) {
+
+    /**
+     * An asset by the hash of its identity, see {@link CBOMMerger}. The bom-ref and name are
+     * informational, the bom-ref is the one of the older CBOM for removed assets and of the newer
+     * one otherwise.
+     */
+    public record Asset(@Nonnull String id, @Nullable String bomRef, @Nullable String name) {}
+
+    /** Position of an occurrence, the part of an occurrence the diff compares. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Location(
+            @Nullable String location,
+            @Nullable Integer line,
+            @Nullable Integer offset,
+            @Nullable String symbol) {
+
+        @Nonnull
+        static Location of(@Nonnull Occurrence occurrence) {
+            return new Location(
+                    occurrence.getLocation(),
+                    occurrence.getLine(),
+                    occurrence.getOffset(),
+                    occurrence.getSymbol());
+        }
+    }
+
+    /** An occurrence that is still in the same file, at a different position. */
+    public record Move(@Nonnull Location from, @Nonnull Location to) {}
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    public record AssetChange(
+            @Nonnull Asset asset,
+            @Nonnull List<Location> added,
+            @Nonnull List<Location> removed,
+            @Nonnull List<Move> moved) {}
+
+    /** Whether both CBOMs contain the same assets at the same locations. */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    public @Nonnull JsonNode toJSON() throws CBOMSerializationFailed {
+        try {
+            // components are written as in the CBOM
+            return CBOMMappers.serializer().valueToTree(this);
+        } catch (IllegalArgumentException e) {
+            throw new CBOMSerializationFailed(e);
+        }
+    }
+}
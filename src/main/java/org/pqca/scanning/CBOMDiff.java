@@ -0,0 +1,236 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.component.evidence.Occurrence;
+import org.pqca.errors.CBOMSerializationFailed;
+import org.pqca.scanning.CBOMDelta.Asset;
+import org.pqca.scanning.CBOMDelta.AssetChange;
+import org.pqca.scanning.CBOMDelta.Location;
+import org.pqca.scanning.CBOMDelta.Move;
+
+/**
+ * Computes the {@link CBOMDelta} between an older and a newer CBOM in time linear in the number of
+ * occurrences.
+ *
+ * <p>Assets are matched by a hash of their identity, as defined by {@link CBOMMerger}, so that
+ * bom-refs may differ between scans. Occurrences are compared by location, line, offset and
+ * symbol. An occurrence that was removed and added in the same file for the same asset and symbol
+ * counts as moved, which is what edits above a finding look like.
+ *
+ * <p>The components of the newer CBOM are compared one at a time against the asset hashes and
+ * occurrence positions of the older CBOM. Memory is linear in the number of occurrences: the
+ * positions of every occurrence of the older CBOM are kept, as are the positions of the newer CBOM
+ * for assets found in both and the components of added assets. {@link #diff(Path, Path)} reads both
+ * files with a {@link StreamingCBOMReader}, so only parsing is streamed: the model of a CBOM is
+ * never built as a whole, but the positions are still held.
+ */
+public final class CBOMDiff {
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Nonnull private final MessageDigest digest;
+    // occurrence positions of the assets of the older CBOM, removed from the map once matched
+    @Nonnull private final Map<String, Snapshot> before = new LinkedHashMap<>();
+    // assets of the newer CBOM by hash, for assets that occur more than once
+    @Nonnull private final Map<String, Change> after = new LinkedHashMap<>();
+
+    private static final class Snapshot {
+        @Nonnull final Asset asset;
+        @Nonnull final Set<Location> locations = new LinkedHashSet<>();
+
+        Snapshot(@Nonnull Asset asset) {
+            this.asset = asset;
+        }
+    }
+
+    private static final class Change {
+        @Nullable final Component added;
+        @Nullable final Snapshot before;
+        @Nonnull final Asset asset;
+        @Nonnull final Set<Location> seen = new HashSet<>();
+        @Nonnull final List<Location> locations = new ArrayList<>();
+
+        Change(@Nullable Component added, @Nullable Snapshot before, @Nonnull Asset asset) {
+            this.added = added;
+            this.before = before;
+            this.asset = asset;
+        }
+    }
+
+    private CBOMDiff() {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Changes from the older to the newer CBOM. */
+    @Nonnull
+    public static CBOMDelta diff(@Nonnull CBOM older, @Nonnull CBOM newer) {
+        return new CBOMDiff().compute(componentsOf(older), componentsOf(newer));
+    }
+
+    /** Changes from the older to the newer CBOM file, reading both in a single pass. */
+    @Nonnull
+    public static CBOMDelta diff(@Nonnull Path older, @Nonnull Path newer)
+            throws CBOMSerializationFailed {
+        try (StreamingCBOMReader olderReader = StreamingCBOMReader.open(older);
+                StreamingCBOMReader newerReader = StreamingCBOMReader.open(newer)) {
+            return new CBOMDiff().compute(olderReader.components(), newerReader.components());
+        } catch (IOException | UncheckedIOException e) {
+            throw new CBOMSerializationFailed(e);
+        }
+    }
+
+    @Nonnull
+    private static Iterable<Component> componentsOf(@Nonnull CBOM cbom) {
+        final List<Component> components = cbom.cycloneDXbom().getComponents();
+        return components != null ? components : List.of();
+    }
+
+    @Nonnull
+    private CBOMDelta compute(
+            @Nonnull Iterable<Component> older, @Nonnull Iterable<Component> newer) {
+        for (Component component : older) {
+            final Asset asset = assetOf(component);
+            final Snapshot snapshot = before.computeIfAbsent(asset.id(), k -> new Snapshot(asset));
+            for (Occurrence occurrence : occurrencesOf(component)) {
+                snapshot.locations.add(Location.of(occurrence));
+            }
+        }
+
+        for (Component component : newer) {
+            final Asset asset = assetOf(component);
+            Change change = after.get(asset.id());
+            if (change == null) {
+                final Snapshot snapshot = before.remove(asset.id());
+                change = new Change(snapshot == null ? component : null, snapshot, asset);
+                after.put(asset.id(), change);
+            }
+            if (change.added != null) {
+                // new assets are reported with their component
+                continue;
+            }
+            for (Occurrence occurrence : occurrencesOf(component)) {
+                final Location location = Location.of(occurrence);
+                if (!change.seen.add(location)) {
+                    continue;
+                }
+                // unchanged occurrences are dropped right away, the rest is added
+                if (!change.before.locations.remove(location)) {
+                    change.locations.add(location);
+                }
+            }
+        }
+
+        final List<Component> added = new ArrayList<>();
+        final List<AssetChange> changed = new ArrayList<>();
+        for (Change change : after.values()) {
+            if (change.added != null) {
+                added.add(change.added);
+            } else if (!change.locations.isEmpty() || !change.before.locations.isEmpty()) {
+                changed.add(changeOf(change));
+            }
+        }
+        final List<Asset> removed = new ArrayList<>(before.size());
+        for (Snapshot snapshot : before.values()) {
+            removed.add(snapshot.asset);
+        }
+        return new CBOMDelta(added, removed, changed);
+    }
+
+    /** Pairs removed and added occurrences in the same file with the same symbol as moves. */
+    @Nonnull
+    private static AssetChange changeOf(@Nonnull Change change) {
+        final Map<MoveKey, Deque<Location>> removedByKey = new HashMap<>();
+        for (Location location : change.before.locations) {
+            removedByKey
+                    .computeIfAbsent(MoveKey.of(location), k -> new ArrayDeque<>())
+                    .add(location);
+        }
+        final List<Location> added = new ArrayList<>();
+        final List<Move> moved = new ArrayList<>();
+        final Set<Location> movedFrom = new HashSet<>();
+        for (Location location : change.locations) {
+            final Deque<Location> candidates = removedByKey.get(MoveKey.of(location));
+            final Location from = candidates != null ? candidates.poll() : null;
+            if (from != null && location.location() != null) {
+                moved.add(new Move(from, location));
+                movedFrom.add(from);
+            } else {
+                added.add(location);
+            }
+        }
+        final List<Location> removed = new ArrayList<>();
+        for (Location location : change.before.locations) {
+            if (!movedFrom.contains(location)) {
+                removed.add(location);
+            }
+        }
+        return new AssetChange(change.asset, added, removed, moved);
+    }
+
+    private record MoveKey(@Nullable String location, @Nullable String symbol) {
+        @Nonnull
+        static MoveKey of(@Nonnull Location location) {
+            return new MoveKey(location.location(), location.symbol());
+        }
+    }
+
+    @Nonnull
+    private Asset assetOf(@Nonnull Component component) {
+        final byte[] hash =
+                digest.digest(
+                        CBOMMerger.identityOf(component).getBytes(StandardCharsets.UTF_8));
+        // 128 bits of the hash, collisions are not a concern at the size of a CBOM
+        return new Asset(
+                HEX.formatHex(hash, 0, 16), component.getBomRef(), component.getName());
+    }
+
+    @Nonnull
+    private static List<Occurrence> occurrencesOf(@Nonnull Component component) {
+        if (component.getEvidence() == null || component.getEvidence().getOccurrences() == null) {
+            return List.of();
+        }
+        return component.getEvidence().getOccurrences();
+    }
+}
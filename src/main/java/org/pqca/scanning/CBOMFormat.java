@@ -0,0 +1,72 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import jakarta.annotation.Nonnull;
+
+/**
+ * Encodings of a CBOM. The binary encodings carry the same data model as the CycloneDX JSON, the
+ * same serializers write their tokens, so a CBOM decoded from them serializes to the same JSON.
+ */
+public enum CBOMFormat {
+    JSON("application/vnd.cyclonedx+json", ".json", new JsonFactory()),
+    /** Binary JSON with back references for repeated names and values, compact for CBOMs. */
+    SMILE(
+            "application/x-jackson-smile",
+            ".smile",
+            SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build()),
+    /** Binary encoding of RFC 8949, for consumers outside of the JVM. */
+    CBOR("application/cbor", ".cbor", new CBORFactory());
+
+    @Nonnull private final String mediaType;
+    @Nonnull private final String fileExtension;
+    // factories are thread safe once configured
+    @Nonnull private final JsonFactory factory;
+
+    CBOMFormat(
+            @Nonnull String mediaType,
+            @Nonnull String fileExtension,
+            @Nonnull JsonFactory factory) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+        this.factory = factory;
+    }
+
+    @Nonnull
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    @Nonnull
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    @Nonnull
+    JsonFactory getFactory() {
+        return factory;
+    }
+}
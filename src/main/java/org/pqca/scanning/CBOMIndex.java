@@ -0,0 +1,438 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.component.crypto.AlgorithmProperties;
+import org.cyclonedx.model.component.crypto.CryptoProperties;
+import org.cyclonedx.model.component.crypto.RelatedCryptoMaterialProperties;
+import org.cyclonedx.model.component.crypto.enums.AssetType;
+import org.cyclonedx.model.component.crypto.enums.Primitive;
+import org.cyclonedx.model.component.evidence.Occurrence;
+
+/**
+ * Query index over the findings of a CBOM, built in one pass over its components and occurrences.
+ *
+ * <p>Every occurrence of a component is an entry of the index, components without occurrences are
+ * a single entry without occurrence. For every indexed value the index keeps the sorted entry
+ * numbers (postings), and a query intersects the postings of its conditions as bit sets:
+ *
+ * <pre>{@code
+ * CBOMIndex index = CBOMIndex.of(cbom);
+ * List<Occurrence> weak = index.query().algorithm("RSA").keySizeBelow(2048).occurrences();
+ * Map<String, Integer> byAlgorithm = index.query().location(file).countBy(Dimension.ALGORITHM);
+ * }</pre>
+ *
+ * <p>The index does not copy the CBOM, it is not updated when the CBOM changes afterwards. Queries
+ * do not modify the index, so it can be shared between threads.
+ */
+public final class CBOMIndex {
+
+    /** Indexed values that findings can be counted by. */
+    public enum Dimension {
+        ASSET_TYPE,
+        PRIMITIVE,
+        ALGORITHM,
+        PARAMETER_SET,
+        LOCATION
+    }
+
+    @Nonnull private final List<Component> components;
+    // component number and occurrence of every entry, occurrence is null for a component without
+    @Nonnull private final int[] componentOf;
+    @Nonnull private final Occurrence[] occurrenceOf;
+    // entries with an occurrence, the entries counted by queries
+    @Nonnull private final BitSet occurrenceEntries;
+    @Nonnull private final Map<Dimension, Map<String, int[]>> postings;
+    // algorithm families, e.g. RSA for RSA-2048, queried together with the algorithm names
+    @Nonnull private final Map<String, int[]> families;
+    @Nonnull private final NavigableMap<Integer, int[]> keySizes;
+    @Nonnull private final NavigableMap<String, int[]> locations;
+
+    private CBOMIndex(@Nonnull Builder builder) {
+        this.components = List.copyOf(builder.components);
+        this.componentOf = Arrays.copyOf(builder.componentOf, builder.entries);
+        this.occurrenceOf = builder.occurrenceOf.toArray(new Occurrence[0]);
+        this.occurrenceEntries = builder.occurrenceEntries;
+        this.postings = new EnumMap<>(Dimension.class);
+        builder.postings.forEach((dimension, map) -> postings.put(dimension, trim(map)));
+        this.families = trim(builder.families);
+        this.keySizes = new TreeMap<>(trim(builder.keySizes));
+        // locations are kept sorted for directory queries
+        this.locations = new TreeMap<>(postings.get(Dimension.LOCATION));
+    }
+
+    /** Builds the index of the given CBOM. */
+    @Nonnull
+    public static CBOMIndex of(@Nonnull CBOM cbom) {
+        final Builder builder = new Builder();
+        if (cbom.cycloneDXbom().getComponents() != null) {
+            for (Component component : cbom.cycloneDXbom().getComponents()) {
+                builder.add(component);
+            }
+        }
+        return new CBOMIndex(builder);
+    }
+
+    /** Number of indexed occurrences. */
+    public int size() {
+        return occurrenceEntries.cardinality();
+    }
+
+    /** Starts a query, which matches all findings until conditions are added. */
+    @Nonnull
+    public Query query() {
+        return new Query();
+    }
+
+    /** Conditions on the findings, all of which have to hold. */
+    public final class Query {
+        // matching entries, null until the first condition
+        @Nullable private BitSet selection;
+
+        private Query() {}
+
+        @Nonnull
+        public Query assetType(@Nonnull AssetType assetType) {
+            return and(postings.get(Dimension.ASSET_TYPE).get(assetType.name()));
+        }
+
+        @Nonnull
+        public Query primitive(@Nonnull Primitive primitive) {
+            return and(postings.get(Dimension.PRIMITIVE).get(primitive.name()));
+        }
+
+        /**
+         * Matches components with the given name, or in the given family of algorithms, ignoring
+         * case. {@code RSA} matches {@code RSA-2048} and {@code RSA-OAEP}.
+         */
+        @Nonnull
+        public Query algorithm(@Nonnull String algorithm) {
+            final String key = normalize(algorithm);
+            final BitSet matching = toBitSet(postings.get(Dimension.ALGORITHM).get(key));
+            matching.or(toBitSet(families.get(key)));
+            return and(matching);
+        }
+
+        @Nonnull
+        public Query parameterSet(@Nonnull String parameterSetIdentifier) {
+            return and(postings.get(Dimension.PARAMETER_SET).get(parameterSetIdentifier));
+        }
+
+        /** Matches key sizes from {@code min} inclusive to {@code max} exclusive. */
+        @Nonnull
+        public Query keySize(int min, int max) {
+            return and(union(keySizes.subMap(min, true, max, false)));
+        }
+
+        @Nonnull
+        public Query keySizeBelow(int max) {
+            return and(union(keySizes.headMap(max, false)));
+        }
+
+        @Nonnull
+        public Query keySizeAtLeast(int min) {
+            return and(union(keySizes.tailMap(min, true)));
+        }
+
+        /** Matches occurrences in the given file. */
+        @Nonnull
+        public Query location(@Nonnull String location) {
+            return and(locations.get(location));
+        }
+
+        /** Matches occurrences in files below the given directory. */
+        @Nonnull
+        public Query directory(@Nonnull String directory) {
+            final String prefix = directory.endsWith("/") ? directory : directory + "/";
+            return and(union(locations.subMap(prefix, true, prefix + Character.MAX_VALUE, false)));
+        }
+
+        /** Matching occurrences, in the order of the CBOM. */
+        @Nonnull
+        public List<Occurrence> occurrences() {
+            final BitSet counted = counted();
+            final List<Occurrence> result = new ArrayList<>(counted.cardinality());
+            for (int i = counted.nextSetBit(0); i >= 0; i = counted.nextSetBit(i + 1)) {
+                result.add(occurrenceOf[i]);
+            }
+            return result;
+        }
+
+        /** Components with a matching occurrence, or matching without occurrences. */
+        @Nonnull
+        public List<Component> components() {
+            final BitSet matching = selection();
+            final List<Component> result = new ArrayList<>();
+            int last = -1;
+            for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+                // entries of a component are consecutive
+                if (componentOf[i] != last) {
+                    last = componentOf[i];
+                    result.add(components.get(last));
+                }
+            }
+            return result;
+        }
+
+        /** Number of matching occurrences. */
+        public int count() {
+            return counted().cardinality();
+        }
+
+        /** Number of matching occurrences by the values of the given dimension. */
+        @Nonnull
+        public Map<String, Integer> countBy(@Nonnull Dimension dimension) {
+            final BitSet counted = counted();
+            final Map<String, Integer> counts = new LinkedHashMap<>();
+            for (Map.Entry<String, int[]> entry : postings.get(dimension).entrySet()) {
+                int count = 0;
+                for (int i : entry.getValue()) {
+                    if (counted.get(i)) {
+                        count++;
+                    }
+                }
+                if (count > 0) {
+                    counts.put(entry.getKey(), count);
+                }
+            }
+            return counts;
+        }
+
+        @Nonnull
+        private Query and(@Nullable int[] entries) {
+            return and(toBitSet(entries));
+        }
+
+        @Nonnull
+        private Query and(@Nonnull BitSet matching) {
+            if (selection == null) {
+                selection = matching;
+            } else {
+                selection.and(matching);
+            }
+            return this;
+        }
+
+        @Nonnull
+        private BitSet selection() {
+            if (selection != null) {
+                return selection;
+            }
+            final BitSet all = new BitSet(componentOf.length);
+            all.set(0, componentOf.length);
+            return all;
+        }
+
+        @Nonnull
+        private BitSet counted() {
+            final BitSet counted = (BitSet) occurrenceEntries.clone();
+            if (selection != null) {
+                counted.and(selection);
+            }
+            return counted;
+        }
+
+        @Nonnull
+        private BitSet union(@Nonnull Map<?, int[]> entries) {
+            final BitSet union = new BitSet(componentOf.length);
+            for (int[] values : entries.values()) {
+                for (int i : values) {
+                    union.set(i);
+                }
+            }
+            return union;
+        }
+
+        @Nonnull
+        private BitSet toBitSet(@Nullable int[] entries) {
+            final BitSet bitSet = new BitSet(componentOf.length);
+            if (entries != null) {
+                for (int i : entries) {
+                    bitSet.set(i);
+                }
+            }
+            return bitSet;
+        }
+    }
+
+    /**
+     * Family of an algorithm name as matched by {@link Query#algorithm(String)}, the leading part
+     * of a name like RSA-2048 or AES128-GCM. Null if the name has none.
+     */
+    @Nullable public static String familyOf(@Nonnull String name) {
+        final int separator = name.indexOf('-');
+        return separator > 0 ? name.substring(0, separator) : null;
+    }
+
+    @Nonnull
+    private static String normalize(@Nonnull String name) {
+        return name.toUpperCase(Locale.ROOT);
+    }
+
+    @Nonnull
+    private static <K> Map<K, int[]> trim(@Nonnull Map<K, Postings> map) {
+        final Map<K, int[]> trimmed = new HashMap<>(map.size() * 4 / 3 + 1);
+        map.forEach((key, value) -> trimmed.put(key, value.toArray()));
+        return Collections.unmodifiableMap(trimmed);
+    }
+
+    /** Growable sorted list of entry numbers. */
+    private static final class Postings {
+        @Nonnull private int[] entries = new int[4];
+        private int size;
+
+        void add(int entry) {
+            // entries are added in increasing order, an entry is added at most once per value
+            if (size > 0 && entries[size - 1] == entry) {
+                return;
+            }
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entries[size++] = entry;
+        }
+
+        @Nonnull
+        int[] toArray() {
+            return Arrays.copyOf(entries, size);
+        }
+    }
+
+    private static final class Builder {
+        @Nonnull private final List<Component> components = new ArrayList<>();
+        @Nonnull private int[] componentOf = new int[64];
+        @Nonnull private final List<Occurrence> occurrenceOf = new ArrayList<>();
+        @Nonnull private final BitSet occurrenceEntries = new BitSet();
+        @Nonnull private final Map<Dimension, Map<String, Postings>> postings;
+        @Nonnull private final Map<String, Postings> families = new HashMap<>();
+        @Nonnull private final Map<Integer, Postings> keySizes = new HashMap<>();
+        private int entries;
+
+        Builder() {
+            this.postings = new EnumMap<>(Dimension.class);
+            for (Dimension dimension : Dimension.values()) {
+                postings.put(dimension, new HashMap<>());
+            }
+        }
+
+        void add(@Nonnull Component component) {
+            final int number = components.size();
+            components.add(component);
+            final int first = entries;
+            if (component.getEvidence() != null
+                    && component.getEvidence().getOccurrences() != null) {
+                for (Occurrence occurrence : component.getEvidence().getOccurrences()) {
+                    final int entry = addEntry(number, occurrence);
+                    occurrenceEntries.set(entry);
+                    if (occurrence.getLocation() != null) {
+                        post(Dimension.LOCATION, occurrence.getLocation(), entry);
+                    }
+                }
+            }
+            if (entries == first) {
+                addEntry(number, null);
+            }
+
+            // values of the component apply to all of its entries
+            final CryptoProperties cryptoProperties = component.getCryptoProperties();
+            final AlgorithmProperties algorithm =
+                    cryptoProperties != null ? cryptoProperties.getAlgorithmProperties() : null;
+            String assetType = null;
+            String primitive = null;
+            String parameterSet = null;
+            Integer keySize = null;
+            if (cryptoProperties != null && cryptoProperties.getAssetType() != null) {
+                assetType = cryptoProperties.getAssetType().name();
+            }
+            if (algorithm != null && algorithm.getPrimitive() != null) {
+                primitive = algorithm.getPrimitive().name();
+            }
+            if (algorithm != null && algorithm.getParameterSetIdentifier() != null) {
+                parameterSet = algorithm.getParameterSetIdentifier();
+                keySize = parseKeySize(parameterSet);
+            }
+            final RelatedCryptoMaterialProperties material =
+                    cryptoProperties != null
+                            ? cryptoProperties.getRelatedCryptoMaterialProperties()
+                            : null;
+            if (keySize == null && material != null) {
+                keySize = material.getSize();
+            }
+            final String name =
+                    component.getName() != null ? normalize(component.getName()) : null;
+            final String family = name != null ? familyOf(name) : null;
+            for (int entry = first; entry < entries; entry++) {
+                post(Dimension.ASSET_TYPE, assetType, entry);
+                post(Dimension.PRIMITIVE, primitive, entry);
+                post(Dimension.ALGORITHM, name, entry);
+                post(Dimension.PARAMETER_SET, parameterSet, entry);
+                if (family != null) {
+                    families.computeIfAbsent(family, k -> new Postings()).add(entry);
+                }
+                if (keySize != null) {
+                    keySizes.computeIfAbsent(keySize, k -> new Postings()).add(entry);
+                }
+            }
+        }
+
+        private int addEntry(int component, @Nullable Occurrence occurrence) {
+            if (entries == componentOf.length) {
+                componentOf = Arrays.copyOf(componentOf, entries * 2);
+            }
+            componentOf[entries] = component;
+            occurrenceOf.add(occurrence);
+            return entries++;
+        }
+
+        private void post(@Nonnull Dimension dimension, @Nullable String value, int entry) {
+            if (value != null) {
+                postings.get(dimension).computeIfAbsent(value, k -> new Postings()).add(entry);
+            }
+        }
+
+        /** Key size of a numeric parameter set identifier like 2048, null for others. */
+        @Nullable private static Integer parseKeySize(@Nonnull String parameterSet) {
+            if (parameterSet.isEmpty() || parameterSet.length() > 6) {
+                return null;
+            }
+            for (int i = 0; i < parameterSet.length(); i++) {
+                if (!Character.isDigit(parameterSet.charAt(i))) {
+                    return null;
+                }
+            }
+            return Integer.parseInt(parameterSet);
+        }
+    }
+}
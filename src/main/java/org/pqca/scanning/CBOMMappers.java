@@ -0,0 +1,60 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import org.cyclonedx.Version;
+import org.cyclonedx.generators.BomGeneratorFactory;
+import org.cyclonedx.model.Bom;
+
+/**
+ * Object mappers shared by all CBOMs. Creating a CycloneDX generator configures a new object
+ * mapper for the schema version, which costs more than serializing a small CBOM, so the mapper is
+ * created once and reused. Mappers are thread safe once configured.
+ */
+final class CBOMMappers {
+    static final Version VERSION = Version.VERSION_16;
+
+    /** Reads CycloneDX JSON into the model. */
+    static final ObjectMapper READER = new ObjectMapper();
+
+    private CBOMMappers() {}
+
+    private static final class SerializerHolder {
+        // the mapper does not depend on the BOM the generator is created for
+        static final ObjectMapper SERIALIZER =
+                BomGeneratorFactory.createJson(VERSION, new Bom()).getMapper();
+    }
+
+    /** Writes the model as CycloneDX JSON of {@link #VERSION}. */
+    @Nonnull
+    static ObjectMapper serializer() {
+        return SerializerHolder.SERIALIZER;
+    }
+
+    /** Sets format and spec version, as the CycloneDX generator does when it is created. */
+    @Nonnull
+    static Bom prepare(@Nonnull Bom bom) {
+        bom.setBomFormat("CycloneDX");
+        bom.setSpecVersion(VERSION.getVersionString());
+        return bom;
+    }
+}
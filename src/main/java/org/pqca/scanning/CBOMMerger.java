@@ -0,0 +1,269 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Dependency;
+import org.cyclonedx.model.Evidence;
+import org.cyclonedx.model.component.evidence.Occurrence;
+
+/**
+ * Merges CBOMs keyed by asset identity, so that the merged CBOM has one component per distinct
+ * asset regardless of how the scan was partitioned into modules or languages.
+ *
+ * <p>Two components are the same asset if they have the same bom-ref, or the same type, group,
+ * name, version and crypto properties. Occurrences of the same asset are unioned, dropping
+ * duplicate locations. Bom-refs of merged components are remapped to the bom-ref of the first
+ * component, which takes the bom-ref of a later one if it has none, and dependency edges are
+ * merged as a set.
+ *
+ * <p>The merged components are the components of the added CBOMs, which must therefore not be
+ * used after merging.
+ */
+public final class CBOMMerger {
+    private static final ObjectMapper IDENTITY_MAPPER = new ObjectMapper();
+    // CBOMs merged sequentially in a leaf of the parallel reduction
+    private static final int SEQUENTIAL_THRESHOLD = 4;
+
+    // components by canonical bom-ref, or by identity for components without bom-ref
+    @Nonnull private final Map<String, Component> components = new LinkedHashMap<>();
+    @Nonnull private final Map<String, String> refByIdentity = new HashMap<>();
+    @Nonnull private final Map<String, Set<OccurrenceKey>> occurrencesByRef = new HashMap<>();
+    @Nonnull private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+    private record OccurrenceKey(
+            @Nullable String location,
+            @Nullable Integer line,
+            @Nullable Integer offset,
+            @Nullable String symbol) {
+
+        @Nonnull
+        static OccurrenceKey of(@Nonnull Occurrence occurrence) {
+            return new OccurrenceKey(
+                    occurrence.getLocation(),
+                    occurrence.getLine(),
+                    occurrence.getOffset(),
+                    occurrence.getSymbol());
+        }
+    }
+
+    /** Adds the components and dependencies of the given BOM. */
+    @Nonnull
+    public CBOMMerger add(@Nullable Bom bom) {
+        if (bom == null) {
+            return this;
+        }
+        // bom-refs of the added BOM that were merged into an existing component
+        final Map<String, String> remapped = new HashMap<>();
+        if (bom.getComponents() != null) {
+            for (Component component : bom.getComponents()) {
+                final String ref = addComponent(component);
+                if (component.getBomRef() != null && !component.getBomRef().equals(ref)) {
+                    remapped.put(component.getBomRef(), ref);
+                }
+            }
+        }
+        if (bom.getDependencies() != null) {
+            for (Dependency dependency : bom.getDependencies()) {
+                final String ref = remapped.getOrDefault(dependency.getRef(), dependency.getRef());
+                final Set<String> dependsOn =
+                        dependencies.computeIfAbsent(ref, k -> new LinkedHashSet<>());
+                if (dependency.getDependencies() == null) {
+                    continue;
+                }
+                for (Dependency edge : dependency.getDependencies()) {
+                    final String target = remapped.getOrDefault(edge.getRef(), edge.getRef());
+                    // merged assets may have depended on each other
+                    if (!Objects.equals(ref, target)) {
+                        dependsOn.add(target);
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    /** Adds the component, returns the bom-ref it is known by after the merge. */
+    @Nullable private String addComponent(@Nonnull Component component) {
+        final String identity = identityOf(component);
+        String ref = component.getBomRef() != null ? component.getBomRef() : identity;
+        Component existing = components.get(ref);
+        if (existing == null) {
+            final String known = refByIdentity.get(identity);
+            if (known != null) {
+                ref = known;
+                existing = components.get(known);
+            }
+        }
+        if (existing == null) {
+            components.put(ref, component);
+            refByIdentity.putIfAbsent(identity, ref);
+            final Set<OccurrenceKey> keys = new HashSet<>();
+            final List<Occurrence> occurrences = occurrencesOf(component);
+            if (component.getEvidence() != null) {
+                // owned by the merger from now on, so that later occurrences are appended
+                final List<Occurrence> unique = new ArrayList<>(occurrences.size());
+                appendUnique(occurrences, unique, keys);
+                component.getEvidence().setOccurrences(unique);
+            }
+            occurrencesByRef.put(ref, keys);
+            return component.getBomRef();
+        }
+
+        final List<Occurrence> additional = occurrencesOf(component);
+        if (!additional.isEmpty()) {
+            if (existing.getEvidence() == null) {
+                existing.setEvidence(new Evidence());
+            }
+            if (existing.getEvidence().getOccurrences() == null) {
+                existing.getEvidence().setOccurrences(new ArrayList<>());
+            }
+            appendUnique(
+                    additional, existing.getEvidence().getOccurrences(), occurrencesByRef.get(ref));
+        }
+        if (existing.getBomRef() == null) {
+            // adopt the bom-ref, so that dependencies on it resolve to the merged component
+            existing.setBomRef(component.getBomRef());
+        }
+        return existing.getBomRef();
+    }
+
+    private static void appendUnique(
+            @Nonnull List<Occurrence> occurrences,
+            @Nonnull List<Occurrence> target,
+            @Nonnull Set<OccurrenceKey> keys) {
+        for (Occurrence occurrence : occurrences) {
+            if (keys.add(OccurrenceKey.of(occurrence))) {
+                target.add(occurrence);
+            }
+        }
+    }
+
+    @Nonnull
+    private static List<Occurrence> occurrencesOf(@Nonnull Component component) {
+        if (component.getEvidence() == null || component.getEvidence().getOccurrences() == null) {
+            return List.of();
+        }
+        return component.getEvidence().getOccurrences();
+    }
+
+    /** Identity of an asset, independent of its bom-ref and occurrences. */
+    @Nonnull
+    static String identityOf(@Nonnull Component component) {
+        String cryptoProperties;
+        try {
+            cryptoProperties = IDENTITY_MAPPER.writeValueAsString(component.getCryptoProperties());
+        } catch (JsonProcessingException e) {
+            // not comparable, the component is only merged by bom-ref
+            cryptoProperties = "@" + System.identityHashCode(component);
+        }
+        return String.join(
+                "|",
+                String.valueOf(component.getType()),
+                String.valueOf(component.getGroup()),
+                String.valueOf(component.getName()),
+                String.valueOf(component.getVersion()),
+                cryptoProperties);
+    }
+
+    /** Writes the merged components and dependencies to the given BOM. */
+    @Nonnull
+    public Bom writeTo(@Nonnull Bom bom) {
+        // keep absent lists absent, as they are omitted from the JSON
+        if (!components.isEmpty() || bom.getComponents() != null) {
+            bom.setComponents(new ArrayList<>(components.values()));
+        }
+        if (!dependencies.isEmpty() || bom.getDependencies() != null) {
+            final List<Dependency> merged = new ArrayList<>(dependencies.size());
+            dependencies.forEach(
+                    (ref, dependsOn) -> {
+                        final Dependency dependency = new Dependency(ref);
+                        dependsOn.forEach(
+                                target -> dependency.addDependency(new Dependency(target)));
+                        merged.add(dependency);
+                    });
+            bom.setDependencies(merged);
+        }
+        return bom;
+    }
+
+    /**
+     * Merges the CBOMs by reducing them pairwise as a tree on the common fork join pool. The
+     * result has the metadata of the first CBOM, and components in order of their first
+     * occurrence.
+     */
+    @Nonnull
+    public static CBOM mergeAll(@Nonnull List<CBOM> cboms) {
+        final Bom bom = new Bom();
+        if (!cboms.isEmpty() && cboms.get(0).cycloneDXbom() != null) {
+            bom.setMetadata(cboms.get(0).cycloneDXbom().getMetadata());
+        }
+        if (cboms.isEmpty()) {
+            return new CBOM(bom);
+        }
+        final CBOMMerger merger =
+                ForkJoinPool.commonPool().invoke(new MergeTask(cboms, 0, cboms.size()));
+        return new CBOM(merger.writeTo(bom));
+    }
+
+    private static final class MergeTask extends RecursiveTask<CBOMMerger> {
+        @Nonnull private final List<CBOM> cboms;
+        private final int from;
+        private final int to;
+
+        MergeTask(@Nonnull List<CBOM> cboms, int from, int to) {
+            this.cboms = cboms;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CBOMMerger compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                final CBOMMerger merger = new CBOMMerger();
+                for (int i = from; i < to; i++) {
+                    merger.add(cboms.get(i).cycloneDXbom());
+                }
+                return merger;
+            }
+            final int middle = (from + to) >>> 1;
+            final MergeTask left = new MergeTask(cboms, from, middle);
+            left.fork();
+            final CBOMMerger right = new MergeTask(cboms, middle, to).compute();
+            return left.join().add(right.writeTo(new Bom()));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.cyclonedx.model.component.evidence.Occurrence;
+
+/**
+ * Read-only list of occurrences grouped by file, each file stored once and lines and offsets as
+ * int arrays. Occurrences are created when they are read, so changes to them are not kept.
+ */
+final class CompactOccurrenceList extends AbstractList<Occurrence> implements RandomAccess {
+    private static final int ABSENT = Integer.MIN_VALUE;
+
+    // location of every file, and the end of its occurrences (exclusive)
+    @Nonnull private final String[] locations;
+    @Nonnull private final int[] ends;
+    @Nonnull private final int[] lines;
+    @Nonnull private final int[] offsets;
+    // null if no occurrence has the value
+    @Nullable private final String[] symbols;
+    @Nullable private final String[] additionalContexts;
+    @Nullable private final String[] bomRefs;
+
+    /**
+     * @param files occurrences of every file, all occurrences of a file with the same location
+     */
+    CompactOccurrenceList(@Nonnull List<List<Occurrence>> files) {
+        int size = 0;
+        for (List<Occurrence> file : files) {
+            size += file.size();
+        }
+        this.locations = new String[files.size()];
+        this.ends = new int[files.size()];
+        this.lines = new int[size];
+        this.offsets = new int[size];
+        final String[] symbols = new String[size];
+        final String[] additionalContexts = new String[size];
+        final String[] bomRefs = new String[size];
+        boolean hasSymbols = false;
+        boolean hasAdditionalContexts = false;
+        boolean hasBomRefs = false;
+        int index = 0;
+        for (int f = 0; f < files.size(); f++) {
+            for (Occurrence occurrence : files.get(f)) {
+                locations[f] = occurrence.getLocation();
+                lines[index] = occurrence.getLine() != null ? occurrence.getLine() : ABSENT;
+                offsets[index] = occurrence.getOffset() != null ? occurrence.getOffset() : ABSENT;
+                symbols[index] = occurrence.getSymbol();
+                additionalContexts[index] = occurrence.getAdditionalContext();
+                bomRefs[index] = occurrence.getBomRef();
+                hasSymbols |= occurrence.getSymbol() != null;
+                hasAdditionalContexts |= occurrence.getAdditionalContext() != null;
+                hasBomRefs |= occurrence.getBomRef() != null;
+                index++;
+            }
+            ends[f] = index;
+        }
+        this.symbols = hasSymbols ? symbols : null;
+        this.additionalContexts = hasAdditionalContexts ? additionalContexts : null;
+        this.bomRefs = hasBomRefs ? bomRefs : null;
+    }
+
+    @Override
+    public int size() {
+        return lines.length;
+    }
+
+    /** Number of distinct files. */
+    int files() {
+        return locations.length;
+    }
+
+    @Override
+    @Nonnull
+    public Occurrence get(int index) {
+        if (index < 0 || index >= lines.length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        // the file whose occurrences end after the index
+        int file = Arrays.binarySearch(ends, index + 1);
+        if (file < 0) {
+            file = -file - 1;
+        }
+        final Occurrence occurrence = new Occurrence();
+        occurrence.setLocation(locations[file]);
+        occurrence.setLine(lines[index] != ABSENT ? lines[index] : null);
+        occurrence.setOffset(offsets[index] != ABSENT ? offsets[index] : null);
+        if (symbols != null) {
+            occurrence.setSymbol(symbols[index]);
+        }
+        if (additionalContexts != null) {
+            occurrence.setAdditionalContext(additionalContexts[index]);
+        }
+        if (bomRefs != null) {
+            occurrence.setBomRef(bomRefs[index]);
+        }
+        return occurrence;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import com.ibm.mapper.model.INode;
+import jakarta.annotation.Nonnull;
+import java.util.List;
+import org.pqca.indexing.ProjectModule;
+import org.sonar.api.batch.fs.InputFile;
+
+/** Receives the progress of a scan per project module and per file. */
+public interface IScanListener {
+
+    default void scanStarted() {}
+
+    default void scanFinished(@Nonnull ScanResultDTO result) {}
+
+    /** The scan threw, {@link #scanFinished(ScanResultDTO)} is not called. */
+    default void scanFailed(@Nonnull Throwable throwable) {}
+
+    default void moduleStarted(@Nonnull ProjectModule module) {}
+
+    default void moduleFinished(@Nonnull ProjectModule module) {}
+
+    /** Files analyzed together, reported by scanners analyzing several files at once. */
+    default void batchStarted(@Nonnull List<InputFile> inputFiles) {}
+
+    default void batchFinished(@Nonnull List<InputFile> inputFiles) {}
+
+    default void fileStarted(@Nonnull InputFile inputFile) {}
+
+    default void fileFinished(@Nonnull InputFile inputFile) {}
+
+    /** The translated nodes of a finding in the current file. */
+    default void findingsDetected(@Nonnull List<INode> nodes) {}
+
+    /** Reported by the detection rules, before the nodes are collected. */
+    default void findingTranslated(@Nonnull List<INode> nodes, long translationNanos) {}
+}
@@ -0,0 +1,160 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Property;
+import org.cyclonedx.model.component.evidence.Occurrence;
+
+/**
+ * Compacts the occurrences of the components of a CBOM, to reduce heap usage and CBOM size of
+ * assets found very often.
+ *
+ * <p>Occurrences are grouped by file, keeping the order of the first occurrence in every file and
+ * the order within a file. Every file is stored once for all components, lines and offsets as int
+ * arrays. The occurrence lists are read-only afterwards, so components should be compacted once
+ * merging is done.
+ *
+ * <p>With a maximum per component, hot components keep up to that many occurrences, taken from
+ * all files in turn, and get a {@value #TOTAL_OCCURRENCES} property with the number of
+ * occurrences found. The CBOM stays valid CycloneDX either way.
+ */
+public final class OccurrenceCompactor {
+    /** Component property with the number of occurrences before capping. */
+    public static final String TOTAL_OCCURRENCES = "cbomkit:totalOccurrences";
+
+    private int maxOccurrencesPerComponent = Integer.MAX_VALUE;
+    // one instance of every location and context, shared by all components
+    @Nonnull private final Map<String, String> strings = new HashMap<>();
+
+    public int getMaxOccurrencesPerComponent() {
+        return maxOccurrencesPerComponent;
+    }
+
+    // Occurrences beyond the maximum are dropped and counted in a component property
+    public void setMaxOccurrencesPerComponent(int maxOccurrencesPerComponent) {
+        if (maxOccurrencesPerComponent < 1) {
+            throw new IllegalArgumentException(
+                    "At least one occurrence per component must be kept");
+        }
+        this.maxOccurrencesPerComponent = maxOccurrencesPerComponent;
+    }
+
+    /** Compacts all components of the CBOM, returns the number of dropped occurrences. */
+    public long compact(@Nonnull CBOM cbom) {
+        long dropped = 0;
+        if (cbom.cycloneDXbom().getComponents() != null) {
+            for (Component component : cbom.cycloneDXbom().getComponents()) {
+                dropped += compact(component);
+            }
+        }
+        // strings are only shared within a CBOM
+        strings.clear();
+        return dropped;
+    }
+
+    /** Compacts the occurrences of the component, returns the number of dropped occurrences. */
+    public int compact(@Nonnull Component component) {
+        if (component.getEvidence() == null || component.getEvidence().getOccurrences() == null) {
+            return 0;
+        }
+        final List<Occurrence> occurrences = component.getEvidence().getOccurrences();
+        final Map<String, List<Occurrence>> byFile = new LinkedHashMap<>();
+        for (Occurrence occurrence : occurrences) {
+            occurrence.setLocation(intern(occurrence.getLocation()));
+            occurrence.setSymbol(intern(occurrence.getSymbol()));
+            occurrence.setAdditionalContext(intern(occurrence.getAdditionalContext()));
+            byFile.computeIfAbsent(occurrence.getLocation(), k -> new ArrayList<>())
+                    .add(occurrence);
+        }
+
+        final List<List<Occurrence>> files = new ArrayList<>(byFile.values());
+        final int dropped = cap(files, occurrences.size());
+        if (dropped > 0) {
+            setTotal(component, occurrences.size());
+        }
+        component.getEvidence().setOccurrences(new CompactOccurrenceList(files));
+        return dropped;
+    }
+
+    /** Keeps at most the maximum of occurrences, the first ones of every file in turn. */
+    private int cap(@Nonnull List<List<Occurrence>> files, int size) {
+        if (size <= maxOccurrencesPerComponent) {
+            return 0;
+        }
+        final int[] kept = new int[files.size()];
+        int remaining = maxOccurrencesPerComponent;
+        while (remaining > 0) {
+            for (int f = 0; f < files.size() && remaining > 0; f++) {
+                if (kept[f] < files.get(f).size()) {
+                    kept[f]++;
+                    remaining--;
+                }
+            }
+        }
+        final List<List<Occurrence>> capped = new ArrayList<>(files.size());
+        for (int f = 0; f < files.size(); f++) {
+            if (kept[f] > 0) {
+                capped.add(files.get(f).subList(0, kept[f]));
+            }
+        }
+        files.clear();
+        files.addAll(capped);
+        return size - maxOccurrencesPerComponent;
+    }
+
+    /** Sets the total, keeping the one of an earlier compaction that dropped more. */
+    private static void setTotal(@Nonnull Component component, int total) {
+        final List<Property> properties = new ArrayList<>();
+        if (component.getProperties() != null) {
+            for (Property property : component.getProperties()) {
+                if (TOTAL_OCCURRENCES.equals(property.getName())) {
+                    total = Math.max(total, parseTotal(property.getValue()));
+                } else {
+                    properties.add(property);
+                }
+            }
+        }
+        final Property property = new Property();
+        property.setName(TOTAL_OCCURRENCES);
+        property.setValue(Integer.toString(total));
+        properties.add(property);
+        component.setProperties(properties);
+    }
+
+    private static int parseTotal(@Nullable String value) {
+        try {
+            return value != null ? Integer.parseInt(value) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @Nullable private String intern(@Nullable String value) {
+        return value != null ? strings.computeIfAbsent(value, v -> v) : null;
+    }
+}
@@ -19,11 +19,40 @@
  * */
 package org.pqca.scanning;
 
+import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
+import java.util.List;
+import org.pqca.profiling.ProfileReport;
+import org.pqca.scanning.cache.CacheStatistics;
+import org.pqca.scanning.rules.RuleGroupCost;
+import org.pqca.scanning.watchdog.TimedOutFile;
 
 public record ScanResultDTO(
         long startTime,
         long endTime,
         int numberOfScannedLines,
         int numberOfScannedFiles,
-        @Nullable CBOM cbom) {}
+        @Nullable CBOM cbom,
+        @Nullable CacheStatistics cacheStatistics,
+        @Nonnull List<TimedOutFile> timedOutFiles,
+        @Nullable ProfileReport profileReport,
+        @Nonnull List<RuleGroupCost> ruleGroupCosts) {
+
+    public ScanResultDTO(
+            long startTime,
+            long endTime,
+            int numberOfScannedLines,
+            int numberOfScannedFiles,
+            @Nullable CBOM cbom) {
+        this(
+                startTime,
+                endTime,
+                numberOfScannedLines,
+                numberOfScannedFiles,
+                cbom,
+                null,
+                List.of(),
+                null,
+                List.of());
+    }
+}
@@ -21,6 +21,7 @@ package org.pqca.scanning;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ibm.engine.rule.IDetectionRule;
 import com.ibm.mapper.model.INode;
 import com.ibm.output.IOutputFileFactory;
 import com.ibm.output.cyclondx.CBOMOutputFile;
@@ -29,76 +30,750 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import org.cyclonedx.model.Bom;
 import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Dependency;
 import org.cyclonedx.model.Evidence;
 import org.cyclonedx.model.component.evidence.Occurrence;
 import org.pqca.errors.ClientDisconnected;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.jfr.JfrScanListener;
+import org.pqca.metrics.IMetricsRegistry;
+import org.pqca.metrics.MetricsRegistry;
+import org.pqca.metrics.ScanMetrics;
+import org.pqca.profiling.ScanProfiler;
 import org.pqca.progress.IProgressDispatcher;
 import org.pqca.progress.ProgressMessage;
 import org.pqca.progress.ProgressMessageType;
+import org.pqca.scanning.cache.AnalysisFingerprint;
+import org.pqca.scanning.cache.CacheStatistics;
+import org.pqca.scanning.cache.CachedFindings;
+import org.pqca.scanning.cache.FindingsCache;
+import org.pqca.scanning.rules.RuleCostCounter;
+import org.pqca.scanning.rules.RuleGroupCost;
+import org.pqca.scanning.rules.RuleGroups;
+import org.pqca.scanning.watchdog.ScanBudget;
+import org.pqca.scanning.watchdog.ScanWatchdog;
+import org.pqca.scanning.watchdog.TimedOutFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.InputFile;
 
-public abstract class ScannerService implements IScannerService {
+public abstract class ScannerService implements IScannerService, IScanListener {
     protected static final Logger LOGGER = LoggerFactory.getLogger(ScannerService.class);
+    private static final ObjectMapper CACHE_MAPPER = new ObjectMapper();
 
     @Nullable protected final IProgressDispatcher progressDispatcher;
     @Nonnull protected final File projectDirectory;
     @Nonnull protected final CBOMOutputFile cbomOutputFile;
     @Nonnull Set<Integer> findings;
 
+    @Nullable private FindingsCache findingsCache;
+    @Nullable private AnalysisFingerprint analysisFingerprint;
+    // files analyzed in this scan whose findings are to be written to the cache
+    @Nonnull private final Map<Path, CachedFindingsBuilder> pendingCacheEntries;
+    // findings replayed from the cache, by file
+    @Nonnull private final Map<Path, CachedFindings> replayedFindings;
+    private int cacheHits;
+    private int cacheMisses;
+    private long cacheTimeSavedMillis;
+
+    @Nullable private ScanBudget scanBudget;
+    @Nullable private volatile ScanWatchdog watchdog;
+    @Nonnull private final List<TimedOutFile> timedOutFiles;
+
+    @Nonnull private final List<IScanListener> scanListeners;
+    @Nonnull private ScanMetrics metrics;
+    @Nullable private ScanProfiler profiler;
+    @Nonnull private final Map<String, RuleCostCounter> ruleCosts = new ConcurrentHashMap<>();
+    @Nullable private Set<String> enabledRuleGroups;
+    @Nullable private OccurrenceCompactor occurrenceCompactor;
+    private long fileStartNanos;
+
     protected ScannerService(
             @Nullable IProgressDispatcher progressDispatcher, @Nonnull File projectDirectory) {
         this.progressDispatcher = progressDispatcher;
         this.projectDirectory = projectDirectory;
         this.findings = new HashSet<Integer>();
         this.cbomOutputFile = new CBOMOutputFile();
+        this.pendingCacheEntries = new ConcurrentHashMap<>();
+        this.replayedFindings = new LinkedHashMap<>();
+        this.timedOutFiles = new ArrayList<>();
+        this.scanListeners = new CopyOnWriteArrayList<>();
+        this.scanListeners.add(new JfrScanListener(getClass().getSimpleName()));
+        this.metrics = ScanMetrics.of(MetricsRegistry.getDefault());
+    }
+
+    @Nullable public FindingsCache getFindingsCache() {
+        return this.findingsCache;
+    }
+
+    // Files with unchanged content and analysis settings are not analyzed again,
+    // their findings are replayed from the cache.
+    public void setFindingsCache(@Nullable FindingsCache findingsCache) {
+        this.findingsCache = findingsCache;
+    }
+
+    @Nullable public ScanBudget getScanBudget() {
+        return this.scanBudget;
+    }
+
+    // Files exceeding the budget are abandoned and the scan continues with the next file.
+    public void setScanBudget(@Nullable ScanBudget scanBudget) {
+        this.scanBudget = scanBudget;
+    }
+
+    // Listeners are notified from the analysis worker thread, one file at a time.
+    public void addScanListener(@Nonnull IScanListener listener) {
+        this.scanListeners.add(listener);
+    }
+
+    public void removeScanListener(@Nonnull IScanListener listener) {
+        this.scanListeners.remove(listener);
+    }
+
+    @Nullable public Set<String> getEnabledRuleGroups() {
+        return this.enabledRuleGroups;
+    }
+
+    // Only the detection rules of these libraries (bundle identifiers, e.g. "Jca" or "Pyca") are
+    // run. All rules are run if null.
+    public void setEnabledRuleGroups(@Nullable Set<String> enabledRuleGroups) {
+        this.enabledRuleGroups = enabledRuleGroups == null ? null : Set.copyOf(enabledRuleGroups);
+    }
+
+    @Nullable public OccurrenceCompactor getOccurrenceCompactor() {
+        return this.occurrenceCompactor;
+    }
+
+    // The occurrences of the resulting CBOM are compacted, see OccurrenceCompactor.
+    public void setOccurrenceCompactor(@Nullable OccurrenceCompactor occurrenceCompactor) {
+        this.occurrenceCompactor = occurrenceCompactor;
+    }
+
+    @Nullable public ScanProfiler getProfiler() {
+        return this.profiler;
+    }
+
+    // The report of the profiler is attached to the scan result.
+    public void setProfiler(@Nullable ScanProfiler profiler) {
+        Optional.ofNullable(this.profiler).ifPresent(this.scanListeners::remove);
+        this.profiler = profiler;
+        Optional.ofNullable(profiler).ifPresent(this.scanListeners::add);
+    }
+
+    @Nonnull
+    public IMetricsRegistry getMetricsRegistry() {
+        return this.metrics.getRegistry();
+    }
+
+    // Defaults to the process wide MetricsRegistry.getDefault()
+    public void setMetricsRegistry(@Nonnull IMetricsRegistry metricsRegistry) {
+        this.metrics = ScanMetrics.of(metricsRegistry);
+    }
+
+    @Nonnull
+    protected ScanMetrics getMetrics() {
+        return this.metrics;
     }
 
+    /**
+     * Everything besides the file content that influences the findings, e.g. language, classpath
+     * and scanner settings. Part of the cache key of every file.
+     */
+    @Nonnull
+    protected abstract Map<String, String> getAnalysisSettings();
+
     @Override
     public void accept(@Nonnull final List<INode> nodes) {
-        synchronized (this) {
+        if (isAbandonedThread()) {
+            // late findings of an analysis that exceeded its budget
+            return;
+        }
+        this.metrics.findings().increment();
+        this.scanListeners.forEach(listener -> listener.findingsDetected(nodes));
+        // not synchronized on this, findings are reported from the analysis worker thread
+        synchronized (this.cbomOutputFile) {
             this.cbomOutputFile.add(nodes);
-            if (this.progressDispatcher != null) {
+            if (this.progressDispatcher != null || !this.pendingCacheEntries.isEmpty()) {
                 final CBOMOutputFileFactory fileFactory = new CBOMOutputFileFactory();
                 final CBOMOutputFile componentAsCBOM = fileFactory.createOutputFormat(nodes);
-                componentAsCBOM
-                        .getBom()
-                        .getComponents()
-                        .forEach(
-                                component -> {
-                                    deduplicateFindings(component)
-                                            .ifPresent(
-                                                    deduplicated -> {
-                                                        ScannerService.sanitizeOccurrence(
-                                                                this.projectDirectory,
-                                                                deduplicated);
-                                                        try {
-                                                            this.progressDispatcher.send(
-                                                                    new ProgressMessage(
-                                                                            ProgressMessageType
-                                                                                    .DETECTION,
-                                                                            new ObjectMapper()
-                                                                                    .writeValueAsString(
-                                                                                            deduplicated)));
-                                                        } catch (JsonProcessingException
-                                                                | ClientDisconnected e) {
-                                                            LOGGER.error(e.getMessage());
-                                                        }
-                                                    });
-                                });
+                if (!this.pendingCacheEntries.isEmpty()) {
+                    captureFindings(componentAsCBOM.getBom());
+                }
+                dispatchDetections(componentAsCBOM.getBom().getComponents());
+            }
+        }
+    }
+
+    private void dispatchDetections(@Nullable List<Component> components) {
+        if (this.progressDispatcher == null || components == null) {
+            return;
+        }
+        components.forEach(
+                component ->
+                        deduplicateFindings(component)
+                                .ifPresent(
+                                        deduplicated -> {
+                                            ScannerService.sanitizeOccurrence(
+                                                    this.projectDirectory, deduplicated);
+                                            try {
+                                                this.progressDispatcher.send(
+                                                        new ProgressMessage(
+                                                                ProgressMessageType.DETECTION,
+                                                                new ObjectMapper()
+                                                                        .writeValueAsString(
+                                                                                deduplicated)));
+                                            } catch (JsonProcessingException e) {
+                                                LOGGER.error(e.getMessage());
+                                            } catch (ClientDisconnected e) {
+                                                this.metrics.progressMessagesDropped().increment();
+                                                LOGGER.error(e.getMessage());
+                                            }
+                                        }));
+    }
+
+    /** Resets the per scan state. Must be called by subclasses at the start of every scan. */
+    protected synchronized void beginScan() {
+        this.pendingCacheEntries.clear();
+        this.cacheHits = 0;
+        this.cacheMisses = 0;
+        this.cacheTimeSavedMillis = 0;
+        this.analysisFingerprint =
+                this.findingsCache != null ? AnalysisFingerprint.of(getCacheSettings()) : null;
+        this.timedOutFiles.clear();
+        Optional.ofNullable(this.watchdog).ifPresent(ScanWatchdog::close);
+        this.watchdog = this.scanBudget != null ? new ScanWatchdog(this.scanBudget) : null;
+        this.ruleCosts.clear();
+        this.scanListeners.forEach(IScanListener::scanStarted);
+    }
+
+    @Nonnull
+    private Map<String, String> getCacheSettings() {
+        if (this.enabledRuleGroups == null) {
+            return getAnalysisSettings();
+        }
+        final Map<String, String> settings = new HashMap<>(getAnalysisSettings());
+        settings.put("rules", String.join(",", new TreeSet<>(this.enabledRuleGroups)));
+        return settings;
+    }
+
+    /** The detection rules grouped by library, restricted to the enabled groups. */
+    @Nonnull
+    protected <T> Map<String, List<IDetectionRule<T>>> getRuleGroups(
+            @Nonnull List<IDetectionRule<T>> detectionRules) {
+        return RuleGroups.byLibrary(detectionRules, this.enabledRuleGroups);
+    }
+
+    /** The cost counter of a group of detection rules in the current scan, timed if profiling. */
+    @Nonnull
+    protected RuleCostCounter ruleCostCounter(@Nonnull String group, int rules) {
+        return this.ruleCosts.computeIfAbsent(
+                group, key -> new RuleCostCounter(key, rules, this.profiler != null));
+    }
+
+    /** Cost of the detection rules per library in the last scan, most expensive first. */
+    @Nonnull
+    public List<RuleGroupCost> getRuleGroupCosts() {
+        return this.ruleCosts.values().stream()
+                .map(RuleCostCounter::snapshot)
+                .sorted(Comparator.comparingLong(RuleGroupCost::totalTimeNanos).reversed())
+                .toList();
+    }
+
+    /** Ends a scan that threw, must be called by subclasses before rethrowing. */
+    @Override
+    public void scanFailed(@Nonnull Throwable throwable) {
+        Optional.ofNullable(this.watchdog).ifPresent(ScanWatchdog::close);
+        this.scanListeners.forEach(listener -> listener.scanFailed(throwable));
+    }
+
+    @Override
+    public void moduleStarted(@Nonnull ProjectModule module) {
+        Optional.ofNullable(this.watchdog).ifPresent(ScanWatchdog::moduleStarted);
+        this.scanListeners.forEach(listener -> listener.moduleStarted(module));
+    }
+
+    @Override
+    public void moduleFinished(@Nonnull ProjectModule module) {
+        this.scanListeners.forEach(listener -> listener.moduleFinished(module));
+    }
+
+    @Override
+    public void fileStarted(@Nonnull InputFile inputFile) {
+        if (isAbandonedThread()) {
+            return;
+        }
+        this.fileStartNanos = System.nanoTime();
+        Optional.ofNullable(this.watchdog).ifPresent(w -> w.fileStarted(inputFile));
+        this.scanListeners.forEach(listener -> listener.fileStarted(inputFile));
+    }
+
+    @Override
+    public void fileFinished(@Nonnull InputFile inputFile) {
+        if (isAbandonedThread()) {
+            return;
+        }
+        this.metrics.fileAnalysisTime().recordSince(this.fileStartNanos);
+        this.metrics.filesParsed().increment();
+        Optional.ofNullable(this.watchdog).ifPresent(w -> w.fileFinished(inputFile));
+        this.scanListeners.forEach(listener -> listener.fileFinished(inputFile));
+    }
+
+    @Override
+    public void findingTranslated(@Nonnull List<INode> nodes, long translationNanos) {
+        if (isAbandonedThread()) {
+            return;
+        }
+        this.metrics.translationTime().record(translationNanos);
+        this.scanListeners.forEach(
+                listener -> listener.findingTranslated(nodes, translationNanos));
+    }
+
+    private boolean isAbandonedThread() {
+        final ScanWatchdog currentWatchdog = this.watchdog;
+        return currentWatchdog != null && currentWatchdog.isAbandoned(Thread.currentThread());
+    }
+
+    /**
+     * Analyzes the files one by one within the scan budget and writes the findings of every
+     * completed file to the cache.
+     *
+     * @return the files whose analysis completed
+     */
+    @Nonnull
+    protected List<InputFile> analyzeFiles(
+            @Nonnull ProjectModule module,
+            @Nonnull List<InputFile> inputFiles,
+            @Nonnull Consumer<InputFile> analysis) {
+        final Map<InputFile, Long> analysisMillis = new ConcurrentHashMap<>();
+        final List<InputFile> completed =
+                analyzeWithinBudget(
+                        module,
+                        inputFiles,
+                        batch -> {
+                            for (InputFile inputFile : batch) {
+                                fileStarted(inputFile);
+                                final long fileScanStart = System.currentTimeMillis();
+                                analysis.accept(inputFile);
+                                analysisMillis.put(
+                                        inputFile, System.currentTimeMillis() - fileScanStart);
+                                fileFinished(inputFile);
+                            }
+                        },
+                        null);
+        completed.forEach(
+                inputFile ->
+                        storeCachedFindings(inputFile, analysisMillis.getOrDefault(inputFile, 0L)));
+        return completed;
+    }
+
+    /**
+     * Analyzes the files as one batch within the scan budget and writes the findings of every
+     * completed file to the cache. The analysis must report the progress of every file with {@link
+     * #fileStarted(InputFile)} and {@link #fileFinished(InputFile)}. If a file exceeds the budget,
+     * the batch is restarted with the files not analyzed so far.
+     *
+     * @param onTimeout called when an analysis is abandoned, e.g. to cancel it
+     * @return the files whose analysis completed
+     */
+    @Nonnull
+    protected List<InputFile> analyzeBatch(
+            @Nonnull ProjectModule module,
+            @Nonnull List<InputFile> inputFiles,
+            @Nonnull Consumer<List<InputFile>> batchAnalysis,
+            @Nullable Runnable onTimeout) {
+        this.scanListeners.forEach(listener -> listener.batchStarted(inputFiles));
+        final long batchScanStart = System.currentTimeMillis();
+        final List<InputFile> completed =
+                analyzeWithinBudget(module, inputFiles, batchAnalysis, onTimeout);
+        storeCachedFindings(completed, System.currentTimeMillis() - batchScanStart);
+        this.scanListeners.forEach(listener -> listener.batchFinished(inputFiles));
+        return completed;
+    }
+
+    /**
+     * Analyzes a file that exceeded its budget again in a degraded, cheaper mode.
+     *
+     * @return false if the scanner has no degraded mode
+     */
+    protected boolean analyzeDegraded(@Nonnull ProjectModule module, @Nonnull InputFile inputFile) {
+        return false;
+    }
+
+    protected boolean hasAbandonedAnalyses() {
+        final ScanWatchdog currentWatchdog = this.watchdog;
+        return currentWatchdog != null && currentWatchdog.hasAbandonedAnalyses();
+    }
+
+    @Nonnull
+    private List<InputFile> analyzeWithinBudget(
+            @Nonnull ProjectModule module,
+            @Nonnull List<InputFile> inputFiles,
+            @Nonnull Consumer<List<InputFile>> analysis,
+            @Nullable Runnable onTimeout) {
+        final ScanWatchdog currentWatchdog = this.watchdog;
+        if (currentWatchdog == null) {
+            if (!inputFiles.isEmpty()) {
+                analysis.accept(inputFiles);
+            }
+            return inputFiles;
+        }
+
+        final List<InputFile> completed = new ArrayList<>();
+        final Deque<List<InputFile>> pending = new ArrayDeque<>();
+        pending.add(inputFiles);
+        while (!pending.isEmpty()) {
+            final List<InputFile> batch = pending.poll();
+            if (batch.isEmpty()) {
+                continue;
+            }
+            if (currentWatchdog.isModuleBudgetExceeded()) {
+                pending.addFirst(batch);
+                pending.forEach(
+                        remaining ->
+                                remaining.forEach(
+                                        inputFile ->
+                                                recordTimeout(
+                                                        module,
+                                                        inputFile,
+                                                        TimedOutFile.Reason.MODULE_BUDGET_EXCEEDED,
+                                                        0,
+                                                        false)));
+                break;
+            }
+            final Optional<ScanWatchdog.Timeout> timeout =
+                    currentWatchdog.run(() -> analysis.accept(batch), onTimeout);
+            if (timeout.isEmpty()) {
+                completed.addAll(batch);
+                continue;
+            }
+
+            batch.stream().filter(currentWatchdog::isFinished).forEach(completed::add);
+            final List<InputFile> unfinished =
+                    batch.stream()
+                            .filter(inputFile -> !currentWatchdog.isFinished(inputFile))
+                            .toList();
+            if (unfinished.isEmpty()) {
+                continue;
+            }
+            InputFile timedOut =
+                    Optional.ofNullable(timeout.get().file())
+                            .filter(unfinished::contains)
+                            .orElse(null);
+            if (timedOut == null) {
+                if (timeout.get().reason() == TimedOutFile.Reason.MODULE_BUDGET_EXCEEDED) {
+                    // recorded as module timeouts at the start of the next iteration
+                    pending.addFirst(unfinished);
+                    continue;
+                }
+                // no file was being analyzed, e.g. between files: analyze the halves
+                // separately instead of blaming a file that may be healthy
+                if (unfinished.size() > 1) {
+                    final int half = unfinished.size() / 2;
+                    pending.addFirst(unfinished.subList(half, unfinished.size()));
+                    pending.addFirst(unfinished.subList(0, half));
+                    continue;
+                }
+                timedOut = unfinished.get(0);
+            }
+            final InputFile blamed = timedOut;
+            boolean analyzedDegraded = false;
+            if (timeout.get().reason() == TimedOutFile.Reason.FILE_BUDGET_EXCEEDED
+                    && currentWatchdog.getBudget().retryDegraded()) {
+                discardCachedFindings(blamed);
+                final AtomicBoolean degraded = new AtomicBoolean();
+                // the degraded analysis reports no progress, bound it by the file budget
+                analyzedDegraded =
+                        currentWatchdog
+                                        .runFile(
+                                                blamed,
+                                                () ->
+                                                        degraded.set(
+                                                                analyzeDegraded(module, blamed)),
+                                                null)
+                                        .isEmpty()
+                                && degraded.get();
+            }
+            recordTimeout(
+                    module,
+                    blamed,
+                    timeout.get().reason(),
+                    timeout.get().elapsedMillis(),
+                    analyzedDegraded);
+            pending.addFirst(
+                    unfinished.stream().filter(inputFile -> !inputFile.equals(blamed)).toList());
+        }
+        return completed;
+    }
+
+    private synchronized void recordTimeout(
+            @Nonnull ProjectModule module,
+            @Nonnull InputFile inputFile,
+            @Nonnull TimedOutFile.Reason reason,
+            long elapsedMillis,
+            boolean analyzedDegraded) {
+        // findings of the abandoned analysis are incomplete, never cache them
+        discardCachedFindings(inputFile);
+        LOGGER.warn(
+                "Analysis of {} in project {} exceeded the time budget ({}), {}",
+                inputFile,
+                module.identifier(),
+                reason,
+                analyzedDegraded ? "analyzed in degraded mode" : "skipped");
+        this.timedOutFiles.add(
+                new TimedOutFile(
+                        module.identifier(),
+                        inputFile.toString(),
+                        reason,
+                        elapsedMillis,
+                        analyzedDegraded));
+    }
+
+    private void discardCachedFindings(@Nonnull InputFile inputFile) {
+        this.pendingCacheEntries.remove(normalizedPath(inputFile));
+    }
+
+    /**
+     * Looks up the findings of the file in the cache.
+     *
+     * @return true if the findings were replayed from the cache and the file does not need to be
+     *     analyzed, false if the file must be analyzed. In the latter case the findings of the
+     *     file are captured and must be stored with {@link #storeCachedFindings(InputFile, long)}.
+     */
+    protected synchronized boolean replayCachedFindings(@Nonnull InputFile inputFile) {
+        if (this.findingsCache == null || this.analysisFingerprint == null) {
+            return false;
+        }
+        final String key;
+        try {
+            key = this.analysisFingerprint.keyFor(contentHash(inputFile));
+        } catch (IOException e) {
+            LOGGER.debug("Cannot compute cache key of {}: {}", inputFile, e.getMessage());
+            return false;
+        }
+
+        final Optional<CachedFindings> cached = this.findingsCache.get(key);
+        if (cached.isEmpty()) {
+            this.cacheMisses++;
+            this.pendingCacheEntries.put(normalizedPath(inputFile), new CachedFindingsBuilder(key));
+            return false;
+        }
+
+        this.cacheHits++;
+        this.cacheTimeSavedMillis += cached.get().analysisTimeMillis();
+        final String location = inputFile.absolutePath();
+        cached.get().components().stream()
+                .map(Component::getEvidence)
+                .filter(Objects::nonNull)
+                .map(Evidence::getOccurrences)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .forEach(occurrence -> occurrence.setLocation(location));
+        this.replayedFindings.put(normalizedPath(inputFile), cached.get());
+        if (this.progressDispatcher != null) {
+            // deduplication and sanitizing modify the components, dispatch copies
+            dispatchDetections(
+                    cached.get().components().stream()
+                            .map(component -> CACHE_MAPPER.convertValue(component, Component.class))
+                            .toList());
+        }
+        return true;
+    }
+
+    /** Writes the findings captured while analyzing the file to the cache. */
+    protected synchronized void storeCachedFindings(
+            @Nonnull InputFile inputFile, long analysisTimeMillis) {
+        final CachedFindingsBuilder builder =
+                this.pendingCacheEntries.remove(normalizedPath(inputFile));
+        if (builder != null && this.findingsCache != null) {
+            this.findingsCache.put(builder.key, builder.build(analysisTimeMillis));
+        }
+    }
+
+    /**
+     * Writes the findings captured while analyzing the files to the cache. The analysis time is
+     * attributed to the files proportionally to their number of lines.
+     */
+    protected synchronized void storeCachedFindings(
+            @Nonnull List<InputFile> inputFiles, long analysisTimeMillis) {
+        final long totalLines = inputFiles.stream().mapToLong(InputFile::lines).sum();
+        for (InputFile inputFile : inputFiles) {
+            final long share =
+                    totalLines == 0
+                            ? analysisTimeMillis / inputFiles.size()
+                            : analysisTimeMillis * inputFile.lines() / totalLines;
+            storeCachedFindings(inputFile, share);
+        }
+    }
+
+    @Nullable protected synchronized CacheStatistics getCacheStatistics() {
+        if (this.findingsCache == null) {
+            return null;
+        }
+        // complete the write-behind to shared caches before reporting
+        this.findingsCache.flush();
+        return new CacheStatistics(this.cacheHits, this.cacheMisses, this.cacheTimeSavedMillis);
+    }
+
+    @Nonnull
+    protected ScanResultDTO createScanResult(
+            long scanTimeStart, int numberOfScannedLines, int numberOfScannedFiles) {
+        Optional.ofNullable(this.watchdog).ifPresent(ScanWatchdog::close);
+        final ScanResultDTO scanResult =
+                new ScanResultDTO(
+                        scanTimeStart,
+                        System.currentTimeMillis(),
+                        numberOfScannedLines,
+                        numberOfScannedFiles,
+                        this.getBOM().map(CBOM::new).orElse(null),
+                        this.getCacheStatistics(),
+                        List.copyOf(this.timedOutFiles),
+                        Optional.ofNullable(this.profiler)
+                                .map(ScanProfiler::getReport)
+                                .orElse(null),
+                        this.getRuleGroupCosts());
+        this.scanListeners.forEach(listener -> listener.scanFinished(scanResult));
+        return scanResult;
+    }
+
+    // Split the translated components by the file of their occurrences
+    private void captureFindings(@Nonnull Bom bom) {
+        if (bom.getComponents() == null) {
+            return;
+        }
+        final Map<String, List<CachedFindingsBuilder>> buildersByRef = new HashMap<>();
+        for (Component component : bom.getComponents()) {
+            final List<Occurrence> occurrences =
+                    Optional.ofNullable(component.getEvidence())
+                            .map(Evidence::getOccurrences)
+                            .orElse(Collections.emptyList());
+            final Map<CachedFindingsBuilder, List<Occurrence>> occurrencesByFile =
+                    new LinkedHashMap<>();
+            for (Occurrence occurrence : occurrences) {
+                Optional.ofNullable(occurrence.getLocation())
+                        .flatMap(ScannerService::normalizedPath)
+                        .map(this.pendingCacheEntries::get)
+                        .ifPresent(
+                                builder ->
+                                        occurrencesByFile
+                                                .computeIfAbsent(builder, b -> new ArrayList<>())
+                                                .add(withoutLocation(occurrence)));
+            }
+            occurrencesByFile.forEach(
+                    (builder, fileOccurrences) -> {
+                        final Component copy =
+                                CACHE_MAPPER.convertValue(component, Component.class);
+                        copy.getEvidence().setOccurrences(fileOccurrences);
+                        builder.components.add(copy);
+                        if (component.getBomRef() != null) {
+                            buildersByRef
+                                    .computeIfAbsent(
+                                            component.getBomRef(), ref -> new ArrayList<>())
+                                    .add(builder);
+                        }
+                    });
+        }
+        if (bom.getDependencies() == null) {
+            return;
+        }
+        for (Dependency dependency : bom.getDependencies()) {
+            if (dependency.getDependencies() == null) {
+                continue;
+            }
+            for (CachedFindingsBuilder builder :
+                    buildersByRef.getOrDefault(dependency.getRef(), List.of())) {
+                final Set<String> dependsOn =
+                        builder.dependencies.computeIfAbsent(
+                                dependency.getRef(), ref -> new LinkedHashSet<>());
+                dependency.getDependencies().stream()
+                        .map(Dependency::getRef)
+                        .forEach(dependsOn::add);
             }
         }
     }
 
+    @Nonnull
+    private static Occurrence withoutLocation(@Nonnull Occurrence occurrence) {
+        final Occurrence copy = CACHE_MAPPER.convertValue(occurrence, Occurrence.class);
+        copy.setLocation(null);
+        return copy;
+    }
+
+    @Nonnull
+    private static String contentHash(@Nonnull InputFile inputFile) throws IOException {
+        final Charset charset =
+                Optional.ofNullable(inputFile.charset()).orElse(Charset.defaultCharset());
+        return AnalysisFingerprint.sha256(inputFile.contents().getBytes(charset));
+    }
+
+    @Nonnull
+    private static Path normalizedPath(@Nonnull InputFile inputFile) {
+        return Paths.get(inputFile.absolutePath()).toAbsolutePath().normalize();
+    }
+
+    @Nonnull
+    private static Optional<Path> normalizedPath(@Nonnull String location) {
+        try {
+            return Optional.of(Paths.get(location).toAbsolutePath().normalize());
+        } catch (InvalidPathException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static final class CachedFindingsBuilder {
+        @Nonnull private final String key;
+        @Nonnull private final List<Component> components = new ArrayList<>();
+        @Nonnull private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+        private CachedFindingsBuilder(@Nonnull String key) {
+            this.key = key;
+        }
+
+        // only keep dependencies between components of this file
+        @Nonnull
+        private CachedFindings build(long analysisTimeMillis) {
+            final Set<String> refs = new HashSet<>();
+            components.stream()
+                    .map(Component::getBomRef)
+                    .filter(Objects::nonNull)
+                    .forEach(refs::add);
+            final Map<String, List<String>> fileDependencies = new LinkedHashMap<>();
+            dependencies.forEach(
+                    (ref, dependsOn) -> {
+                        final List<String> resolved =
+                                dependsOn.stream().filter(refs::contains).toList();
+                        if (!resolved.isEmpty()) {
+                            fileDependencies.put(ref, resolved);
+                        }
+                    });
+            return new CachedFindings(components, fileDependencies, analysisTimeMillis);
+        }
+    }
+
     // Fix for #268: A finding is a cryptoProperties object at a particular
     // location.
     // A single component may therefore represent multiple findings.
@@ -121,6 +796,8 @@ public abstract class ScannerService implements IScannerService {
                                 if (!this.findings.contains(findingId)) {
                                     deduplicated.add(occurrence);
                                     this.findings.add(findingId);
+                                } else {
+                                    this.metrics.duplicateFindings().increment();
                                 }
                             });
             if (!deduplicated.isEmpty()) {
@@ -133,9 +810,15 @@ public abstract class ScannerService implements IScannerService {
 
     @Nonnull
     protected synchronized Optional<Bom> getBOM() {
-        final Bom bom = this.cbomOutputFile.getBom();
+        final Bom bom;
+        synchronized (this.cbomOutputFile) {
+            bom = this.cbomOutputFile.getBom();
+        }
+        addReplayedFindings(bom);
         // sanitizeOccurrence
         bom.getComponents().forEach(component -> sanitizeOccurrence(projectDirectory, component));
+        Optional.ofNullable(this.occurrenceCompactor)
+                .ifPresent(compactor -> compactor.compact(new CBOM(bom)));
         // reset scanner
         final com.ibm.plugin.ScannerManager scannerMgr =
                 new com.ibm.plugin.ScannerManager(IOutputFileFactory.DEFAULT);
@@ -144,6 +827,30 @@ public abstract class ScannerService implements IScannerService {
         return Optional.of(bom);
     }
 
+    // Merges the replayed components into the analyzed ones by asset identity, as the analysis
+    // of the same files would have produced one component per asset
+    private void addReplayedFindings(@Nonnull Bom bom) {
+        if (this.replayedFindings.isEmpty()) {
+            return;
+        }
+        final CBOMMerger merger = new CBOMMerger().add(bom);
+        for (CachedFindings cached : this.replayedFindings.values()) {
+            final Bom replayed = new Bom();
+            replayed.setComponents(new ArrayList<>(cached.components()));
+            cached.dependencies()
+                    .forEach(
+                            (ref, dependsOn) -> {
+                                final Dependency dependency = new Dependency(ref);
+                                dependsOn.forEach(
+                                        target -> dependency.addDependency(new Dependency(target)));
+                                replayed.addDependency(dependency);
+                            });
+            merger.add(replayed);
+        }
+        merger.writeTo(bom);
+        this.replayedFindings.clear();
+    }
+
     public static void sanitizeOccurrence(
             @Nonnull final File baseDirectory, @Nonnull Component component) {
         List<Occurrence> occurrenceList =
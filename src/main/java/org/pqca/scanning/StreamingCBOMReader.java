@@ -0,0 +1,263 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPInputStream;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Dependency;
+import org.cyclonedx.model.Metadata;
+import org.pqca.errors.CBOMSerializationFailed;
+
+/**
+ * Reads a CycloneDX JSON document, or one in a binary {@link CBOMFormat}, in a single pass,
+ * binding one component or dependency at a time, so that CBOMs larger than the heap can be
+ * processed. Gzip compressed input is detected.
+ *
+ * <p>Sections are read in document order. Top-level fields before a requested section are
+ * skipped, except for the metadata, which is kept. Documents written by {@link CBOM} and {@link
+ * StreamingCBOMWriter} have the metadata first, then the components and then the dependencies.
+ *
+ * <pre>
+ * try (StreamingCBOMReader reader = StreamingCBOMReader.open(path)) {
+ *     Metadata metadata = reader.getMetadata();
+ *     for (Component component : reader.components()) { ... }
+ *     for (Dependency dependency : reader.dependencies()) { ... }
+ * }
+ * </pre>
+ */
+public final class StreamingCBOMReader implements Closeable {
+    private static final String COMPONENTS = "components";
+    private static final String DEPENDENCIES = "dependencies";
+
+    @Nonnull private final JsonParser parser;
+    @Nullable private Metadata metadata;
+    @Nullable private String specVersion;
+    // the top-level field whose value the parser is positioned at, if not yet consumed
+    @Nullable private String pendingField;
+    // state of the components or dependencies being iterated
+    private boolean inArray;
+    @Nullable private JsonToken lookahead;
+    private boolean finished;
+
+    public StreamingCBOMReader(@Nonnull InputStream inputStream) throws CBOMSerializationFailed {
+        this(inputStream, CBOMFormat.JSON);
+    }
+
+    public StreamingCBOMReader(@Nonnull InputStream inputStream, @Nonnull CBOMFormat format)
+            throws CBOMSerializationFailed {
+        try {
+            this.parser = format.getFactory().createParser(decompress(inputStream));
+            parser.setCodec(CBOMMappers.READER);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new CBOMSerializationFailed(
+                        new IOException("Expected a JSON object at " + parser.currentLocation()));
+            }
+        } catch (IOException e) {
+            throw new CBOMSerializationFailed(e);
+        }
+    }
+
+    @Nonnull
+    public static StreamingCBOMReader open(@Nonnull Path path) throws CBOMSerializationFailed {
+        return open(path, CBOMFormat.JSON);
+    }
+
+    @Nonnull
+    public static StreamingCBOMReader open(@Nonnull Path path, @Nonnull CBOMFormat format)
+            throws CBOMSerializationFailed {
+        try {
+            return new StreamingCBOMReader(Files.newInputStream(path), format);
+        } catch (IOException e) {
+            throw new CBOMSerializationFailed(e);
+        }
+    }
+
+    @Nonnull
+    private static InputStream decompress(@Nonnull InputStream inputStream) throws IOException {
+        final BufferedInputStream buffered = new BufferedInputStream(inputStream, 64 * 1024);
+        buffered.mark(2);
+        final int first = buffered.read();
+        final int second = buffered.read();
+        buffered.reset();
+        if (first == 0x1f && second == 0x8b) {
+            return new GZIPInputStream(buffered, 64 * 1024);
+        }
+        return buffered;
+    }
+
+    /**
+     * The metadata of the document, if it precedes the components and dependencies, or if those
+     * were iterated.
+     */
+    @Nullable public Metadata getMetadata() throws CBOMSerializationFailed {
+        if (metadata == null) {
+            advanceTo(null);
+        }
+        return metadata;
+    }
+
+    @Nullable public String getSpecVersion() throws CBOMSerializationFailed {
+        if (specVersion == null) {
+            advanceTo(null);
+        }
+        return specVersion;
+    }
+
+    /** The top-level components, bound one at a time. */
+    @Nonnull
+    public Iterable<Component> components() throws CBOMSerializationFailed {
+        return elements(COMPONENTS, Component.class);
+    }
+
+    /** The dependencies, bound one at a time. Components not yet iterated are skipped. */
+    @Nonnull
+    public Iterable<Dependency> dependencies() throws CBOMSerializationFailed {
+        return elements(DEPENDENCIES, Dependency.class);
+    }
+
+    @Nonnull
+    private <T> Iterable<T> elements(@Nonnull String field, @Nonnull Class<T> type)
+            throws CBOMSerializationFailed {
+        if (!advanceTo(field)) {
+            return List.of();
+        }
+        pendingField = null;
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            skipValue();
+            return List.of();
+        }
+        inArray = true;
+        lookahead = null;
+        final Iterator<T> iterator =
+                new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        try {
+                            return peek() != JsonToken.END_ARRAY;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+
+                    @Override
+                    public T next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        lookahead = null;
+                        try {
+                            return CBOMMappers.READER.readValue(parser, type);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                };
+        return () -> iterator;
+    }
+
+    /** The next token of the array being iterated, {@code END_ARRAY} once it is consumed. */
+    @Nonnull
+    private JsonToken peek() throws IOException {
+        if (!inArray) {
+            return JsonToken.END_ARRAY;
+        }
+        if (lookahead == null) {
+            lookahead = parser.nextToken();
+            if (lookahead == JsonToken.END_ARRAY || lookahead == null) {
+                inArray = false;
+                return JsonToken.END_ARRAY;
+            }
+        }
+        return lookahead;
+    }
+
+    /**
+     * Moves the parser to the value of the given top-level field. The metadata is kept, other
+     * fields are skipped. Without a field, stops before the first components or dependencies,
+     * so that they can still be iterated.
+     *
+     * @return whether the field was found
+     */
+    private boolean advanceTo(@Nullable String field) throws CBOMSerializationFailed {
+        try {
+            // skip the rest of an array that was not iterated to its end
+            while (peek() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+                lookahead = null;
+            }
+            while (!finished) {
+                if (pendingField == null) {
+                    if (parser.nextToken() != JsonToken.FIELD_NAME) {
+                        finished = true;
+                        break;
+                    }
+                    pendingField = parser.currentName();
+                    parser.nextToken();
+                }
+                if (pendingField.equals(field)) {
+                    return true;
+                }
+                final boolean section =
+                        COMPONENTS.equals(pendingField) || DEPENDENCIES.equals(pendingField);
+                if (section && field == null) {
+                    return false;
+                }
+                if ("metadata".equals(pendingField)) {
+                    metadata = CBOMMappers.READER.readValue(parser, Metadata.class);
+                } else if ("specVersion".equals(pendingField)) {
+                    specVersion = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+                pendingField = null;
+            }
+            return false;
+        } catch (IOException e) {
+            throw new CBOMSerializationFailed(e);
+        }
+    }
+
+    private void skipValue() throws CBOMSerializationFailed {
+        try {
+            parser.skipChildren();
+        } catch (IOException e) {
+            throw new CBOMSerializationFailed(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+import org.cyclonedx.model.Bom;
+import org.pqca.errors.CBOMSerializationFailed;
+import org.pqca.jfr.CBOMSerializationEvent;
+import org.pqca.tracing.Span;
+import org.pqca.tracing.Tracer;
+
+/**
+ * Writes a CBOM as CycloneDX 1.6 JSON in UTF-8, or in a binary {@link CBOMFormat}, to a stream,
+ * optionally gzip compressed. The document is generated token by token, component by component,
+ * with the object mapper of the CycloneDX generator, so no String of the whole document is created
+ * and the memory needed for serialization does not grow with the size of the CBOM.
+ */
+public final class StreamingCBOMWriter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Nonnull private CBOMFormat format = CBOMFormat.JSON;
+    private boolean gzip;
+    private boolean prettyPrint = true;
+    private boolean canonical;
+    @Nullable private Tracer tracer;
+    @Nullable private Span parentSpan;
+
+    @Nonnull
+    public CBOMFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(@Nonnull CBOMFormat format) {
+        this.format = format;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    // compress the output with gzip
+    public void setGzip(boolean gzip) {
+        this.gzip = gzip;
+    }
+
+    public boolean isPrettyPrint() {
+        return prettyPrint;
+    }
+
+    // indent JSON output as CBOM.write does, disable for compact output
+    public void setPrettyPrint(boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+    }
+
+    public boolean isCanonical() {
+        return canonical;
+    }
+
+    // sort the CBOM with CBOM.canonicalize before writing, so equal findings give equal bytes
+    public void setCanonical(boolean canonical) {
+        this.canonical = canonical;
+    }
+
+    // Records a "serialize" span per write, as child of the given span if there is one.
+    public void setTracer(@Nullable Tracer tracer, @Nullable Span parentSpan) {
+        this.tracer = tracer;
+        this.parentSpan = parentSpan;
+    }
+
+    /**
+     * Writes the CBOM to the stream, which is flushed but not closed.
+     *
+     * @return the number of bytes written to the stream
+     */
+    public long write(@Nonnull CBOM cbom, @Nonnull OutputStream outputStream)
+            throws CBOMSerializationFailed {
+        final CBOMSerializationEvent event = new CBOMSerializationEvent();
+        event.begin();
+        final Span span = tracer != null ? tracer.startSpan("serialize", parentSpan) : null;
+        final CountingOutputStream counting = new CountingOutputStream(outputStream);
+        boolean written = false;
+        try {
+            if (canonical) {
+                cbom.canonicalize();
+            }
+            // closing the gzip stream finishes it and releases the deflater, the counting
+            // stream only flushes the stream of the caller
+            try (OutputStream target =
+                    gzip ? new GZIPOutputStream(counting, BUFFER_SIZE) : counting) {
+                writeJson(cbom.cycloneDXbom(), target);
+            } catch (IOException e) {
+                throw new CBOMSerializationFailed(e);
+            }
+            written = true;
+        } finally {
+            cbom.end(span, operation(), counting.count, !written);
+        }
+        cbom.commit(event, operation(), counting.count);
+        return counting.count;
+    }
+
+    /** Writes the CBOM to the channel, which is not closed. */
+    public long write(@Nonnull CBOM cbom, @Nonnull WritableByteChannel channel)
+            throws CBOMSerializationFailed {
+        // the stream of a channel closes the channel, so it is only flushed
+        return write(cbom, Channels.newOutputStream(channel));
+    }
+
+    /** Writes the CBOM to the file, replacing an existing file. */
+    public long write(@Nonnull CBOM cbom, @Nonnull Path path) throws CBOMSerializationFailed {
+        try (OutputStream outputStream =
+                new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE)) {
+            return write(cbom, outputStream);
+        } catch (IOException e) {
+            throw new CBOMSerializationFailed(e);
+        }
+    }
+
+    @Nonnull
+    private String operation() {
+        final String operation =
+                format == CBOMFormat.JSON
+                        ? "write"
+                        : "write-" + format.name().toLowerCase(Locale.ROOT);
+        return gzip ? operation + "-gzip" : operation;
+    }
+
+    private void writeJson(@Nonnull Bom bom, @Nonnull OutputStream outputStream)
+            throws IOException {
+        ObjectWriter writer = CBOMMappers.serializer().writer();
+        if (prettyPrint && format == CBOMFormat.JSON) {
+            writer = writer.withDefaultPrettyPrinter();
+        }
+        final JsonGenerator generator =
+                format.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        // the caller owns the stream
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (generator) {
+            writer.writeValue(generator, CBOMMappers.prepare(bom));
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(@Nonnull OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(@Nonnull byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            // never close the stream of the caller
+            flush();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.cache;
+
+import jakarta.annotation.Nonnull;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Identifies everything besides the file content that influences the findings of a file: the
+ * library and plugin versions, the language and the scanner settings (e.g. the classpath). Cache
+ * entries written under a different fingerprint are never replayed.
+ */
+public record AnalysisFingerprint(@Nonnull String value) {
+
+    @Nonnull
+    public static AnalysisFingerprint of(@Nonnull Map<String, String> settings) {
+        final Map<String, String> entries = new TreeMap<>(settings);
+        entries.put("cbomkit.version", implementationVersion(AnalysisFingerprint.class));
+        entries.put(
+                "sonar.crypto.plugin.version",
+                implementationVersion(com.ibm.plugin.ScannerManager.class));
+
+        final StringBuilder builder = new StringBuilder();
+        entries.forEach((key, value) -> builder.append(key).append('=').append(value).append('\n'));
+        return new AnalysisFingerprint(sha256(builder.toString()));
+    }
+
+    @Nonnull
+    public String keyFor(@Nonnull String contentHash) {
+        return sha256(value + ":" + contentHash);
+    }
+
+    @Nonnull
+    public static String sha256(@Nonnull String content) {
+        return sha256(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nonnull
+    public static String sha256(@Nonnull byte[] content) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Nonnull
+    private static String implementationVersion(@Nonnull Class<?> clazz) {
+        return Optional.ofNullable(clazz.getPackage())
+                .map(Package::getImplementationVersion)
+                .orElse("unknown");
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.cache;
+
+import jakarta.annotation.Nonnull;
+import java.util.List;
+import java.util.Map;
+import org.cyclonedx.model.Component;
+
+/**
+ * The translated findings of a single file. Occurrence locations are not stored, since the same
+ * content may be found at a different path; they are restored when the entry is replayed.
+ *
+ * @param components the components detected in the file
+ * @param dependencies bom-ref to the bom-refs it depends on
+ * @param analysisTimeMillis the time it took to analyze the file
+ */
+public record CachedFindings(
+        @Nonnull List<Component> components,
+        @Nonnull Map<String, List<String>> dependencies,
+        long analysisTimeMillis) {}
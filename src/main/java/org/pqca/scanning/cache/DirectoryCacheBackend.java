@@ -0,0 +1,90 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.cache;
+
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Stores cache entries as files in a directory. Entries are written to a uniquely named temporary
+ * file and renamed into place, so the directory can be shared between processes and hosts (e.g.
+ * on NFS) without locking: a reader sees either no entry or a complete one.
+ */
+public final class DirectoryCacheBackend implements IFindingsCacheBackend {
+
+    @Nonnull private final Path directory;
+
+    public DirectoryCacheBackend(@Nonnull Path directory) {
+        this.directory = directory;
+    }
+
+    @Nonnull
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    @Nonnull
+    public Optional<byte[]> get(@Nonnull String key) throws IOException {
+        try {
+            return Optional.of(Files.readAllBytes(entryPath(key)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void put(@Nonnull String key, @Nonnull byte[] value) throws IOException {
+        final Path entry = entryPath(key);
+        if (Files.exists(entry)) {
+            // entries are content-addressed, an existing entry has the same content
+            return;
+        }
+        Files.createDirectories(entry.getParent());
+        final Path tmp = Files.createTempFile(entry.getParent(), "." + key, ".tmp");
+        try {
+            Files.write(tmp, value);
+            try {
+                Files.move(tmp, entry, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, entry);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // written concurrently by another process
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Nonnull
+    private Path entryPath(@Nonnull String key) {
+        if (key.length() < 3 || !key.chars().allMatch(Character::isLetterOrDigit)) {
+            throw new IllegalArgumentException("Invalid cache key " + key);
+        }
+        return directory.resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+}
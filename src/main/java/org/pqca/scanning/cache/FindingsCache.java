@@ -0,0 +1,153 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent per-file findings cache. Entries are keyed by the hash of the file content combined
+ * with the {@link AnalysisFingerprint} of the scan, so an unchanged file analyzed with the same
+ * settings does not have to be parsed again.
+ *
+ * <p>The cache is layered over one or more {@link IFindingsCacheBackend}s, fastest first. Lookups
+ * read through the layers and copy a hit into the faster layers. Writes go to the first layer
+ * immediately and to the remaining (shared) layers in the background; {@link #flush()} waits for
+ * the pending writes. Backend failures are logged and treated as cache misses.
+ */
+public class FindingsCache implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FindingsCache.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Nonnull private final List<IFindingsCacheBackend> backends;
+    @Nonnull private ExecutorService writeBehindExecutor;
+
+    public FindingsCache(@Nonnull Path directory) {
+        this(new DirectoryCacheBackend(directory));
+    }
+
+    public FindingsCache(
+            @Nonnull IFindingsCacheBackend local, @Nonnull IFindingsCacheBackend... shared) {
+        this.backends = Stream.concat(Stream.of(local), Arrays.stream(shared)).toList();
+        this.writeBehindExecutor = newWriteBehindExecutor();
+    }
+
+    @Nonnull
+    public Optional<CachedFindings> get(@Nonnull String key) {
+        for (int layer = 0; layer < backends.size(); layer++) {
+            final Optional<byte[]> content = read(backends.get(layer), key);
+            if (content.isEmpty()) {
+                continue;
+            }
+            try {
+                final CachedFindings findings =
+                        MAPPER.readValue(content.get(), CachedFindings.class);
+                // read-through: populate the faster layers
+                for (int faster = 0; faster < layer; faster++) {
+                    write(backends.get(faster), key, content.get());
+                }
+                return Optional.of(findings);
+            } catch (IOException e) {
+                LOGGER.warn("Ignoring unreadable cache entry {}: {}", key, e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public void put(@Nonnull String key, @Nonnull CachedFindings findings) {
+        final byte[] content;
+        try {
+            content = MAPPER.writeValueAsBytes(findings);
+        } catch (IOException e) {
+            LOGGER.warn("Could not serialize cache entry {}: {}", key, e.getMessage());
+            return;
+        }
+        write(backends.get(0), key, content);
+        // write-behind to the shared layers
+        synchronized (this) {
+            for (IFindingsCacheBackend backend : backends.subList(1, backends.size())) {
+                writeBehindExecutor.execute(() -> write(backend, key, content));
+            }
+        }
+    }
+
+    /** Waits until all pending background writes are completed. */
+    public synchronized void flush() {
+        if (backends.size() == 1) {
+            return;
+        }
+        writeBehindExecutor.shutdown();
+        try {
+            if (!writeBehindExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOGGER.warn("Timeout while writing findings to the shared cache");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeBehindExecutor = newWriteBehindExecutor();
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        writeBehindExecutor.shutdown();
+    }
+
+    @Nonnull
+    private static Optional<byte[]> read(
+            @Nonnull IFindingsCacheBackend backend, @Nonnull String key) {
+        try {
+            return backend.get(key);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not read cache entry {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static void write(
+            @Nonnull IFindingsCacheBackend backend, @Nonnull String key, @Nonnull byte[] content) {
+        try {
+            backend.put(key, content);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not write cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Nonnull
+    private static ExecutorService newWriteBehindExecutor() {
+        return Executors.newSingleThreadExecutor(
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "findings-cache-write-behind");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.cache;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Remote cache backend speaking a minimal HTTP protocol: {@code GET <baseUri>/<key>} answers 200
+ * with the entry or 404, {@code PUT <baseUri>/<key>} stores the request body. Any static file
+ * server with upload support, or {@link HttpCacheServer}, can act as the remote cache. If a token
+ * is given, it is sent as {@code Authorization: Bearer <token>}.
+ */
+public final class HttpCacheBackend implements IFindingsCacheBackend {
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    @Nonnull private final URI baseUri;
+    @Nonnull private final Duration timeout;
+    @Nonnull private final HttpClient httpClient;
+    @Nullable private final String token;
+
+    public HttpCacheBackend(@Nonnull URI baseUri) {
+        this(baseUri, DEFAULT_TIMEOUT);
+    }
+
+    public HttpCacheBackend(@Nonnull URI baseUri, @Nonnull Duration timeout) {
+        this(baseUri, timeout, null);
+    }
+
+    public HttpCacheBackend(
+            @Nonnull URI baseUri, @Nonnull Duration timeout, @Nullable String token) {
+        this.baseUri = baseUri.toString().endsWith("/") ? baseUri : URI.create(baseUri + "/");
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.token = token;
+    }
+
+    @Override
+    @Nonnull
+    public Optional<byte[]> get(@Nonnull String key) throws IOException {
+        final HttpRequest request = newRequest(key).GET().build();
+        final HttpResponse<byte[]> response = send(request);
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException(
+                    "GET " + request.uri() + " failed with status " + response.statusCode());
+        }
+        return Optional.of(response.body());
+    }
+
+    @Override
+    public void put(@Nonnull String key, @Nonnull byte[] value) throws IOException {
+        final HttpRequest request =
+                newRequest(key).PUT(HttpRequest.BodyPublishers.ofByteArray(value)).build();
+        final HttpResponse<byte[]> response = send(request);
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(
+                    "PUT " + request.uri() + " failed with status " + response.statusCode());
+        }
+    }
+
+    @Nonnull
+    private HttpResponse<byte[]> send(@Nonnull HttpRequest request) throws IOException {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while requesting " + request.uri(), e);
+        }
+    }
+
+    @Nonnull
+    private HttpRequest.Builder newRequest(@Nonnull String key) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(entryUri(key)).timeout(timeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    @Nonnull
+    private URI entryUri(@Nonnull String key) {
+        return baseUri.resolve(key);
+    }
+}
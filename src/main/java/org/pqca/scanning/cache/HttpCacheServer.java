@@ -0,0 +1,152 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.cache;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Minimal stand-in server for the {@link HttpCacheBackend} protocol, storing entries in a {@link
+ * DirectoryCacheBackend}. Intended for tests and small deployments.
+ *
+ * <p>The server listens on the loopback interface unless it is given a bind address. As anyone who
+ * can reach it may write cache entries that are replayed into CBOMs, a server exposed on other
+ * interfaces should require a token, which clients send as {@code Authorization: Bearer <token>}.
+ */
+public final class HttpCacheServer implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpCacheServer.class);
+    private static final String CONTEXT = "/cache/";
+
+    @Nonnull private final IFindingsCacheBackend storage;
+    @Nonnull private final HttpServer server;
+    @Nonnull private final ExecutorService executor;
+    @Nullable private final byte[] expectedAuthorization;
+
+    /** Listens on the given port of the loopback interface, without authentication. */
+    public HttpCacheServer(@Nonnull IFindingsCacheBackend storage, int port) throws IOException {
+        this(storage, new InetSocketAddress(InetAddress.getLoopbackAddress(), port), null);
+    }
+
+    /**
+     * Listens on the given address. If a token is given, requests without the matching bearer
+     * token are rejected with 401.
+     */
+    public HttpCacheServer(
+            @Nonnull IFindingsCacheBackend storage,
+            @Nonnull InetSocketAddress bindAddress,
+            @Nullable String token)
+            throws IOException {
+        this.storage = storage;
+        this.expectedAuthorization =
+                token != null ? ("Bearer " + token).getBytes(StandardCharsets.UTF_8) : null;
+        this.server = HttpServer.create(bindAddress, 0);
+        this.server.createContext(CONTEXT, this::handle);
+        this.executor = Executors.newCachedThreadPool();
+        this.server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        LOGGER.info("Findings cache server listening on {}", getBaseUri());
+    }
+
+    @Nonnull
+    public URI getBaseUri() {
+        final InetSocketAddress address = server.getAddress();
+        final InetAddress host =
+                address.getAddress().isAnyLocalAddress()
+                        ? InetAddress.getLoopbackAddress()
+                        : address.getAddress();
+        try {
+            return new URI(
+                    "http", null, host.getHostAddress(), address.getPort(), CONTEXT, null, null);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private boolean isAuthorized(@Nonnull HttpExchange exchange) {
+        if (expectedAuthorization == null) {
+            return true;
+        }
+        final String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        // constant time, the token is a secret
+        return authorization != null
+                && MessageDigest.isEqual(
+                        expectedAuthorization, authorization.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handle(@Nonnull HttpExchange exchange) throws IOException {
+        try {
+            if (!isAuthorized(exchange)) {
+                exchange.sendResponseHeaders(401, -1);
+                return;
+            }
+            final String key = exchange.getRequestURI().getPath().substring(CONTEXT.length());
+            switch (exchange.getRequestMethod()) {
+                case "GET" -> {
+                    final Optional<byte[]> entry = storage.get(key);
+                    if (entry.isPresent()) {
+                        exchange.sendResponseHeaders(200, entry.get().length);
+                        try (OutputStream body = exchange.getResponseBody()) {
+                            body.write(entry.get());
+                        }
+                    } else {
+                        exchange.sendResponseHeaders(404, -1);
+                    }
+                }
+                case "PUT" -> {
+                    try (InputStream body = exchange.getRequestBody()) {
+                        storage.put(key, body.readAllBytes());
+                    }
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        } catch (IllegalArgumentException e) {
+            // invalid key
+            exchange.sendResponseHeaders(400, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.cache;
+
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Storage of serialized per-file findings. Keys are content-addressed (see {@link
+ * AnalysisFingerprint#keyFor(String)}), so an entry never changes once written and backends may be
+ * shared between scans on different machines.
+ */
+public interface IFindingsCacheBackend {
+
+    @Nonnull
+    Optional<byte[]> get(@Nonnull String key) throws IOException;
+
+    void put(@Nonnull String key, @Nonnull byte[] value) throws IOException;
+}
@@ -23,6 +23,7 @@ import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.io.File;
 import java.util.List;
+import java.util.Map;
 import org.bytedeco.javacpp.BytePointer;
 import org.bytedeco.javacpp.PointerPointer;
 import org.bytedeco.llvm.clang.CXCursor;
@@ -36,13 +37,33 @@ import org.pqca.indexing.ProjectModule;
 import org.pqca.progress.IProgressDispatcher;
 import org.pqca.progress.ProgressMessage;
 import org.pqca.progress.ProgressMessageType;
-import org.pqca.scanning.CBOM;
 import org.pqca.scanning.ScanResultDTO;
 import org.pqca.scanning.ScannerService;
 import org.sonar.api.batch.fs.InputFile;
 
 public final class CppScannerService extends ScannerService {
 
+    // Critical: Add compiler flags to prevent Clang from hanging
+    // when it can't find system headers
+    private static final String[] COMPILER_ARGS = {
+        "-x",
+        "c++", // Treat as C++ source
+        "-std=c++17", // Use C++17 standard
+        "-nostdinc", // Don't search standard system directories
+        "-nostdinc++", // Don't search standard C++ directories
+        "-w", // Suppress all warnings
+        "-ferror-limit=0", // Don't stop on errors
+        "-fsyntax-only" // Only check syntax, don't generate code
+    };
+
+    private static final int PARSE_OPTIONS =
+            clang.CXTranslationUnit_SkipFunctionBodies | clang.CXTranslationUnit_KeepGoing;
+    // Degraded mode: do not process included files
+    private static final int DEGRADED_PARSE_OPTIONS =
+            PARSE_OPTIONS | clang.CXTranslationUnit_SingleFileParse;
+
+    @Nullable private CXIndex cxIndex;
+
     public CppScannerService(@Nonnull File projectDirectory) {
         this(null, projectDirectory);
     }
@@ -55,6 +76,7 @@ public final class CppScannerService extends ScannerService {
     @Override
     public @Nonnull ScanResultDTO scan(@Nonnull List<ProjectModule> index)
             throws ClientDisconnected {
+        beginScan();
         LOGGER.info("Start scanning {} cpp projects", index.size());
 
         long scanTimeStart = System.currentTimeMillis();
@@ -63,12 +85,14 @@ public final class CppScannerService extends ScannerService {
         int numberOfScannedFiles = 0;
 
         // Create Index
-        CXIndex cxIndex = clang.clang_createIndex(0, 0);
+        final CXIndex cxIndex = clang.clang_createIndex(0, 0);
         if (cxIndex == null || cxIndex.isNull()) {
             LOGGER.error("Failed to create Clang index - Clang initialization failed");
-            return new ScanResultDTO(scanTimeStart, System.currentTimeMillis(), 0, 0, null);
+            // end the scan, so that the watchdog is closed and listeners are notified
+            return createScanResult(scanTimeStart, 0, 0);
         }
 
+        this.cxIndex = cxIndex;
         try {
             for (ProjectModule project : index) {
                 numberOfScannedFiles += project.inputFileList().size();
@@ -84,41 +108,56 @@ public final class CppScannerService extends ScannerService {
                                     "Scanning cpp project " + projectStr));
                 }
                 LOGGER.info("Scanning cpp project {}", projectStr);
-
-                for (InputFile inputFile : project.inputFileList()) {
-                    scanFile(cxIndex, inputFile);
-                }
+                moduleStarted(project);
+                final List<InputFile> filesToScan =
+                        project.inputFileList().stream()
+                                .filter(inputFile -> !replayCachedFindings(inputFile))
+                                .toList();
+                analyzeFiles(
+                        project,
+                        filesToScan,
+                        inputFile -> scanFile(cxIndex, inputFile, PARSE_OPTIONS));
+                moduleFinished(project);
                 counter++;
             }
+        } catch (ClientDisconnected | RuntimeException | Error e) {
+            scanFailed(e);
+            throw e;
         } finally {
-            clang.clang_disposeIndex(cxIndex);
+            this.cxIndex = null;
+            if (hasAbandonedAnalyses()) {
+                // an abandoned clang_parseTranslationUnit may still be using the index
+                LOGGER.warn("Not disposing Clang index, analyses exceeding the budget are running");
+            } else {
+                clang.clang_disposeIndex(cxIndex);
+            }
         }
 
         LOGGER.info("Scanned {} cpp projects", index.size());
 
-        return new ScanResultDTO(
-                scanTimeStart,
-                System.currentTimeMillis(),
-                numberOfScannedLines,
-                numberOfScannedFiles,
-                this.getBOM().map(CBOM::new).orElse(null));
+        return createScanResult(scanTimeStart, numberOfScannedLines, numberOfScannedFiles);
+    }
+
+    @Override
+    @Nonnull
+    protected Map<String, String> getAnalysisSettings() {
+        return Map.of("language", "cpp", "clang.args", String.join(" ", COMPILER_ARGS));
+    }
+
+    @Override
+    protected boolean analyzeDegraded(@Nonnull ProjectModule module, @Nonnull InputFile inputFile) {
+        final CXIndex index = this.cxIndex;
+        if (index == null) {
+            return false;
+        }
+        scanFile(index, inputFile, DEGRADED_PARSE_OPTIONS);
+        return true;
     }
 
-    private void scanFile(CXIndex index, InputFile inputFile) {
+    private void scanFile(CXIndex index, InputFile inputFile, int parseOptions) {
         CXTranslationUnit unit = null;
         try {
-            // Critical: Add compiler flags to prevent Clang from hanging
-            // when it can't find system headers
-            String[] compilerArgs = {
-                "-x",
-                "c++", // Treat as C++ source
-                "-std=c++17", // Use C++17 standard
-                "-nostdinc", // Don't search standard system directories
-                "-nostdinc++", // Don't search standard C++ directories
-                "-w", // Suppress all warnings
-                "-ferror-limit=0", // Don't stop on errors
-                "-fsyntax-only" // Only check syntax, don't generate code
-            };
+            String[] compilerArgs = COMPILER_ARGS;
 
             // Convert String[] to PointerPointer for JavaCPP
             PointerPointer<BytePointer> args = new PointerPointer<>(compilerArgs.length);
@@ -127,6 +166,7 @@ public final class CppScannerService extends ScannerService {
             }
 
             // We need to use BytePointer for the filename as per JavaCPP bindings
+            final long parseStart = System.nanoTime();
             try (BytePointer filename = new BytePointer(inputFile.absolutePath())) {
                 unit =
                         clang.clang_parseTranslationUnit(
@@ -136,9 +176,9 @@ public final class CppScannerService extends ScannerService {
                                 compilerArgs.length,
                                 (org.bytedeco.llvm.clang.CXUnsavedFile) null,
                                 0,
-                                clang.CXTranslationUnit_SkipFunctionBodies
-                                        | clang.CXTranslationUnit_KeepGoing);
+                                parseOptions);
             }
+            getMetrics().parseTime().recordSince(parseStart);
 
             // Clean up argument pointers - CRITICAL: Use actual pointers, not new ones
             for (int i = 0; i < compilerArgs.length; i++) {
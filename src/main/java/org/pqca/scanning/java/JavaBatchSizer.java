@@ -0,0 +1,221 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.java;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.InputFile;
+
+/**
+ * Sizes the batches of files handed to the java frontend based on the available heap. The heap
+ * needed per byte of source code is measured on every batch (peak heap usage of the batch relative
+ * to its source size), batches shrink when the JVM spends a significant share of the time in GC
+ * and grow when there is headroom.
+ *
+ * <p>The peak is tracked locally from the heap usage before each collection reported by GC
+ * notifications, so the JVM-wide peak usage of the memory pools is left untouched.
+ */
+public final class JavaBatchSizer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JavaBatchSizer.class);
+
+    public static final long DEFAULT_MIN_BATCH_BYTES = 64L * 1024;
+    public static final long DEFAULT_MAX_BATCH_BYTES = 64L * 1024 * 1024;
+    // share of the free heap a batch may use
+    private static final double HEAP_FRACTION = 0.5;
+    // initial estimate of the heap needed per byte of source (ASTs and semantic model)
+    private static final double INITIAL_HEAP_BYTES_PER_SOURCE_BYTE = 50.0;
+    // share of the wall time spent in GC above which batches shrink
+    private static final double GC_PRESSURE_THRESHOLD = 0.2;
+    private static final double SMOOTHING = 0.5;
+    private static final long AVERAGE_LINE_BYTES = 40;
+
+    private final long minBatchBytes;
+    private final long maxBatchBytes;
+    private double heapBytesPerSourceByte = INITIAL_HEAP_BYTES_PER_SOURCE_BYTE;
+    private long batchBytes;
+
+    private long batchStartUsedHeap;
+    private long batchStartGcMillis;
+    private long batchStartMillis;
+    private final AtomicLong batchPeakHeap = new AtomicLong();
+    private final NotificationListener gcListener = this::gcFinished;
+
+    public JavaBatchSizer() {
+        this(DEFAULT_MIN_BATCH_BYTES, DEFAULT_MAX_BATCH_BYTES);
+    }
+
+    public JavaBatchSizer(long minBatchBytes, long maxBatchBytes) {
+        if (minBatchBytes <= 0 || maxBatchBytes < minBatchBytes) {
+            throw new IllegalArgumentException(
+                    "Invalid batch size range " + minBatchBytes + ".." + maxBatchBytes);
+        }
+        this.minBatchBytes = minBatchBytes;
+        this.maxBatchBytes = maxBatchBytes;
+        this.batchBytes = clamp((long) (freeHeap() * HEAP_FRACTION / heapBytesPerSourceByte));
+    }
+
+    public long getMaxBatchBytes() {
+        return maxBatchBytes;
+    }
+
+    /** The source size of the next batch. */
+    public long getBatchBytes() {
+        return batchBytes;
+    }
+
+    /**
+     * Removes the next batch from the pending files. A batch contains at least one file, even if
+     * that file alone exceeds the batch size.
+     */
+    @Nonnull
+    public List<InputFile> nextBatch(@Nonnull Deque<InputFile> pending) {
+        final List<InputFile> batch = new ArrayList<>();
+        long bytes = 0;
+        while (!pending.isEmpty()) {
+            final long fileBytes = sourceBytes(pending.peekFirst());
+            if (!batch.isEmpty() && bytes + fileBytes > batchBytes) {
+                break;
+            }
+            batch.add(pending.removeFirst());
+            bytes += fileBytes;
+        }
+        return batch;
+    }
+
+    public void batchStarted() {
+        this.batchStartUsedHeap = usedHeap();
+        this.batchStartGcMillis = gcMillis();
+        this.batchStartMillis = System.currentTimeMillis();
+        batchPeakHeap.set(batchStartUsedHeap);
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(gcListener, null, null);
+            }
+        }
+    }
+
+    /** Updates the per byte heap cost from the batch and computes the size of the next batch. */
+    public void batchFinished(@Nonnull List<InputFile> batch) {
+        final long sourceBytes = batch.stream().mapToLong(JavaBatchSizer::sourceBytes).sum();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(gcListener);
+                } catch (ListenerNotFoundException e) {
+                    // not registered, batchStarted was not called
+                }
+            }
+        }
+        final long peakHeap = batchPeakHeap.accumulateAndGet(usedHeap(), Math::max);
+        final long wallMillis = Math.max(1, System.currentTimeMillis() - batchStartMillis);
+        final double gcShare = (double) (gcMillis() - batchStartGcMillis) / wallMillis;
+
+        if (sourceBytes > 0 && peakHeap > batchStartUsedHeap) {
+            final double observed = (double) (peakHeap - batchStartUsedHeap) / sourceBytes;
+            heapBytesPerSourceByte =
+                    SMOOTHING * observed + (1 - SMOOTHING) * heapBytesPerSourceByte;
+        }
+        final long affordable = (long) (freeHeap() * HEAP_FRACTION / heapBytesPerSourceByte);
+        final long next = gcShare > GC_PRESSURE_THRESHOLD ? batchBytes / 2 : batchBytes * 2;
+        this.batchBytes = clamp(Math.min(next, affordable));
+        LOGGER.debug(
+                "Java batch of {} bytes: {} heap bytes/source byte, {}% GC, next batch {} bytes",
+                sourceBytes,
+                String.format("%.1f", heapBytesPerSourceByte),
+                Math.round(gcShare * 100),
+                batchBytes);
+    }
+
+    // records the heap usage right before a collection, the local high-water mark of the batch
+    private void gcFinished(@Nonnull Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(
+                notification.getType())) {
+            return;
+        }
+        final GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        final Set<String> heapPools = heapPoolNames();
+        long used = 0;
+        for (Map.Entry<String, MemoryUsage> pool :
+                info.getGcInfo().getMemoryUsageBeforeGc().entrySet()) {
+            if (heapPools.contains(pool.getKey())) {
+                used += pool.getValue().getUsed();
+            }
+        }
+        batchPeakHeap.accumulateAndGet(used, Math::max);
+    }
+
+    @Nonnull
+    private static Set<String> heapPoolNames() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .map(MemoryPoolMXBean::getName)
+                .collect(Collectors.toSet());
+    }
+
+    private long clamp(long bytes) {
+        return Math.max(minBatchBytes, Math.min(maxBatchBytes, bytes));
+    }
+
+    static long sourceBytes(@Nonnull InputFile inputFile) {
+        try {
+            return Files.size(inputFile.path());
+        } catch (IOException | UnsupportedOperationException e) {
+            return inputFile.lines() * AVERAGE_LINE_BYTES;
+        }
+    }
+
+    private static long freeHeap() {
+        return Runtime.getRuntime().maxMemory() - usedHeap();
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(time -> time > 0)
+                .sum();
+    }
+}
@@ -20,11 +20,17 @@
 package org.pqca.scanning.java;
 
 import com.ibm.engine.detection.Finding;
+import com.ibm.engine.rule.IDetectionRule;
 import com.ibm.mapper.model.INode;
 import com.ibm.plugin.rules.JavaInventoryRule;
+import com.ibm.plugin.rules.detection.JavaDetectionRules;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.util.List;
 import java.util.function.Consumer;
+import org.pqca.jfr.DetectionEvent;
+import org.pqca.scanning.IScanListener;
+import org.pqca.scanning.rules.RuleCostCounter;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Symbol;
@@ -32,15 +38,97 @@ import org.sonar.plugins.java.api.tree.Tree;
 
 public class JavaDetectionCollectionRule extends JavaInventoryRule {
     private final Consumer<List<INode>> handler;
+    @Nullable private final IScanListener scanListener;
+    @Nullable private final RuleCostCounter costCounter;
+    private final boolean reportsFiles;
+    // translation time of the findings reported while visiting the current node
+    private long translationNanos;
 
     public JavaDetectionCollectionRule(@Nonnull Consumer<List<INode>> findingConsumer) {
+        this(findingConsumer, null);
+    }
+
+    public JavaDetectionCollectionRule(
+            @Nonnull Consumer<List<INode>> findingConsumer, @Nullable IScanListener scanListener) {
+        this(findingConsumer, scanListener, JavaDetectionRules.rules(), null, true);
+    }
+
+    /**
+     * Runs a subset of the detection rules, e.g. the rules of one library.
+     *
+     * @param costCounter accumulates the time spent in the rules, if not null
+     * @param reportsFiles whether file progress is reported to the listener. The java frontend
+     *     runs all rules on a file, only one of them should report it.
+     */
+    public JavaDetectionCollectionRule(
+            @Nonnull Consumer<List<INode>> findingConsumer,
+            @Nullable IScanListener scanListener,
+            @Nonnull List<IDetectionRule<Tree>> detectionRules,
+            @Nullable RuleCostCounter costCounter,
+            boolean reportsFiles) {
+        super(detectionRules);
         this.handler = findingConsumer;
+        this.scanListener = scanListener;
+        this.costCounter = costCounter;
+        this.reportsFiles = reportsFiles;
+    }
+
+    // The java frontend analyzes a whole batch of files, report each file separately
+    @Override
+    public void setContext(@Nonnull JavaFileScannerContext context) {
+        super.setContext(context);
+        if (scanListener != null && reportsFiles) {
+            scanListener.fileStarted(context.getInputFile());
+        }
+    }
+
+    @Override
+    public void leaveFile(@Nonnull JavaFileScannerContext context) {
+        super.leaveFile(context);
+        if (scanListener != null && reportsFiles) {
+            scanListener.fileFinished(context.getInputFile());
+        }
+    }
+
+    @Override
+    public void visitNode(@Nonnull Tree tree) {
+        if (costCounter == null) {
+            super.visitNode(tree);
+            return;
+        }
+        costCounter.recordInvocation();
+        if (!costCounter.isTimed()) {
+            super.visitNode(tree);
+            return;
+        }
+        final long start = System.nanoTime();
+        final long translationBefore = translationNanos;
+        super.visitNode(tree);
+        costCounter.recordDetection(
+                System.nanoTime() - start - (translationNanos - translationBefore));
     }
 
     @Override
     public void update(@Nonnull Finding<JavaCheck, Tree, Symbol, JavaFileScannerContext> finding) {
+        final DetectionEvent event = new DetectionEvent();
+        event.begin();
+        final long updateStart = System.nanoTime();
         super.update(finding);
+        final long translationStart = System.nanoTime();
         final List<INode> nodes = javaTranslationProcess.initiate(finding.detectionStore());
+        if (scanListener != null) {
+            scanListener.findingTranslated(nodes, System.nanoTime() - translationStart);
+        }
         handler.accept(nodes);
+        final long updateNanos = System.nanoTime() - updateStart;
+        translationNanos += updateNanos;
+        if (costCounter != null) {
+            costCounter.recordFinding(costCounter.isTimed() ? updateNanos : 0);
+        }
+        if (event.shouldCommit()) {
+            event.language = "java";
+            event.nodes = nodes.size();
+            event.commit();
+        }
     }
 }
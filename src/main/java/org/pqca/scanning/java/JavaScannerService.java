@@ -19,20 +19,33 @@
  * */
 package org.pqca.scanning.java;
 
+import com.ibm.plugin.rules.detection.JavaDetectionRules;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 import org.pqca.errors.ClientDisconnected;
 import org.pqca.indexing.ProjectModule;
+import org.pqca.metrics.IMetricsRegistry;
 import org.pqca.progress.IProgressDispatcher;
 import org.pqca.progress.ProgressMessage;
 import org.pqca.progress.ProgressMessageType;
-import org.pqca.scanning.CBOM;
 import org.pqca.scanning.ScanResultDTO;
 import org.pqca.scanning.ScannerService;
 import org.sonar.api.batch.fs.InputFile;
@@ -51,6 +64,7 @@ import org.sonar.java.classpath.ClasspathForMain;
 import org.sonar.java.classpath.ClasspathForTest;
 import org.sonar.java.model.JavaVersionImpl;
 import org.sonar.java.telemetry.NoOpTelemetry;
+import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaResourceLocator;
 import org.sonar.plugins.java.api.JavaVersion;
 
@@ -62,6 +76,9 @@ public final class JavaScannerService extends ScannerService {
     private List<String> javaDependencyJars = new ArrayList<String>();
     private List<String> javaClassDirectories = new ArrayList<String>();
     private boolean requireBuild = true;
+    @Nonnull private JavaBatchSizer batchSizer = new JavaBatchSizer();
+    // replaced when an analysis exceeding the scan budget is abandoned
+    @Nullable private volatile JavaAnalysis javaAnalysis;
 
     public JavaScannerService(@Nonnull File projectDirectory) {
         this(null, projectDirectory);
@@ -70,6 +87,7 @@ public final class JavaScannerService extends ScannerService {
     public JavaScannerService(
             @Nullable IProgressDispatcher progressDispatcher, @Nonnull File projectDirectory) {
         super(progressDispatcher, projectDirectory);
+        registerGauges(getMetricsRegistry());
 
         // this.javaDependencyJars = findJars();
         // this.targetClassDirectories = findClassDirs();
@@ -112,6 +130,34 @@ public final class JavaScannerService extends ScannerService {
         }
     }
 
+    @Nonnull
+    public JavaBatchSizer getBatchSizer() {
+        return this.batchSizer;
+    }
+
+    // Project modules are split into batches sized by the available heap.
+    public void setBatchSizer(@Nonnull JavaBatchSizer batchSizer) {
+        this.batchSizer = batchSizer;
+    }
+
+    @Override
+    public void setMetricsRegistry(@Nonnull IMetricsRegistry metricsRegistry) {
+        super.setMetricsRegistry(metricsRegistry);
+        registerGauges(metricsRegistry);
+    }
+
+    private void registerGauges(@Nonnull IMetricsRegistry metricsRegistry) {
+        // the default registry is process wide and must not keep the scanner alive
+        final WeakReference<JavaScannerService> scanner = new WeakReference<>(this);
+        metricsRegistry.gauge(
+                "cbomkit_java_batch_bytes",
+                "Source bytes per batch of the Java frontend",
+                () -> {
+                    final JavaScannerService service = scanner.get();
+                    return service != null ? service.batchSizer.getBatchBytes() : 0;
+                });
+    }
+
     public boolean getRequireBuild() {
         return this.requireBuild;
     }
@@ -134,6 +180,120 @@ public final class JavaScannerService extends ScannerService {
             }
         }
 
+        beginScan();
+        LOGGER.info("Start scanning {} java projects", index.size());
+        this.javaAnalysis = createJavaAnalysis();
+
+        long scanTimeStart = System.currentTimeMillis();
+        int counter = 1;
+        int numberOfScannedLines = 0;
+        int numberOfScannedFiles = 0;
+        try {
+            for (ProjectModule project : index) {
+                numberOfScannedFiles += project.inputFileList().size();
+                numberOfScannedLines +=
+                        project.inputFileList().stream().mapToInt(InputFile::lines).sum();
+
+                final String projectStr =
+                        project.identifier() + " (" + counter + "/" + index.size() + ")";
+                if (this.progressDispatcher != null) {
+                    this.progressDispatcher.send(
+                            new ProgressMessage(
+                                    ProgressMessageType.LABEL,
+                                    "Scanning java project " + projectStr));
+                }
+                LOGGER.info("Scanning java project {}", projectStr);
+                moduleStarted(project);
+                final List<InputFile> filesToScan =
+                        project.inputFileList().stream()
+                                .filter(inputFile -> !replayCachedFindings(inputFile))
+                                .toList();
+                final Deque<InputFile> pending = new ArrayDeque<>(filesToScan);
+                while (!pending.isEmpty()) {
+                    final List<InputFile> batch = batchSizer.nextBatch(pending);
+                    batchSizer.batchStarted();
+                    analyzeBatch(
+                            project,
+                            batch,
+                            files -> this.javaAnalysis.frontend().scan(files, List.of(), List.of()),
+                            () -> {
+                                // stop the abandoned analysis after the current file,
+                                // continue with a fresh frontend
+                                this.javaAnalysis.sensorContext().setCancelled(true);
+                                this.javaAnalysis = createJavaAnalysis();
+                            });
+                    batchSizer.batchFinished(batch);
+                }
+                moduleFinished(project);
+                counter++;
+            }
+        } catch (ClientDisconnected | RuntimeException | Error e) {
+            scanFailed(e);
+            throw e;
+        }
+        LOGGER.info("Scanned {} java projects", index.size());
+
+        return createScanResult(scanTimeStart, numberOfScannedLines, numberOfScannedFiles);
+    }
+
+    @Override
+    @Nonnull
+    protected Map<String, String> getAnalysisSettings() {
+        final Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("language", "java");
+        settings.put("java.version", Integer.toString(JAVA_VERSION.asInt()));
+        settings.put("sonar.java.libraries", classpathFingerprint(javaDependencyJars));
+        settings.put("sonar.java.binaries", classpathFingerprint(javaClassDirectories));
+        return settings;
+    }
+
+    // Fingerprint the contents of the classpath entries, with globs expanded: the number of
+    // files and the newest modification time below each entry. Rebuilt class files and added or
+    // removed jars change the fingerprint and invalidate the cached findings.
+    @Nonnull
+    private static String classpathFingerprint(@Nonnull List<String> entries) {
+        final List<String> parts = new ArrayList<>();
+        for (String entry : entries) {
+            final int globIdx = indexOfFirstGlobChar(entry);
+            final Path root;
+            final PathMatcher matcher;
+            if (globIdx < 0) {
+                root = Paths.get(entry);
+                matcher = path -> true;
+            } else {
+                // the directory the glob is resolved in
+                final int separator =
+                        Math.max(
+                                entry.lastIndexOf('/', globIdx),
+                                entry.lastIndexOf(File.separatorChar, globIdx));
+                root = Paths.get(separator > 0 ? entry.substring(0, separator) : File.separator);
+                matcher = FileSystems.getDefault().getPathMatcher("glob:" + entry);
+            }
+            parts.add(entry + "@" + treeFingerprint(root, matcher));
+        }
+        return String.join(",", parts);
+    }
+
+    @Nonnull
+    private static String treeFingerprint(@Nonnull Path root, @Nonnull PathMatcher matcher) {
+        if (!Files.exists(root)) {
+            return "missing";
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            final LongSummaryStatistics modified =
+                    files.filter(Files::isRegularFile)
+                            .filter(matcher::matches)
+                            .mapToLong(path -> path.toFile().lastModified())
+                            .summaryStatistics();
+            return modified.getCount() == 0 ? "0" : modified.getCount() + ":" + modified.getMax();
+        } catch (IOException | UncheckedIOException e) {
+            // the entry is then only fingerprinted by its name
+            return "unreadable";
+        }
+    }
+
+    @Nonnull
+    private JavaAnalysis createJavaAnalysis() {
         final SensorContextTester sensorContext = SensorContextTester.create(projectDirectory);
         sensorContext.setSettings(
                 new MapSettings()
@@ -142,7 +302,11 @@ public final class JavaScannerService extends ScannerService {
                         .setProperty("sonar.java.libraries", String.join(",", javaDependencyJars))
                         .setProperty("sonar.java.binaries", String.join(",", javaClassDirectories))
                         .setProperty(SonarComponents.SONAR_AUTOSCAN, false)
-                        .setProperty(SonarComponents.SONAR_BATCH_SIZE_KEY, 8 * 1024 * 1024));
+                        // batches are already split by the batch sizer, the frontend should
+                        // analyze each of them at once
+                        .setProperty(
+                                SonarComponents.SONAR_BATCH_SIZE_KEY,
+                                batchSizer.getMaxBatchBytes() / 1024));
         final DefaultFileSystem fileSystem = sensorContext.fileSystem();
         final ClasspathForMain classpathForMain =
                 new ClasspathForMain(sensorContext.config(), fileSystem);
@@ -151,7 +315,6 @@ public final class JavaScannerService extends ScannerService {
         final SonarComponents sonarComponents =
                 getSonarComponents(fileSystem, classpathForMain, classpathForTest);
         sonarComponents.setSensorContext(sensorContext);
-        LOGGER.info("Start scanning {} java projects", index.size());
 
         final JavaResourceLocator javaResourceLocator =
                 new DefaultJavaResourceLocator(classpathForMain, classpathForTest);
@@ -163,38 +326,34 @@ public final class JavaScannerService extends ScannerService {
                         new NoOpTelemetry(),
                         javaResourceLocator,
                         null,
-                        new JavaDetectionCollectionRule(this));
+                        createRules().toArray(JavaCheck[]::new));
+        return new JavaAnalysis(sensorContext, javaFrontend);
+    }
 
-        long scanTimeStart = System.currentTimeMillis();
-        int counter = 1;
-        int numberOfScannedLines = 0;
-        int numberOfScannedFiles = 0;
-        for (ProjectModule project : index) {
-            numberOfScannedFiles += project.inputFileList().size();
-            numberOfScannedLines +=
-                    project.inputFileList().stream().mapToInt(InputFile::lines).sum();
-
-            final String projectStr =
-                    project.identifier() + " (" + counter + "/" + index.size() + ")";
-            if (this.progressDispatcher != null) {
-                this.progressDispatcher.send(
-                        new ProgressMessage(
-                                ProgressMessageType.LABEL, "Scanning java project " + projectStr));
-            }
-            LOGGER.info("Scanning java project {}", projectStr);
-            javaFrontend.scan(project.inputFileList(), List.of(), List.of());
-            counter++;
+    // one rule per enabled library, to account for the cost of each
+    @Nonnull
+    private List<JavaCheck> createRules() {
+        final List<JavaCheck> rules = new ArrayList<>();
+        getRuleGroups(JavaDetectionRules.rules())
+                .forEach(
+                        (group, detectionRules) ->
+                                rules.add(
+                                        new JavaDetectionCollectionRule(
+                                                this,
+                                                this,
+                                                detectionRules,
+                                                ruleCostCounter(group, detectionRules.size()),
+                                                rules.isEmpty())));
+        if (rules.isEmpty()) {
+            // no rule enabled, files are still reported
+            rules.add(new JavaDetectionCollectionRule(this, this, List.of(), null, true));
         }
-        LOGGER.info("Scanned {} java projects", index.size());
-
-        return new ScanResultDTO(
-                scanTimeStart,
-                System.currentTimeMillis(),
-                numberOfScannedLines,
-                numberOfScannedFiles,
-                this.getBOM().map(CBOM::new).orElse(null));
+        return rules;
     }
 
+    private record JavaAnalysis(
+            @Nonnull SensorContextTester sensorContext, @Nonnull JavaFrontend frontend) {}
+
     @Nonnull
     private static SonarComponents getSonarComponents(
             DefaultFileSystem fileSystem,
@@ -20,27 +20,136 @@
 package org.pqca.scanning.python;
 
 import com.ibm.engine.detection.Finding;
+import com.ibm.engine.rule.IDetectionRule;
 import com.ibm.mapper.model.INode;
 import com.ibm.plugin.rules.PythonInventoryRule;
+import com.ibm.plugin.rules.detection.PythonDetectionRules;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
 import java.util.List;
 import java.util.function.Consumer;
+import org.pqca.jfr.DetectionEvent;
+import org.pqca.scanning.IScanListener;
+import org.pqca.scanning.rules.RuleCostCounter;
 import org.sonar.plugins.python.api.PythonCheck;
 import org.sonar.plugins.python.api.PythonVisitorContext;
 import org.sonar.plugins.python.api.symbols.Symbol;
+import org.sonar.plugins.python.api.tree.CallExpression;
 import org.sonar.plugins.python.api.tree.Tree;
 
 public class PythonDetectionCollectionRule extends PythonInventoryRule {
     private final Consumer<List<INode>> handler;
+    @Nullable private final IScanListener scanListener;
+    @Nullable private final RuleCostCounter costCounter;
+    // false for the rules of a group run by PythonRuleGroupsVisitor, which walks the tree itself
+    private final boolean visitsTree;
+    // translation time of the findings reported while scanning the current file
+    private long translationNanos;
 
     public PythonDetectionCollectionRule(@Nonnull Consumer<List<INode>> findingConsumer) {
+        this(findingConsumer, null);
+    }
+
+    public PythonDetectionCollectionRule(
+            @Nonnull Consumer<List<INode>> findingConsumer, @Nullable IScanListener scanListener) {
+        this(findingConsumer, scanListener, PythonDetectionRules.rules(), null);
+    }
+
+    /**
+     * Runs a subset of the detection rules, e.g. the rules of one library.
+     *
+     * @param costCounter accumulates the time spent in the rules, if not null
+     */
+    public PythonDetectionCollectionRule(
+            @Nonnull Consumer<List<INode>> findingConsumer,
+            @Nullable IScanListener scanListener,
+            @Nonnull List<IDetectionRule<Tree>> detectionRules,
+            @Nullable RuleCostCounter costCounter) {
+        this(findingConsumer, scanListener, detectionRules, costCounter, true);
+    }
+
+    PythonDetectionCollectionRule(
+            @Nonnull Consumer<List<INode>> findingConsumer,
+            @Nullable IScanListener scanListener,
+            @Nonnull List<IDetectionRule<Tree>> detectionRules,
+            @Nullable RuleCostCounter costCounter,
+            boolean visitsTree) {
+        super(detectionRules);
         this.handler = findingConsumer;
+        this.scanListener = scanListener;
+        this.costCounter = costCounter;
+        this.visitsTree = visitsTree;
+    }
+
+    // the visitor recurses into nested calls, so the whole file is timed instead of each call
+    @Override
+    public void scanFile(@Nonnull PythonVisitorContext visitorContext) {
+        if (costCounter == null || !costCounter.isTimed() || !visitsTree) {
+            super.scanFile(visitorContext);
+            return;
+        }
+        final long start = System.nanoTime();
+        final long translationBefore = translationNanos;
+        super.scanFile(visitorContext);
+        costCounter.recordDetection(
+                System.nanoTime() - start - (translationNanos - translationBefore));
+    }
+
+    @Override
+    public void visitCallExpression(@Nonnull CallExpression callExpression) {
+        if (costCounter != null && visitsTree) {
+            costCounter.recordInvocation();
+        }
+        super.visitCallExpression(callExpression);
+    }
+
+    /** Runs the rules on a call, without visiting nested calls unless the rule visits the tree. */
+    void visitCall(@Nonnull CallExpression callExpression) {
+        if (costCounter == null) {
+            visitCallExpression(callExpression);
+            return;
+        }
+        costCounter.recordInvocation();
+        if (!costCounter.isTimed()) {
+            visitCallExpression(callExpression);
+            return;
+        }
+        final long start = System.nanoTime();
+        final long translationBefore = translationNanos;
+        visitCallExpression(callExpression);
+        costCounter.recordDetection(
+                System.nanoTime() - start - (translationNanos - translationBefore));
+    }
+
+    // the tree is walked by PythonRuleGroupsVisitor, which hands each call to the rule
+    @Override
+    protected void scan(@Nullable Tree tree) {
+        if (visitsTree) {
+            super.scan(tree);
+        }
     }
 
     @Override
     public void update(@Nonnull Finding<PythonCheck, Tree, Symbol, PythonVisitorContext> finding) {
+        final DetectionEvent event = new DetectionEvent();
+        event.begin();
+        final long updateStart = System.nanoTime();
         super.update(finding);
+        final long translationStart = System.nanoTime();
         final List<INode> nodes = pythonTranslationProcess.initiate(finding.detectionStore());
+        if (scanListener != null) {
+            scanListener.findingTranslated(nodes, System.nanoTime() - translationStart);
+        }
         handler.accept(nodes);
+        final long updateNanos = System.nanoTime() - updateStart;
+        translationNanos += updateNanos;
+        if (costCounter != null) {
+            costCounter.recordFinding(costCounter.isTimed() ? updateNanos : 0);
+        }
+        if (event.shouldCommit()) {
+            event.language = "python";
+            event.nodes = nodes.size();
+            event.commit();
+        }
     }
 }
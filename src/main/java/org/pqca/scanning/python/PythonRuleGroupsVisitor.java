@@ -0,0 +1,54 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.python;
+
+import jakarta.annotation.Nonnull;
+import java.util.List;
+import org.sonar.plugins.python.api.PythonVisitorCheck;
+import org.sonar.plugins.python.api.PythonVisitorContext;
+import org.sonar.plugins.python.api.tree.CallExpression;
+
+/**
+ * Walks the syntax tree of a file once and hands every call to the rules of each group, so that
+ * the cost of each group is accounted without a tree walk per group.
+ */
+final class PythonRuleGroupsVisitor extends PythonVisitorCheck {
+    @Nonnull private final List<PythonDetectionCollectionRule> groups;
+
+    /**
+     * @param groups rules created with {@code visitsTree} false
+     */
+    PythonRuleGroupsVisitor(@Nonnull List<PythonDetectionCollectionRule> groups) {
+        this.groups = groups;
+    }
+
+    @Override
+    public void scanFile(@Nonnull PythonVisitorContext visitorContext) {
+        // sets the context of the rules, they do not walk the tree themselves
+        groups.forEach(group -> group.scanFile(visitorContext));
+        super.scanFile(visitorContext);
+    }
+
+    @Override
+    public void visitCallExpression(@Nonnull CallExpression callExpression) {
+        groups.forEach(group -> group.visitCall(callExpression));
+        super.visitCallExpression(callExpression);
+    }
+}
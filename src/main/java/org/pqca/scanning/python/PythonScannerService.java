@@ -19,16 +19,18 @@
  * */
 package org.pqca.scanning.python;
 
+import com.ibm.plugin.rules.detection.PythonDetectionRules;
 import jakarta.annotation.Nonnull;
 import jakarta.annotation.Nullable;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.pqca.errors.ClientDisconnected;
 import org.pqca.indexing.ProjectModule;
 import org.pqca.progress.IProgressDispatcher;
 import org.pqca.progress.ProgressMessage;
 import org.pqca.progress.ProgressMessageType;
-import org.pqca.scanning.CBOM;
 import org.pqca.scanning.ScanResultDTO;
 import org.pqca.scanning.ScannerService;
 import org.sonar.api.batch.fs.InputFile;
@@ -50,7 +52,9 @@ public final class PythonScannerService extends ScannerService {
     @Override
     public @Nonnull ScanResultDTO scan(@Nonnull List<ProjectModule> index)
             throws ClientDisconnected {
-        final PythonCheck visitor = new PythonDetectionCollectionRule(this);
+        beginScan();
+        // one set of visitors per analysis thread: an abandoned analysis may still be using them
+        final ThreadLocal<List<PythonCheck>> visitors = ThreadLocal.withInitial(this::createRules);
 
         LOGGER.info("Start scanning {} python projects", index.size());
 
@@ -58,39 +62,78 @@ public final class PythonScannerService extends ScannerService {
         int counter = 1;
         int numberOfScannedLines = 0;
         int numberOfScannedFiles = 0;
-        for (ProjectModule project : index) {
-            numberOfScannedFiles += project.inputFileList().size();
-            numberOfScannedLines +=
-                    project.inputFileList().stream().mapToInt(InputFile::lines).sum();
+        try {
+            for (ProjectModule project : index) {
+                numberOfScannedFiles += project.inputFileList().size();
+                numberOfScannedLines +=
+                        project.inputFileList().stream().mapToInt(InputFile::lines).sum();
 
-            final String projectStr =
-                    project.identifier() + " (" + counter + "/" + index.size() + ")";
-            if (this.progressDispatcher != null) {
-                this.progressDispatcher.send(
-                        new ProgressMessage(
-                                ProgressMessageType.LABEL,
-                                "Scanning python project " + projectStr));
+                final String projectStr =
+                        project.identifier() + " (" + counter + "/" + index.size() + ")";
+                if (this.progressDispatcher != null) {
+                    this.progressDispatcher.send(
+                            new ProgressMessage(
+                                    ProgressMessageType.LABEL,
+                                    "Scanning python project " + projectStr));
+                }
+                LOGGER.info("Scanning python project {}", projectStr);
+                moduleStarted(project);
+                final List<InputFile> filesToScan =
+                        project.inputFileList().stream()
+                                .filter(inputFile -> !replayCachedFindings(inputFile))
+                                .toList();
+                analyzeFiles(
+                        project,
+                        filesToScan,
+                        inputFile -> scanFile(visitors.get(), project, inputFile));
+                moduleFinished(project);
+                counter++;
             }
-            LOGGER.info("Scanning python project {}", projectStr);
-            for (InputFile inputFile : project.inputFileList()) {
-                final PythonScannableFile pythonScannableFile = new PythonScannableFile(inputFile);
-                final FileInput parsedFile = pythonScannableFile.parse();
-                final PythonVisitorContext context =
-                        new PythonVisitorContext.Builder(parsedFile, pythonScannableFile)
-                                .workingDirectory(this.projectDirectory)
-                                .packageName(project.identifier())
-                                .build();
-                visitor.scanFile(context);
-            }
-            counter++;
+        } catch (ClientDisconnected | RuntimeException | Error e) {
+            scanFailed(e);
+            throw e;
         }
         LOGGER.info("Scanned {} python projects", index.size());
 
-        return new ScanResultDTO(
-                scanTimeStart,
-                System.currentTimeMillis(),
-                numberOfScannedLines,
-                numberOfScannedFiles,
-                this.getBOM().map(CBOM::new).orElse(null));
+        return createScanResult(scanTimeStart, numberOfScannedLines, numberOfScannedFiles);
+    }
+
+    private void scanFile(
+            @Nonnull List<PythonCheck> visitors,
+            @Nonnull ProjectModule project,
+            @Nonnull InputFile inputFile) {
+        final long parseStart = System.nanoTime();
+        final PythonScannableFile pythonScannableFile = new PythonScannableFile(inputFile);
+        final FileInput parsedFile = pythonScannableFile.parse();
+        getMetrics().parseTime().recordSince(parseStart);
+        final PythonVisitorContext context =
+                new PythonVisitorContext.Builder(parsedFile, pythonScannableFile)
+                        .workingDirectory(this.projectDirectory)
+                        .packageName(project.identifier())
+                        .build();
+        visitors.forEach(visitor -> visitor.scanFile(context));
+    }
+
+    // one rule per enabled library, to account for the cost of each, run in a single tree walk
+    @Nonnull
+    private List<PythonCheck> createRules() {
+        final List<PythonDetectionCollectionRule> rules = new ArrayList<>();
+        getRuleGroups(PythonDetectionRules.rules())
+                .forEach(
+                        (group, detectionRules) ->
+                                rules.add(
+                                        new PythonDetectionCollectionRule(
+                                                this,
+                                                this,
+                                                detectionRules,
+                                                ruleCostCounter(group, detectionRules.size()),
+                                                false)));
+        return rules.isEmpty() ? List.of() : List.of(new PythonRuleGroupsVisitor(rules));
+    }
+
+    @Override
+    @Nonnull
+    protected Map<String, String> getAnalysisSettings() {
+        return Map.of("language", "python");
     }
 }
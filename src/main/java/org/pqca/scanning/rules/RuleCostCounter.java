@@ -0,0 +1,77 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.rules;
+
+import jakarta.annotation.Nonnull;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Accumulates the {@link RuleGroupCost} of a rule group, updated from the analysis threads. */
+public final class RuleCostCounter {
+    @Nonnull private final String group;
+    private final int rules;
+    private final boolean timed;
+    @Nonnull private final LongAdder invocations = new LongAdder();
+    @Nonnull private final LongAdder detectionNanos = new LongAdder();
+    @Nonnull private final LongAdder findings = new LongAdder();
+    @Nonnull private final LongAdder translationNanos = new LongAdder();
+
+    /**
+     * @param timed whether the rules measure the time they take. Timing costs a clock read per
+     *     node and rule group, so it is only enabled while profiling.
+     */
+    public RuleCostCounter(@Nonnull String group, int rules, boolean timed) {
+        this.group = group;
+        this.rules = rules;
+        this.timed = timed;
+    }
+
+    @Nonnull
+    public String getGroup() {
+        return group;
+    }
+
+    public boolean isTimed() {
+        return timed;
+    }
+
+    public void recordInvocation() {
+        invocations.increment();
+    }
+
+    public void recordDetection(long nanos) {
+        detectionNanos.add(nanos);
+    }
+
+    public void recordFinding(long translationNanos) {
+        findings.increment();
+        this.translationNanos.add(translationNanos);
+    }
+
+    @Nonnull
+    public RuleGroupCost snapshot() {
+        return new RuleGroupCost(
+                group,
+                rules,
+                invocations.sum(),
+                detectionNanos.sum(),
+                findings.sum(),
+                translationNanos.sum());
+    }
+}
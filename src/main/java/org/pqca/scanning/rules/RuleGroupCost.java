@@ -0,0 +1,47 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.rules;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * Cost of the detection rules of one library during a scan.
+ *
+ * <p>Times are only measured while the scanner has a profiler, they are 0 otherwise.
+ *
+ * @param group the identifier of the library bundle, e.g. {@code Jca} or {@code Pyca}
+ * @param rules number of detection rules in the group
+ * @param invocations tree nodes handed to the rules of the group
+ * @param detectionTimeNanos time spent matching the rules, without the translation of findings
+ * @param findings findings reported by the rules of the group
+ * @param translationTimeNanos time spent translating and collecting the findings
+ */
+public record RuleGroupCost(
+        @Nonnull String group,
+        int rules,
+        long invocations,
+        long detectionTimeNanos,
+        long findings,
+        long translationTimeNanos) {
+
+    public long totalTimeNanos() {
+        return detectionTimeNanos + translationTimeNanos;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.rules;
+
+import com.ibm.engine.rule.IDetectionRule;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Groups detection rules by the library they detect, the identifier of their bundle. */
+public final class RuleGroups {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RuleGroups.class);
+
+    private RuleGroups() {}
+
+    @Nonnull
+    public static <T> Map<String, List<IDetectionRule<T>>> byLibrary(
+            @Nonnull List<IDetectionRule<T>> detectionRules) {
+        final Map<String, List<IDetectionRule<T>>> groups = new LinkedHashMap<>();
+        for (IDetectionRule<T> rule : detectionRules) {
+            groups.computeIfAbsent(group(rule), key -> new ArrayList<>()).add(rule);
+        }
+        return groups;
+    }
+
+    /**
+     * Groups the rules and keeps the enabled groups only. Group identifiers are compared ignoring
+     * case.
+     *
+     * @param enabledGroups the groups to keep, all groups if null
+     */
+    @Nonnull
+    public static <T> Map<String, List<IDetectionRule<T>>> byLibrary(
+            @Nonnull List<IDetectionRule<T>> detectionRules, @Nullable Set<String> enabledGroups) {
+        final Map<String, List<IDetectionRule<T>>> groups = byLibrary(detectionRules);
+        if (enabledGroups == null) {
+            return groups;
+        }
+        final Set<String> enabled =
+                enabledGroups.stream()
+                        .map(group -> group.toLowerCase(Locale.ROOT))
+                        .collect(Collectors.toSet());
+        final Set<String> unknown = new TreeSet<>(enabled);
+        groups.keySet().forEach(group -> unknown.remove(group.toLowerCase(Locale.ROOT)));
+        if (!unknown.isEmpty()) {
+            LOGGER.warn("Unknown rule groups {}, available are {}", unknown, groups.keySet());
+        }
+        groups.keySet().removeIf(group -> !enabled.contains(group.toLowerCase(Locale.ROOT)));
+        return groups;
+    }
+
+    @Nonnull
+    public static String group(@Nonnull IDetectionRule<?> rule) {
+        return rule.bundle().getIdentifier();
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.watchdog;
+
+import jakarta.annotation.Nullable;
+import java.time.Duration;
+
+/**
+ * Time budgets of a scan.
+ *
+ * @param fileBudget maximum time without progress, i.e. the time to analyze a single file, or null
+ *     if unbounded. Work before the first file of a batch, e.g. parsing, is bounded by the module
+ *     budget only
+ * @param moduleBudget maximum time to analyze a project module, or null if unbounded
+ * @param retryDegraded whether a file exceeding its budget is analyzed again in a degraded mode
+ *     (if the scanner supports one) instead of being skipped
+ */
+public record ScanBudget(
+        @Nullable Duration fileBudget, @Nullable Duration moduleBudget, boolean retryDegraded) {
+
+    public ScanBudget(@Nullable Duration fileBudget, @Nullable Duration moduleBudget) {
+        this(fileBudget, moduleBudget, false);
+    }
+}
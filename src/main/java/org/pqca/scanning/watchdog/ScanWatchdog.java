@@ -0,0 +1,227 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.watchdog;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.sonar.api.batch.fs.InputFile;
+
+/**
+ * Enforces a {@link ScanBudget}. Analyses run on a worker thread while the scanning thread watches
+ * the progress reported with {@link #fileStarted(InputFile)} and {@link #fileFinished(InputFile)}.
+ * A worker exceeding the budget is interrupted and abandoned: parsers that do not react to
+ * interrupts may keep running in the background, but everything they report afterwards must be
+ * discarded (see {@link #isAbandoned(Thread)}) and the scan continues on a new worker.
+ */
+public final class ScanWatchdog implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScanWatchdog.class);
+    private static final long TICK_MILLIS = 10;
+
+    @Nonnull private final ScanBudget budget;
+    @Nonnull private final Set<Thread> abandonedThreads = ConcurrentHashMap.newKeySet();
+    @Nonnull private final Set<InputFile> finishedFiles = ConcurrentHashMap.newKeySet();
+    @Nonnull private ExecutorService executor;
+    @Nullable private volatile Thread worker;
+    @Nullable private volatile InputFile currentFile;
+    // the file budget applies once the analysis reported its first file, e.g. after parsing
+    private volatile boolean fileStartedInRun;
+    private volatile long lastProgressNanos;
+    private long moduleStartNanos;
+
+    public ScanWatchdog(@Nonnull ScanBudget budget) {
+        this.budget = budget;
+        this.executor = newExecutor();
+        this.moduleStartNanos = System.nanoTime();
+    }
+
+    @Nonnull
+    public ScanBudget getBudget() {
+        return budget;
+    }
+
+    public void moduleStarted() {
+        this.moduleStartNanos = System.nanoTime();
+    }
+
+    public boolean isModuleBudgetExceeded() {
+        return budget.moduleBudget() != null
+                && System.nanoTime() - moduleStartNanos > budget.moduleBudget().toNanos();
+    }
+
+    public void fileStarted(@Nonnull InputFile inputFile) {
+        this.currentFile = inputFile;
+        this.lastProgressNanos = System.nanoTime();
+        this.fileStartedInRun = true;
+    }
+
+    public void fileFinished(@Nonnull InputFile inputFile) {
+        this.finishedFiles.add(inputFile);
+        this.currentFile = null;
+        this.lastProgressNanos = System.nanoTime();
+    }
+
+    public boolean isFinished(@Nonnull InputFile inputFile) {
+        return finishedFiles.contains(inputFile);
+    }
+
+    public boolean isAbandoned(@Nonnull Thread thread) {
+        return abandonedThreads.contains(thread);
+    }
+
+    public boolean hasAbandonedAnalyses() {
+        return !abandonedThreads.isEmpty();
+    }
+
+    /**
+     * Runs the analysis on a worker thread.
+     *
+     * @param analysis the analysis, reporting its progress to this watchdog
+     * @param onTimeout called after the worker was abandoned, e.g. to cancel the analysis
+     * @return empty if the analysis completed, the timeout otherwise
+     */
+    @Nonnull
+    public Optional<Timeout> run(@Nonnull Runnable analysis, @Nullable Runnable onTimeout) {
+        return run(analysis, onTimeout, null);
+    }
+
+    /**
+     * Runs the analysis of a single file on a worker thread. Unlike {@link #run(Runnable,
+     * Runnable)}, the file budget applies from the start, as the analysis may not report any
+     * progress, e.g. a degraded retry of a file that exceeded its budget.
+     *
+     * @param inputFile the analyzed file, finished once the analysis completes
+     * @param analysis the analysis of the file
+     * @param onTimeout called after the worker was abandoned, e.g. to cancel the analysis
+     * @return empty if the analysis completed, the timeout otherwise
+     */
+    @Nonnull
+    public Optional<Timeout> runFile(
+            @Nonnull InputFile inputFile,
+            @Nonnull Runnable analysis,
+            @Nullable Runnable onTimeout) {
+        final Optional<Timeout> timeout = run(analysis, onTimeout, inputFile);
+        if (timeout.isEmpty()) {
+            fileFinished(inputFile);
+        }
+        return timeout;
+    }
+
+    @Nonnull
+    private Optional<Timeout> run(
+            @Nonnull Runnable analysis,
+            @Nullable Runnable onTimeout,
+            @Nullable InputFile inputFile) {
+        this.finishedFiles.clear();
+        this.currentFile = inputFile;
+        this.fileStartedInRun = inputFile != null;
+        this.lastProgressNanos = System.nanoTime();
+        final Future<?> future =
+                executor.submit(
+                        () -> {
+                            this.worker = Thread.currentThread();
+                            analysis.run();
+                        });
+        while (true) {
+            try {
+                future.get(TICK_MILLIS, TimeUnit.MILLISECONDS);
+                return Optional.empty();
+            } catch (TimeoutException e) {
+                final long elapsedNanos = System.nanoTime() - lastProgressNanos;
+                // work before the first file, e.g. parsing a batch, is bounded by the module budget
+                final boolean fileBudgetExceeded =
+                        budget.fileBudget() != null
+                                && fileStartedInRun
+                                && elapsedNanos > budget.fileBudget().toNanos();
+                final boolean moduleBudgetExceeded = isModuleBudgetExceeded();
+                if (fileBudgetExceeded || moduleBudgetExceeded) {
+                    abandon(future, onTimeout);
+                    return Optional.of(
+                            new Timeout(
+                                    currentFile,
+                                    moduleBudgetExceeded
+                                            ? TimedOutFile.Reason.MODULE_BUDGET_EXCEEDED
+                                            : TimedOutFile.Reason.FILE_BUDGET_EXCEEDED,
+                                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos)));
+                }
+            } catch (InterruptedException e) {
+                abandon(future, onTimeout);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while scanning", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void abandon(@Nonnull Future<?> future, @Nullable Runnable onTimeout) {
+        final Thread abandoned = this.worker;
+        if (abandoned != null) {
+            abandonedThreads.add(abandoned);
+        }
+        future.cancel(true);
+        if (onTimeout != null) {
+            onTimeout.run();
+        }
+        // the abandoned worker may never terminate, continue on a new one
+        executor.shutdownNow();
+        executor = newExecutor();
+        LOGGER.debug("Abandoned analysis on {}", abandoned);
+    }
+
+    @Nonnull
+    private static ExecutorService newExecutor() {
+        return Executors.newSingleThreadExecutor(
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "cbomkit-scan-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * @param file the file being analyzed when the budget was exceeded, or null if unknown
+     * @param reason which budget was exceeded
+     * @param elapsedMillis time since the last progress
+     */
+    public record Timeout(
+            @Nullable InputFile file, @Nonnull TimedOutFile.Reason reason, long elapsedMillis) {}
+}
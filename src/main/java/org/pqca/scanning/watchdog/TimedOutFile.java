@@ -0,0 +1,45 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.watchdog;
+
+import jakarta.annotation.Nonnull;
+
+/**
+ * A file whose analysis exceeded the time budget.
+ *
+ * @param module identifier of the project module
+ * @param file path of the file
+ * @param reason which budget was exceeded
+ * @param elapsedMillis time spent on the file before it was abandoned
+ * @param analyzedDegraded true if the findings of the file come from a degraded analysis, false
+ *     if the file was skipped
+ */
+public record TimedOutFile(
+        @Nonnull String module,
+        @Nonnull String file,
+        @Nonnull Reason reason,
+        long elapsedMillis,
+        boolean analyzedDegraded) {
+
+    public enum Reason {
+        FILE_BUDGET_EXCEEDED,
+        MODULE_BUDGET_EXCEEDED
+    }
+}
@@ -0,0 +1,512 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.store;
+
+import jakarta.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Metadata;
+import org.cyclonedx.model.Property;
+import org.cyclonedx.model.component.crypto.AlgorithmProperties;
+import org.cyclonedx.model.component.crypto.CryptoProperties;
+import org.pqca.errors.CBOMSerializationFailed;
+import org.pqca.scanning.CBOM;
+import org.pqca.scanning.CBOMFormat;
+import org.pqca.scanning.CBOMIndex;
+
+/**
+ * Embedded, append-only store of the CBOMs of many repositories, with an inverted index from
+ * algorithms, primitives and parameter sets to the repositories and revisions using them.
+ *
+ * <p>The store is a directory of immutable segment files and a manifest listing the current
+ * segments. Every {@link #append} writes new segments, {@link #compact()} merges all segments into
+ * as few as possible and keeps only the latest CBOM of a repository, revision, commit and folder.
+ * The manifest is replaced atomically, so readers see either the old or the new segments. Segments
+ * are memory-mapped, queries read the term index and metadata of the matching CBOMs from the
+ * mapping, and only {@link #load} decodes a CBOM.
+ *
+ * <p>Writers are serialized by a lock file, so several processes may append to the same store.
+ * Any number of threads and processes may query a store concurrently, {@link #refresh()} picks up
+ * segments written by other processes. Only one store instance per directory should be open in a
+ * process, as file locks are held per process.
+ */
+public final class CBOMStore implements Closeable {
+    private static final String MANIFEST = "MANIFEST";
+    private static final String MANIFEST_HEADER = "cbom-store 1";
+    private static final String LOCK = "LOCK";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    // segments are mapped as a single buffer, so they must stay below 2 GiB
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+    private static final CBOMFormat FORMAT = CBOMFormat.SMILE;
+
+    /** Indexed values of the components of a CBOM. */
+    public enum Field {
+        ASSET_TYPE,
+        PRIMITIVE,
+        /** Component name or algorithm family, see {@link CBOMIndex#familyOf(String)}. */
+        ALGORITHM,
+        PARAMETER_SET
+    }
+
+    /** An indexed value, compared ignoring case. */
+    public record Term(@Nonnull Field field, @Nonnull String value) {
+        @Nonnull
+        String key() {
+            return field.name() + ":" + value.toUpperCase(Locale.ROOT);
+        }
+    }
+
+    private record ScanKey(String repository, String revision, String commit, String subFolder) {
+        @Nonnull
+        static ScanKey of(@Nonnull StoredCBOM stored) {
+            return new ScanKey(
+                    stored.repository(), stored.revision(), stored.commit(), stored.subFolder());
+        }
+    }
+
+    @Nonnull private final Path directory;
+    @Nonnull private final Object writeLock = new Object();
+    // current segments by name, in the order of the manifest, replaced as a whole
+    @Nonnull private volatile Map<String, Segment> segments = Map.of();
+
+    private CBOMStore(@Nonnull Path directory) {
+        this.directory = directory;
+    }
+
+    /** Opens the store in the given directory, creating it if it does not exist. */
+    @Nonnull
+    public static CBOMStore open(@Nonnull Path directory) throws IOException {
+        Files.createDirectories(directory);
+        final CBOMStore store = new CBOMStore(directory);
+        store.refresh();
+        return store;
+    }
+
+    @Nonnull
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /** Number of stored CBOMs. */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments.values()) {
+            size += segment.documents();
+        }
+        return size;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /** Reads the manifest again, to see segments written by other processes. */
+    public void refresh() throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                final Map<String, Segment> current = segments;
+                final Map<String, Segment> refreshed = new LinkedHashMap<>();
+                for (String name : readManifest()) {
+                    final Segment segment = current.get(name);
+                    refreshed.put(
+                            name,
+                            segment != null ? segment : Segment.open(directory.resolve(name)));
+                }
+                segments = Collections.unmodifiableMap(refreshed);
+                return;
+            } catch (NoSuchFileException e) {
+                // a segment of the manifest was deleted by a concurrent compaction
+                if (attempt == 3) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    public void append(@Nonnull CBOM cbom) throws IOException, CBOMSerializationFailed {
+        append(List.of(cbom));
+    }
+
+    /** Appends the CBOMs in new segments, visible to queries once this method returns. */
+    public void append(@Nonnull Collection<CBOM> cboms)
+            throws IOException, CBOMSerializationFailed {
+        if (cboms.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            try (FileChannel channel = openLock();
+                    FileLock lock = channel.lock()) {
+                final List<String> names = new ArrayList<>(readManifest());
+                int next = nextSegmentNumber();
+                SegmentWriter writer = null;
+                try {
+                    for (CBOM cbom : cboms) {
+                        if (writer == null || writer.size() > MAX_SEGMENT_BYTES) {
+                            if (writer != null) {
+                                writer.finish();
+                                writer.close();
+                            }
+                            final String name = segmentName(next++);
+                            writer = new SegmentWriter(directory.resolve(name));
+                            names.add(name);
+                        }
+                        writer.add(
+                                metadataOf(cbom),
+                                ByteBuffer.wrap(cbom.encode(FORMAT)),
+                                termsOf(cbom));
+                    }
+                    writer.finish();
+                } finally {
+                    if (writer != null) {
+                        writer.close();
+                    }
+                }
+                writeManifest(names);
+            }
+            refresh();
+        }
+    }
+
+    /**
+     * Merges all segments, keeping only the latest CBOM of the same repository, revision, commit
+     * and folder. CBOMs without repository are all kept. Encoded CBOMs and their index entries are
+     * copied, not decoded.
+     */
+    public void compact() throws IOException {
+        synchronized (writeLock) {
+            try (FileChannel channel = openLock();
+                    FileLock lock = channel.lock()) {
+                final List<String> inputs = readManifest();
+                final List<Segment> sources = new ArrayList<>(inputs.size());
+                for (String name : inputs) {
+                    final Segment segment = segments.get(name);
+                    sources.add(segment != null ? segment : Segment.open(directory.resolve(name)));
+                }
+
+                // latest scan wins, later segments and documents were appended later
+                final Map<ScanKey, Long> latest = new HashMap<>();
+                for (int s = 0; s < sources.size(); s++) {
+                    for (int d = 0; d < sources.get(s).documents(); d++) {
+                        final StoredCBOM stored = sources.get(s).document(d);
+                        if (stored.repository() != null) {
+                            latest.put(ScanKey.of(stored), position(s, d));
+                        }
+                    }
+                }
+
+                final List<String> names = new ArrayList<>();
+                int next = nextSegmentNumber();
+                SegmentWriter writer = null;
+                try {
+                    for (int s = 0; s < sources.size(); s++) {
+                        final Segment source = sources.get(s);
+                        final List<List<String>> terms = termsByDocument(source);
+                        for (int d = 0; d < source.documents(); d++) {
+                            final StoredCBOM stored = source.document(d);
+                            if (stored.repository() != null
+                                    && latest.get(ScanKey.of(stored)) != position(s, d)) {
+                                continue;
+                            }
+                            if (writer == null || writer.size() > MAX_SEGMENT_BYTES) {
+                                if (writer != null) {
+                                    writer.finish();
+                                    writer.close();
+                                }
+                                final String name = segmentName(next++);
+                                writer = new SegmentWriter(directory.resolve(name));
+                                names.add(name);
+                            }
+                            writer.add(stored, source.blob(d), terms.get(d));
+                        }
+                    }
+                    if (writer != null) {
+                        writer.finish();
+                    }
+                } finally {
+                    if (writer != null) {
+                        writer.close();
+                    }
+                }
+                writeManifest(names);
+                deleteUnreferenced(names);
+            }
+            refresh();
+        }
+    }
+
+    /** CBOMs containing the given value, see {@link #findAll(Term...)}. */
+    @Nonnull
+    public List<StoredCBOM> find(@Nonnull Field field, @Nonnull String value) {
+        return findAll(new Term(field, value));
+    }
+
+    /**
+     * CBOMs containing all of the given values, in the order they were appended. The values may
+     * be found in different components of a CBOM.
+     */
+    @Nonnull
+    public List<StoredCBOM> findAll(@Nonnull Term... terms) {
+        final byte[][] keys = new byte[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            keys[i] = terms[i].key().getBytes(StandardCharsets.UTF_8);
+        }
+        final List<StoredCBOM> result = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            if (keys.length == 0) {
+                continue;
+            }
+            int[] documents = segment.postings(keys[0]);
+            for (int i = 1; i < keys.length && documents.length > 0; i++) {
+                documents = intersect(documents, segment.postings(keys[i]));
+            }
+            for (int document : documents) {
+                result.add(segment.document(document));
+            }
+        }
+        return result;
+    }
+
+    /** Decodes a stored CBOM. */
+    @Nonnull
+    public CBOM load(@Nonnull StoredCBOM stored) throws IOException, CBOMSerializationFailed {
+        final Segment segment = segments.get(stored.segment());
+        if (segment == null) {
+            throw new IOException(
+                    "Segment " + stored.segment() + " was compacted, the CBOM must be found again");
+        }
+        final ByteBuffer blob = segment.blob(stored.document());
+        final byte[] data = new byte[blob.remaining()];
+        blob.get(data);
+        return CBOM.decode(FORMAT, data);
+    }
+
+    /** Releases the segments. Mappings are unmapped once they are no longer referenced. */
+    @Override
+    public void close() {
+        segments = Map.of();
+    }
+
+    private static long position(int segment, int document) {
+        return (long) segment << 32 | document;
+    }
+
+    @Nonnull
+    private static int[] intersect(@Nonnull int[] a, @Nonnull int[] b) {
+        final int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /** Terms of every document of the segment, from its inverted index. */
+    @Nonnull
+    private static List<List<String>> termsByDocument(@Nonnull Segment segment) {
+        final List<List<String>> terms = new ArrayList<>(segment.documents());
+        for (int d = 0; d < segment.documents(); d++) {
+            terms.add(new ArrayList<>());
+        }
+        for (int t = 0; t < segment.terms(); t++) {
+            final String term = segment.term(t);
+            for (int document : segment.postingsOf(t)) {
+                terms.get(document).add(term);
+            }
+        }
+        return terms;
+    }
+
+    @Nonnull
+    static Set<String> termsOf(@Nonnull CBOM cbom) {
+        final Set<String> terms = new HashSet<>();
+        final List<Component> components = cbom.cycloneDXbom().getComponents();
+        if (components == null) {
+            return terms;
+        }
+        for (Component component : components) {
+            if (component.getName() != null) {
+                terms.add(new Term(Field.ALGORITHM, component.getName()).key());
+                final String family = CBOMIndex.familyOf(component.getName());
+                if (family != null) {
+                    terms.add(new Term(Field.ALGORITHM, family).key());
+                }
+            }
+            final CryptoProperties cryptoProperties = component.getCryptoProperties();
+            if (cryptoProperties == null) {
+                continue;
+            }
+            if (cryptoProperties.getAssetType() != null) {
+                terms.add(new Term(Field.ASSET_TYPE, cryptoProperties.getAssetType().name()).key());
+            }
+            final AlgorithmProperties algorithm = cryptoProperties.getAlgorithmProperties();
+            if (algorithm != null && algorithm.getPrimitive() != null) {
+                terms.add(new Term(Field.PRIMITIVE, algorithm.getPrimitive().name()).key());
+            }
+            if (algorithm != null && algorithm.getParameterSetIdentifier() != null) {
+                terms.add(
+                        new Term(Field.PARAMETER_SET, algorithm.getParameterSetIdentifier()).key());
+            }
+        }
+        return terms;
+    }
+
+    /** The metadata written by {@code CBOM.addMetadata}. */
+    @Nonnull
+    private static StoredCBOM metadataOf(@Nonnull CBOM cbom) {
+        final Metadata metadata = cbom.cycloneDXbom().getMetadata();
+        final Map<String, String> properties = new HashMap<>();
+        if (metadata != null && metadata.getProperties() != null) {
+            for (Property property : metadata.getProperties()) {
+                properties.putIfAbsent(property.getName(), property.getValue());
+            }
+        }
+        final long timestamp =
+                metadata != null && metadata.getTimestamp() != null
+                        ? metadata.getTimestamp().getTime()
+                        : -1;
+        return new StoredCBOM(
+                properties.get("gitUrl"),
+                properties.get("revision"),
+                properties.get("commit"),
+                properties.get("subfolder"),
+                timestamp,
+                "",
+                -1);
+    }
+
+    @Nonnull
+    private FileChannel openLock() throws IOException {
+        return FileChannel.open(
+                directory.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    @Nonnull
+    private List<String> readManifest() throws IOException {
+        final List<String> lines;
+        try {
+            lines = Files.readAllLines(directory.resolve(MANIFEST), StandardCharsets.UTF_8);
+        } catch (NoSuchFileException e) {
+            return List.of();
+        }
+        if (lines.isEmpty() || !lines.get(0).equals(MANIFEST_HEADER)) {
+            throw new IOException("Not a CBOM store manifest " + directory.resolve(MANIFEST));
+        }
+        return lines.subList(1, lines.size());
+    }
+
+    /** Replaces the manifest atomically, see {@code DirectoryCacheBackend}. */
+    private void writeManifest(@Nonnull List<String> names) throws IOException {
+        final List<String> lines = new ArrayList<>(names.size() + 1);
+        lines.add(MANIFEST_HEADER);
+        lines.addAll(names);
+        final Path tmp = Files.createTempFile(directory, "." + MANIFEST, ".tmp");
+        try {
+            Files.write(tmp, lines, StandardCharsets.UTF_8);
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            try {
+                Files.move(
+                        tmp,
+                        directory.resolve(MANIFEST),
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** Deletes segments not in the manifest, left by compactions and failed appends. */
+    private void deleteUnreferenced(@Nonnull List<String> names) throws IOException {
+        try (DirectoryStream<Path> files =
+                Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                if (!names.contains(file.getFileName().toString())) {
+                    try {
+                        Files.delete(file);
+                    } catch (IOException e) {
+                        // still mapped on platforms that do not allow that, retried next time
+                    }
+                }
+            }
+        }
+    }
+
+    private int nextSegmentNumber() throws IOException {
+        int max = 0;
+        try (DirectoryStream<Path> files =
+                Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                final String name = file.getFileName().toString();
+                final String number =
+                        name.substring(
+                                SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+                try {
+                    max = Math.max(max, Integer.parseInt(number));
+                } catch (NumberFormatException e) {
+                    // not a segment of the store
+                }
+            }
+        }
+        return max + 1;
+    }
+
+    @Nonnull
+    private static String segmentName(int number) {
+        return String.format(Locale.ROOT, "%s%06d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+    }
+}
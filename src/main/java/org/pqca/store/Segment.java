@@ -0,0 +1,190 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.store;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader of an immutable segment file, memory-mapped so that lookups do not load the segment into
+ * the heap. Only absolute reads are used, so a segment can be read by many threads.
+ *
+ * <p>Layout, all numbers big-endian:
+ *
+ * <pre>
+ * header     magic, version, documents, terms, offsets of the following sections, file length
+ * blobs      the CBOMs, Smile encoded
+ * documents  per document: blob offset (long), blob length, metadata offset into the strings
+ * terms      per term, sorted by UTF-8 bytes: term offset into the strings, first posting,
+ *            number of postings
+ * postings   ascending document numbers per term
+ * strings    length-prefixed UTF-8 strings (length -1 for null), document metadata with timestamp
+ * </pre>
+ */
+final class Segment {
+    static final int MAGIC = 0x43424F53;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 56;
+    static final int DOCUMENT_ENTRY_SIZE = 16;
+    static final int TERM_ENTRY_SIZE = 12;
+
+    @Nonnull private final String name;
+    @Nonnull private final ByteBuffer buffer;
+    private final int documents;
+    private final int terms;
+    private final int documentTable;
+    private final int termTable;
+    private final int postings;
+    private final int strings;
+
+    private Segment(@Nonnull String name, @Nonnull ByteBuffer buffer) throws IOException {
+        this.name = name;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(4) != VERSION
+                || buffer.getLong(48) != buffer.capacity()) {
+            throw new IOException("Invalid or incomplete segment " + name);
+        }
+        this.documents = buffer.getInt(8);
+        this.terms = buffer.getInt(12);
+        this.documentTable = (int) buffer.getLong(16);
+        this.termTable = (int) buffer.getLong(24);
+        this.postings = (int) buffer.getLong(32);
+        this.strings = (int) buffer.getLong(40);
+    }
+
+    @Nonnull
+    static Segment open(@Nonnull Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Segment too large " + path);
+            }
+            // the mapping stays valid after the channel is closed
+            final ByteBuffer buffer =
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new Segment(path.getFileName().toString(), buffer);
+        }
+    }
+
+    @Nonnull
+    String getName() {
+        return name;
+    }
+
+    int documents() {
+        return documents;
+    }
+
+    int terms() {
+        return terms;
+    }
+
+    /** Documents containing the term, ascending, empty if there are none. */
+    @Nonnull
+    int[] postings(@Nonnull byte[] term) {
+        int low = 0;
+        int high = terms - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int comparison = compareTerm(mid, term);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return postingsOf(mid);
+            }
+        }
+        return new int[0];
+    }
+
+    /** Postings of the term with the given number. */
+    @Nonnull
+    int[] postingsOf(int term) {
+        final int entry = termTable + term * TERM_ENTRY_SIZE;
+        final int first = buffer.getInt(entry + 4);
+        final int[] result = new int[buffer.getInt(entry + 8)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = buffer.getInt(postings + (first + i) * Integer.BYTES);
+        }
+        return result;
+    }
+
+    @Nonnull
+    String term(int term) {
+        return string(strings + buffer.getInt(termTable + term * TERM_ENTRY_SIZE));
+    }
+
+    @Nonnull
+    StoredCBOM document(int document) {
+        int position = strings + buffer.getInt(documentTable + document * DOCUMENT_ENTRY_SIZE + 12);
+        final long timestamp = buffer.getLong(position);
+        position += Long.BYTES;
+        final String[] values = new String[4];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = string(position);
+            position += Integer.BYTES + Math.max(0, buffer.getInt(position));
+        }
+        return new StoredCBOM(
+                values[0], values[1], values[2], values[3], timestamp, name, document);
+    }
+
+    /** The encoded CBOM, a read-only view of the mapped file. */
+    @Nonnull
+    ByteBuffer blob(int document) {
+        final int entry = documentTable + document * DOCUMENT_ENTRY_SIZE;
+        final int offset = (int) buffer.getLong(entry);
+        final int length = buffer.getInt(entry + 8);
+        return buffer.slice(offset, length).asReadOnlyBuffer();
+    }
+
+    /** Compares the UTF-8 bytes of the term with the given number to the given bytes. */
+    private int compareTerm(int term, @Nonnull byte[] other) {
+        final int position = strings + buffer.getInt(termTable + term * TERM_ENTRY_SIZE);
+        final int length = buffer.getInt(position);
+        final int common = Math.min(length, other.length);
+        for (int i = 0; i < common; i++) {
+            final int comparison =
+                    Integer.compare(
+                            buffer.get(position + Integer.BYTES + i) & 0xff, other[i] & 0xff);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(length, other.length);
+    }
+
+    @Nullable private String string(int position) {
+        final int length = buffer.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
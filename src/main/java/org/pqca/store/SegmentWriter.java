@@ -0,0 +1,208 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.store;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a segment file, see {@link Segment} for the layout. Blobs are streamed to the file as
+ * they are added, the tables are kept in memory and written by {@link #finish()}.
+ */
+final class SegmentWriter implements Closeable {
+    @Nonnull private final Path path;
+    @Nonnull private final DataOutputStream out;
+    @Nonnull private final WritableByteChannel blobChannel;
+    @Nonnull private final List<long[]> documents = new ArrayList<>();
+    @Nonnull private final Map<String, Postings> postings = new HashMap<>();
+    // document metadata, and later the terms, as referenced by the tables
+    @Nonnull private final ByteArrayOutputStream stringBytes = new ByteArrayOutputStream();
+    @Nonnull private final DataOutputStream strings = new DataOutputStream(stringBytes);
+    private long position;
+    private boolean finished;
+
+    SegmentWriter(@Nonnull Path path) throws IOException {
+        this.path = path;
+        this.out =
+                new DataOutputStream(
+                        new BufferedOutputStream(
+                                Files.newOutputStream(path, StandardOpenOption.CREATE_NEW),
+                                1 << 16));
+        this.blobChannel = Channels.newChannel(out);
+        // the header is written once the offsets are known
+        out.write(new byte[Segment.HEADER_SIZE]);
+        this.position = Segment.HEADER_SIZE;
+    }
+
+    /** Bytes written to the file so far. */
+    long size() {
+        return position;
+    }
+
+    int documents() {
+        return documents.size();
+    }
+
+    /** Adds a CBOM with its metadata and terms, returns its document number. */
+    int add(
+            @Nonnull StoredCBOM metadata,
+            @Nonnull ByteBuffer blob,
+            @Nonnull Collection<String> terms)
+            throws IOException {
+        final int document = documents.size();
+        final long offset = position;
+        final int length = blob.remaining();
+        while (blob.hasRemaining()) {
+            blobChannel.write(blob);
+        }
+        position += length;
+
+        final int metadataOffset = strings.size();
+        strings.writeLong(metadata.timestamp());
+        writeString(metadata.repository());
+        writeString(metadata.revision());
+        writeString(metadata.commit());
+        writeString(metadata.subFolder());
+        documents.add(new long[] {offset, length, metadataOffset});
+
+        for (String term : terms) {
+            postings.computeIfAbsent(term, k -> new Postings()).add(document);
+        }
+        return document;
+    }
+
+    /** Writes the tables and the header, and makes the segment durable. */
+    void finish() throws IOException {
+        final List<Term> terms = new ArrayList<>(postings.size());
+        postings.forEach(
+                (term, list) -> terms.add(new Term(term.getBytes(StandardCharsets.UTF_8), list)));
+        // readers binary search the terms by their bytes
+        terms.sort((a, b) -> Arrays.compareUnsigned(a.bytes(), b.bytes()));
+
+        final long documentTable = position;
+        for (long[] document : documents) {
+            out.writeLong(document[0]);
+            out.writeInt((int) document[1]);
+            out.writeInt((int) document[2]);
+        }
+        position += (long) documents.size() * Segment.DOCUMENT_ENTRY_SIZE;
+
+        final long termTable = position;
+        int firstPosting = 0;
+        for (Term term : terms) {
+            out.writeInt(strings.size());
+            strings.writeInt(term.bytes().length);
+            strings.write(term.bytes());
+            out.writeInt(firstPosting);
+            out.writeInt(term.postings().size);
+            firstPosting += term.postings().size;
+        }
+        position += (long) terms.size() * Segment.TERM_ENTRY_SIZE;
+
+        final long postingsOffset = position;
+        for (Term term : terms) {
+            for (int i = 0; i < term.postings().size; i++) {
+                out.writeInt(term.postings().documents[i]);
+            }
+        }
+        position += (long) firstPosting * Integer.BYTES;
+
+        final long stringsOffset = position;
+        stringBytes.writeTo(out);
+        position += stringBytes.size();
+        out.close();
+        if (position > Integer.MAX_VALUE) {
+            throw new IOException("Segment too large " + path);
+        }
+
+        final ByteBuffer header = ByteBuffer.allocate(Segment.HEADER_SIZE);
+        header.putInt(Segment.MAGIC)
+                .putInt(Segment.VERSION)
+                .putInt(documents.size())
+                .putInt(terms.size())
+                .putLong(documentTable)
+                .putLong(termTable)
+                .putLong(postingsOffset)
+                .putLong(stringsOffset)
+                .putLong(position)
+                .flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+        finished = true;
+    }
+
+    private record Term(@Nonnull byte[] bytes, @Nonnull Postings postings) {}
+
+    /** Growable list of ascending document numbers. */
+    private static final class Postings {
+        @Nonnull private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            // terms are added once per document, documents in increasing order
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+    }
+
+    private void writeString(@Nullable String value) throws IOException {
+        if (value == null) {
+            strings.writeInt(-1);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        strings.writeInt(bytes.length);
+        strings.write(bytes);
+    }
+
+    /** Closes the file, an unfinished segment is deleted. */
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            out.close();
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.store;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+
+/**
+ * A CBOM in a {@link CBOMStore}, described by the metadata written by {@code CBOM.addMetadata}.
+ *
+ * @param repository the git URL of the scanned repository
+ * @param timestamp milliseconds since the epoch of the metadata timestamp, or -1
+ * @param segment segment file the CBOM is stored in, changes on compaction
+ * @param document number of the CBOM in the segment
+ */
+public record StoredCBOM(
+        @Nullable String repository,
+        @Nullable String revision,
+        @Nullable String commit,
+        @Nullable String subFolder,
+        long timestamp,
+        @Nonnull String segment,
+        int document) {}
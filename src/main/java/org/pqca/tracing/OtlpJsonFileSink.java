@@ -0,0 +1,169 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Appends spans to a file in the OTLP/JSON encoding, one {@code ExportTraceServiceRequest} per
+ * line as written by the OpenTelemetry collector file exporter. Spans are buffered until {@link
+ * #flush()} or {@link #close()}, or until a batch is full, so that long scans neither hold all of
+ * their spans nor lose them if the scan fails.
+ */
+public final class OtlpJsonFileSink implements ISpanSink, AutoCloseable {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String SCOPE_NAME = "org.pqca.cbomkit";
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int STATUS_CODE_ERROR = 2;
+    public static final int DEFAULT_BATCH_SIZE = 512;
+
+    @Nonnull private final Path file;
+    @Nonnull private final String serviceName;
+    private final int batchSize;
+    @Nonnull private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+    @Nonnull private final AtomicInteger buffered = new AtomicInteger();
+
+    public OtlpJsonFileSink(@Nonnull Path file) {
+        this(file, "cbomkit");
+    }
+
+    public OtlpJsonFileSink(@Nonnull Path file, @Nonnull String serviceName) {
+        this(file, serviceName, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param batchSize maximum number of spans buffered and written per line
+     */
+    public OtlpJsonFileSink(@Nonnull Path file, @Nonnull String serviceName, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.file = file;
+        this.serviceName = serviceName;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void export(@Nonnull Span span) {
+        spans.add(span);
+        if (buffered.incrementAndGet() >= batchSize) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        final List<Span> batch = new ArrayList<>(batchSize);
+        for (Span span = spans.poll(); span != null; span = spans.poll()) {
+            buffered.decrementAndGet();
+            batch.add(span);
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(@Nonnull List<Span> batch) throws IOException {
+        final String line = MAPPER.writeValueAsString(toRequest(batch)) + "\n";
+        Files.writeString(
+                file,
+                line,
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    @Nonnull
+    private ObjectNode toRequest(@Nonnull List<Span> batch) {
+        final ObjectNode request = MAPPER.createObjectNode();
+        final ObjectNode resourceSpans = request.putArray("resourceSpans").addObject();
+        final ArrayNode resourceAttributes =
+                resourceSpans.putObject("resource").putArray("attributes");
+        addAttribute(resourceAttributes, "service.name", serviceName);
+        final ObjectNode scopeSpans = resourceSpans.putArray("scopeSpans").addObject();
+        scopeSpans.putObject("scope").put("name", SCOPE_NAME);
+        final ArrayNode spanArray = scopeSpans.putArray("spans");
+        for (Span span : batch) {
+            final ObjectNode node = spanArray.addObject();
+            node.put("traceId", span.getTraceId());
+            node.put("spanId", span.getSpanId());
+            if (span.getParentSpanId() != null) {
+                node.put("parentSpanId", span.getParentSpanId());
+            }
+            node.put("name", span.getName());
+            node.put("kind", SPAN_KIND_INTERNAL);
+            // 64 bit integers are encoded as strings in OTLP/JSON
+            node.put("startTimeUnixNano", Long.toString(span.getStartEpochNanos()));
+            node.put("endTimeUnixNano", Long.toString(span.getEndEpochNanos()));
+            final ArrayNode attributes = node.putArray("attributes");
+            for (Map.Entry<String, Object> attribute : span.getAttributes().entrySet()) {
+                addAttribute(attributes, attribute.getKey(), attribute.getValue());
+            }
+            if (span.isError()) {
+                node.putObject("status").put("code", STATUS_CODE_ERROR);
+            }
+        }
+        return request;
+    }
+
+    private static void addAttribute(
+            @Nonnull ArrayNode attributes, @Nonnull String key, @Nonnull Object value) {
+        final ObjectNode attribute = attributes.addObject();
+        attribute.put("key", key);
+        final ObjectNode anyValue = attribute.putObject("value");
+        if (value instanceof Long longValue) {
+            anyValue.put("intValue", Long.toString(longValue));
+        } else if (value instanceof Double doubleValue) {
+            anyValue.put("doubleValue", doubleValue);
+        } else if (value instanceof Boolean booleanValue) {
+            anyValue.put("boolValue", booleanValue);
+        } else {
+            anyValue.put("stringValue", value.toString());
+        }
+    }
+}
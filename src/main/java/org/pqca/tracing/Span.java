@@ -0,0 +1,135 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.tracing;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A timed operation of a trace. Attributes are strings, longs, doubles or booleans. A span is
+ * handed to the sink of its tracer once it ended.
+ */
+public final class Span {
+    @Nonnull private final Tracer tracer;
+    @Nonnull private final String traceId;
+    @Nonnull private final String spanId;
+    @Nullable private final String parentSpanId;
+    @Nonnull private final String name;
+    private final long startEpochNanos;
+    private volatile long endEpochNanos;
+    private volatile boolean error;
+    @Nonnull private final Map<String, Object> attributes = new LinkedHashMap<>();
+
+    Span(
+            @Nonnull Tracer tracer,
+            @Nonnull String traceId,
+            @Nonnull String spanId,
+            @Nullable String parentSpanId,
+            @Nonnull String name,
+            long startEpochNanos) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.startEpochNanos = startEpochNanos;
+    }
+
+    @Nonnull
+    public String getTraceId() {
+        return traceId;
+    }
+
+    @Nonnull
+    public String getSpanId() {
+        return spanId;
+    }
+
+    @Nullable public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    /** Zero while the span has not ended. */
+    public long getEndEpochNanos() {
+        return endEpochNanos;
+    }
+
+    public boolean isError() {
+        return error;
+    }
+
+    @Nonnull
+    public synchronized Map<String, Object> getAttributes() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+    }
+
+    @Nonnull
+    public synchronized Span setAttribute(@Nonnull String key, @Nullable String value) {
+        if (value != null) {
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    @Nonnull
+    public synchronized Span setAttribute(@Nonnull String key, long value) {
+        attributes.put(key, value);
+        return this;
+    }
+
+    @Nonnull
+    public synchronized Span setAttribute(@Nonnull String key, double value) {
+        attributes.put(key, value);
+        return this;
+    }
+
+    @Nonnull
+    public synchronized Span setAttribute(@Nonnull String key, boolean value) {
+        attributes.put(key, value);
+        return this;
+    }
+
+    public void setError(boolean error) {
+        this.error = error;
+    }
+
+    /** Ends the span and exports it. Ending a span twice has no effect. */
+    public void end() {
+        synchronized (this) {
+            if (endEpochNanos != 0) {
+                return;
+            }
+            endEpochNanos = Math.max(tracer.now(), startEpochNanos);
+        }
+        tracer.export(this);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.tracing;
+
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/** Creates spans and hands them to a sink when they end. */
+public final class Tracer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Tracer.class);
+
+    @Nonnull private final ISpanSink sink;
+    // the wall clock is read once, span times are derived from the monotonic clock
+    private final long epochNanosAtStart;
+    private final long nanoTimeAtStart;
+
+    public Tracer(@Nonnull ISpanSink sink) {
+        this.sink = sink;
+        final Instant now = Instant.now();
+        this.epochNanosAtStart = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        this.nanoTimeAtStart = System.nanoTime();
+    }
+
+    /** Starts a span as child of the given parent, or as root of a new trace. */
+    @Nonnull
+    public Span startSpan(@Nonnull String name, @Nullable Span parent) {
+        final String traceId = parent != null ? parent.getTraceId() : randomId(16);
+        final String parentSpanId = parent != null ? parent.getSpanId() : null;
+        return new Span(this, traceId, randomId(8), parentSpanId, name, now());
+    }
+
+    public void flush() {
+        try {
+            sink.flush();
+        } catch (IOException e) {
+            LOGGER.error("Failed to export spans: {}", e.getMessage());
+        }
+    }
+
+    long now() {
+        return epochNanosAtStart + (System.nanoTime() - nanoTimeAtStart);
+    }
+
+    void export(@Nonnull Span span) {
+        try {
+            sink.export(span);
+        } catch (RuntimeException e) {
+            // tracing must never fail a scan
+            LOGGER.error("Failed to export span {}: {}", span.getName(), e.getMessage());
+        }
+    }
+
+    @Nonnull
+    private static String randomId(int bytes) {
+        final byte[] id = new byte[bytes];
+        do {
+            ThreadLocalRandom.current().nextBytes(id);
+        } while (isZero(id));
+        return HexFormat.of().formatHex(id);
+    }
+
+    private static boolean isZero(@Nonnull byte[] id) {
+        for (byte b : id) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
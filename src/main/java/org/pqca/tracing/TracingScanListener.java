@@ -0,0 +1,197 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.tracing;
+
+import com.ibm.mapper.model.INode;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.Nullable;
+import java.util.List;
+import org.pqca.indexing.IBuildType;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.scanning.IScanListener;
+import org.pqca.scanning.ScanResultDTO;
+import org.sonar.api.batch.fs.InputFile;
+
+/**
+ * Records a trace per scan with the spans scan, module, batch and file. Batches only exist for
+ * scanners analyzing several files at once, otherwise files are children of their module.
+ */
+public final class TracingScanListener implements IScanListener {
+    @Nonnull private final Tracer tracer;
+    @Nullable private final Span parent;
+    @Nullable private final IBuildType buildType;
+
+    @Nullable private volatile Span scanSpan;
+    @Nullable private volatile Span moduleSpan;
+    @Nullable private volatile Span batchSpan;
+    @Nullable private volatile Span fileSpan;
+    private int moduleFindings;
+    private int batchFindings;
+    private int fileFindings;
+
+    public TracingScanListener(@Nonnull Tracer tracer) {
+        this(tracer, null, null);
+    }
+
+    /**
+     * @param parent the span the scan spans are children of, e.g. the span of a whole pipeline
+     * @param buildType the build type found by the indexing service, see {@link
+     *     org.pqca.indexing.IndexingService#getMainBuildType()}
+     */
+    public TracingScanListener(
+            @Nonnull Tracer tracer, @Nullable Span parent, @Nullable IBuildType buildType) {
+        this.tracer = tracer;
+        this.parent = parent;
+        this.buildType = buildType;
+    }
+
+    @Override
+    public void scanStarted() {
+        final Span span = tracer.startSpan("scan", parent);
+        if (buildType != null) {
+            span.setAttribute("cbomkit.build_type", buildType.toString());
+        }
+        this.scanSpan = span;
+    }
+
+    @Override
+    public void scanFinished(@Nonnull ScanResultDTO result) {
+        final Span span = this.scanSpan;
+        if (span == null) {
+            return;
+        }
+        span.setAttribute("cbomkit.files", result.numberOfScannedFiles());
+        span.setAttribute("cbomkit.lines", result.numberOfScannedLines());
+        if (result.cbom() != null) {
+            span.setAttribute("cbomkit.findings", result.cbom().getNumberOfFindings());
+        }
+        span.setAttribute("cbomkit.timed_out_files", result.timedOutFiles().size());
+        span.end();
+        this.scanSpan = null;
+        tracer.flush();
+    }
+
+    @Override
+    public void scanFailed(@Nonnull Throwable throwable) {
+        final Span span = this.scanSpan;
+        if (span != null) {
+            span.setAttribute("cbomkit.error", throwable.getClass().getName());
+        }
+        // end the spans left open by the failure, innermost first
+        for (Span open : new Span[] {fileSpan, batchSpan, moduleSpan, span}) {
+            if (open != null) {
+                open.setError(true);
+                open.end();
+            }
+        }
+        this.fileSpan = null;
+        this.batchSpan = null;
+        this.moduleSpan = null;
+        this.scanSpan = null;
+        tracer.flush();
+    }
+
+    @Override
+    public void moduleStarted(@Nonnull ProjectModule module) {
+        final Span span = tracer.startSpan("module", scanSpan);
+        span.setAttribute("cbomkit.module", module.identifier());
+        span.setAttribute("cbomkit.files", module.inputFileList().size());
+        if (buildType != null) {
+            span.setAttribute("cbomkit.build_type", buildType.toString());
+        }
+        this.moduleFindings = 0;
+        this.moduleSpan = span;
+    }
+
+    @Override
+    public void moduleFinished(@Nonnull ProjectModule module) {
+        endAbandonedFile();
+        final Span span = this.moduleSpan;
+        if (span != null) {
+            span.setAttribute("cbomkit.findings", moduleFindings);
+            span.end();
+            this.moduleSpan = null;
+        }
+    }
+
+    @Override
+    public void batchStarted(@Nonnull List<InputFile> inputFiles) {
+        final Span span = tracer.startSpan("batch", moduleSpan != null ? moduleSpan : scanSpan);
+        span.setAttribute("cbomkit.files", inputFiles.size());
+        this.batchFindings = 0;
+        this.batchSpan = span;
+    }
+
+    @Override
+    public void batchFinished(@Nonnull List<InputFile> inputFiles) {
+        endAbandonedFile();
+        final Span span = this.batchSpan;
+        if (span != null) {
+            span.setAttribute("cbomkit.findings", batchFindings);
+            span.end();
+            this.batchSpan = null;
+        }
+    }
+
+    @Override
+    public void fileStarted(@Nonnull InputFile inputFile) {
+        endAbandonedFile();
+        final Span span = tracer.startSpan("file", innermost());
+        span.setAttribute("cbomkit.file", inputFile.toString());
+        span.setAttribute("cbomkit.lines", inputFile.lines());
+        this.fileFindings = 0;
+        this.fileSpan = span;
+    }
+
+    @Override
+    public void fileFinished(@Nonnull InputFile inputFile) {
+        final Span span = this.fileSpan;
+        if (span != null) {
+            span.setAttribute("cbomkit.findings", fileFindings);
+            span.end();
+            this.fileSpan = null;
+        }
+    }
+
+    @Override
+    public void findingsDetected(@Nonnull List<INode> nodes) {
+        moduleFindings++;
+        batchFindings++;
+        fileFindings++;
+    }
+
+    // a file that exceeded its scan budget is never reported as finished
+    private void endAbandonedFile() {
+        final Span span = this.fileSpan;
+        if (span != null) {
+            span.setError(true);
+            span.setAttribute("cbomkit.timed_out", true);
+            span.end();
+            this.fileSpan = null;
+        }
+    }
+
+    @Nullable private Span innermost() {
+        if (batchSpan != null) {
+            return batchSpan;
+        }
+        return moduleSpan != null ? moduleSpan : scanSpan;
+    }
+}
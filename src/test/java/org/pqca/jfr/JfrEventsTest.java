@@ -0,0 +1,80 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.indexing.python.PythonIndexService;
+import org.pqca.scanning.python.PythonScannerService;
+
+class JfrEventsTest {
+
+    @Test
+    void testScanEvents(@TempDir Path tempDir) throws Exception {
+        final File projectDirectory = new File("src/test/testdata/python/pyca");
+        final Path dump = tempDir.resolve("scan.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(IndexingEvent.class);
+            recording.enable(ModuleScanEvent.class);
+            recording.enable(FileScanEvent.class);
+            recording.enable(DetectionEvent.class);
+            recording.enable(CBOMSerializationEvent.class);
+            recording.start();
+
+            final List<ProjectModule> projectModules =
+                    new PythonIndexService(projectDirectory).index(null);
+            new PythonScannerService(projectDirectory).scan(projectModules).cbom().toJSON();
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertThat(events).filteredOn(e -> isEvent(e, "org.pqca.Indexing")).hasSize(1);
+        assertThat(events).filteredOn(e -> isEvent(e, "org.pqca.ModuleScan")).hasSize(1);
+        assertThat(events).filteredOn(e -> isEvent(e, "org.pqca.Detection")).isNotEmpty();
+        assertThat(events)
+                .filteredOn(e -> isEvent(e, "org.pqca.FileScan"))
+                .singleElement()
+                .satisfies(
+                        e -> {
+                            assertThat(e.getString("path")).endsWith("generate_key.py");
+                            assertThat(e.getLong("bytes")).isPositive();
+                            assertThat(e.getInt("findings")).isPositive();
+                        });
+        assertThat(events)
+                .filteredOn(e -> isEvent(e, "org.pqca.CBOMSerialization"))
+                .singleElement()
+                .satisfies(e -> assertThat(e.getInt("findings")).isEqualTo(5));
+    }
+
+    private static boolean isEvent(RecordedEvent event, String name) {
+        return event.getEventType().getName().equals(name);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.indexing.python.PythonIndexService;
+import org.pqca.scanning.python.PythonScannerService;
+
+class MetricsRegistryTest {
+
+    @Test
+    void testPrometheusText() {
+        final MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("test_total", "A counter").add(3);
+        registry.gauge("test_gauge", "A gauge", () -> 7);
+        final Histogram histogram =
+                registry.histogram("test_size", "A histogram", new long[] {10, 100}, 1);
+        histogram.record(5);
+        histogram.record(50);
+        histogram.record(500);
+
+        assertThat(registry.counter("test_total", "A counter").get()).isEqualTo(3);
+        assertThat(PrometheusExporter.toText(registry))
+                .contains("# TYPE test_total counter\ntest_total 3\n")
+                .contains("# TYPE test_gauge gauge\ntest_gauge 7\n")
+                .contains("test_size_bucket{le=\"10\"} 1\n")
+                .contains("test_size_bucket{le=\"100\"} 2\n")
+                .contains("test_size_bucket{le=\"+Inf\"} 3\n")
+                .contains("test_size_sum 555\n")
+                .contains("test_size_count 3\n");
+        assertThatThrownBy(() -> registry.timer("test_total", "Not a counter"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testJmx() throws Exception {
+        final MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("test_total", "A counter").increment();
+        registry.timer("test_seconds", "A timer").record(2_000_000L);
+
+        final ObjectName name = JmxExporter.register(registry, "test");
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertThat(server.getAttribute(name, "test_total")).isEqualTo(1L);
+            assertThat(server.getAttribute(name, "test_seconds_count")).isEqualTo(1L);
+            assertThat((double) server.getAttribute(name, "test_seconds_p99"))
+                    .isCloseTo(0.0025, offset(1e-9));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    void testScanMetrics() throws Exception {
+        final MetricsRegistry registry = new MetricsRegistry();
+        final File projectDirectory = new File("src/test/testdata/python/pyca");
+        final PythonIndexService indexService = new PythonIndexService(projectDirectory);
+        indexService.setMetricsRegistry(registry);
+        final List<ProjectModule> projectModules = indexService.index(null);
+        final PythonScannerService scannerService = new PythonScannerService(projectDirectory);
+        scannerService.setMetricsRegistry(registry);
+        scannerService.scan(projectModules);
+
+        final ScanMetrics metrics = ScanMetrics.of(registry);
+        assertThat(metrics.filesIndexed().get()).isEqualTo(1);
+        assertThat(metrics.bytesRead().get()).isPositive();
+        assertThat(metrics.filesParsed().get()).isEqualTo(1);
+        assertThat(metrics.findings().get()).isPositive();
+        assertThat(metrics.parseTime().snapshot().count()).isEqualTo(1);
+        assertThat(metrics.fileAnalysisTime().snapshot().count()).isEqualTo(1);
+        assertThat(metrics.translationTime().snapshot().count())
+                .isEqualTo(metrics.findings().get());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.performance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stored results of the {@link PerformanceRegressionTest}, per language. Since the numbers depend
+ * on the machine, the baseline records the JVM it was measured on.
+ */
+record PerformanceBaseline(
+        @Nonnull String javaVersion,
+        int availableProcessors,
+        @Nonnull Map<String, LanguageBaseline> languages) {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // scales the median absolute deviation to a standard deviation for normal distributions
+    private static final double MAD_SCALE = 1.4826;
+
+    record LanguageBaseline(
+            @Nonnull Statistics linesPerSecond, @Nonnull Statistics peakHeapBytes) {}
+
+    /** Median and median absolute deviation of the measured iterations. */
+    record Statistics(double median, double mad, int samples) {
+
+        @Nonnull
+        static Statistics of(@Nonnull double[] values) {
+            double median = median(values);
+            double[] deviations =
+                    Arrays.stream(values).map(value -> Math.abs(value - median)).toArray();
+            return new Statistics(median, median(deviations), values.length);
+        }
+
+        private static double median(@Nonnull double[] values) {
+            double[] sorted = values.clone();
+            Arrays.sort(sorted);
+            int middle = sorted.length / 2;
+            return sorted.length % 2 == 1
+                    ? sorted[middle]
+                    : (sorted[middle - 1] + sorted[middle]) / 2;
+        }
+
+        /**
+         * The allowed difference to this baseline: the relative tolerance, or three standard
+         * deviations of the combined noise of both measurements if that is larger.
+         */
+        double threshold(@Nonnull Statistics current, double tolerance) {
+            return Math.max(tolerance * median, 3 * MAD_SCALE * (mad + current.mad()));
+        }
+    }
+
+    @Nonnull
+    static PerformanceBaseline current(@Nonnull Map<String, LanguageBaseline> languages) {
+        return new PerformanceBaseline(
+                System.getProperty("java.version"),
+                Runtime.getRuntime().availableProcessors(),
+                new TreeMap<>(languages));
+    }
+
+    /** Whether the baseline was measured on a comparable JVM. */
+    boolean isComparable(@Nonnull PerformanceBaseline other) {
+        return javaVersion.equals(other.javaVersion())
+                && availableProcessors == other.availableProcessors();
+    }
+
+    /**
+     * Describes every language whose throughput dropped, or whose peak heap grew, by more than the
+     * threshold of the baseline.
+     */
+    @Nonnull
+    List<String> regressions(
+            @Nonnull PerformanceBaseline current,
+            double throughputTolerance,
+            double memoryTolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, LanguageBaseline> entry : languages.entrySet()) {
+            LanguageBaseline measured = current.languages().get(entry.getKey());
+            if (measured == null) {
+                continue;
+            }
+            Statistics before = entry.getValue().linesPerSecond();
+            Statistics after = measured.linesPerSecond();
+            if (before.median() - after.median() > before.threshold(after, throughputTolerance)) {
+                regressions.add(describe(entry.getKey() + " lines/s", before, after));
+            }
+            before = entry.getValue().peakHeapBytes();
+            after = measured.peakHeapBytes();
+            if (after.median() - before.median() > before.threshold(after, memoryTolerance)) {
+                regressions.add(describe(entry.getKey() + " peak heap bytes", before, after));
+            }
+        }
+        return regressions;
+    }
+
+    @Nonnull
+    private static String describe(
+            @Nonnull String metric, @Nonnull Statistics before, @Nonnull Statistics after) {
+        return String.format(
+                Locale.ROOT,
+                "%s: %.0f (±%.0f) -> %.0f (±%.0f), %+.1f%%",
+                metric,
+                before.median(),
+                before.mad(),
+                after.median(),
+                after.mad(),
+                (after.median() / before.median() - 1) * 100);
+    }
+
+    void write(@Nonnull Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), this);
+    }
+
+    @Nonnull
+    static PerformanceBaseline read(@Nonnull Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), PerformanceBaseline.class);
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.performance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pqca.indexing.IndexingService;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.indexing.java.JavaIndexService;
+import org.pqca.indexing.python.PythonIndexService;
+import org.pqca.performance.PerformanceBaseline.LanguageBaseline;
+import org.pqca.performance.PerformanceBaseline.Statistics;
+import org.pqca.scanning.ScanResultDTO;
+import org.pqca.scanning.ScannerService;
+import org.pqca.scanning.java.JavaScannerService;
+import org.pqca.scanning.python.PythonScannerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Indexes and scans a corpus built from the test data, and compares throughput and peak heap with
+ * the baseline in {@value #BASELINE}. The check only runs in the {@code performance} profile, where
+ * regressions fail the build, unless {@code -Dcbomkit.perf.mode=warn}. Without a baseline the check
+ * is skipped. The baseline is recorded on the reference machine with
+ *
+ * <pre>
+ * mvn test -Pperformance -Dcbomkit.perf.update=true
+ * </pre>
+ */
+class PerformanceRegressionTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PerformanceRegressionTest.class);
+
+    static final String BASELINE = "src/test/resources/performance/baseline.json";
+
+    private static final int PYTHON_COPIES = 50;
+    private static final int WARMUP = Integer.getInteger("cbomkit.perf.warmup", 2);
+    private static final int ITERATIONS = Integer.getInteger("cbomkit.perf.iterations", 5);
+    private static final double THROUGHPUT_TOLERANCE =
+            Double.parseDouble(System.getProperty("cbomkit.perf.tolerance", "0.15"));
+    private static final double MEMORY_TOLERANCE =
+            Double.parseDouble(System.getProperty("cbomkit.perf.memoryTolerance", "0.25"));
+
+    private interface Pipeline {
+        ScanResultDTO run(File directory) throws Exception;
+    }
+
+    @Test
+    @Tag("performance")
+    void testNoRegression(@TempDir Path corpus) throws Exception {
+        final String mode = System.getProperty("cbomkit.perf.mode", "warn");
+        assumeFalse("skip".equals(mode), "Performance check skipped");
+        final boolean update = Boolean.getBoolean("cbomkit.perf.update");
+        final Path baselinePath = Path.of(BASELINE);
+        // nothing to compare with until a baseline was recorded on the reference machine
+        assumeTrue(
+                update || Files.exists(baselinePath),
+                "No performance baseline, record one with -Dcbomkit.perf.update=true");
+
+        final Map<String, LanguageBaseline> languages = new LinkedHashMap<>();
+        languages.put(
+                "java",
+                measure(
+                        new File("src/test/testdata/java/keycloak"),
+                        directory -> {
+                            final JavaScannerService scannerService =
+                                    new JavaScannerService(directory);
+                            scannerService.setRequireBuild(false);
+                            return scan(new JavaIndexService(directory), scannerService);
+                        }));
+        languages.put(
+                "python",
+                measure(
+                        pythonCorpus(corpus),
+                        directory ->
+                                scan(
+                                        new PythonIndexService(directory),
+                                        new PythonScannerService(directory))));
+        final PerformanceBaseline current = PerformanceBaseline.current(languages);
+
+        if (update) {
+            current.write(baselinePath);
+            LOGGER.info("Recorded performance baseline {}", baselinePath.toAbsolutePath());
+            return;
+        }
+        final PerformanceBaseline baseline = PerformanceBaseline.read(baselinePath);
+        final List<String> regressions =
+                baseline.regressions(current, THROUGHPUT_TOLERANCE, MEMORY_TOLERANCE);
+        if (regressions.isEmpty()) {
+            return;
+        }
+        final String message = "Performance regressions:\n  " + String.join("\n  ", regressions);
+        if ("fail".equals(mode) && baseline.isComparable(current)) {
+            fail(message);
+        }
+        LOGGER.warn(message);
+    }
+
+    @Test
+    void testStatistics() {
+        final Statistics baseline = Statistics.of(new double[] {1000, 1010, 990, 1005, 995});
+        assertThat(baseline.median()).isEqualTo(1000);
+        assertThat(baseline.mad()).isEqualTo(5);
+
+        final Statistics noise = Statistics.of(new double[] {940, 950, 960, 945, 955});
+        final Statistics slower = Statistics.of(new double[] {500, 520, 480, 510, 490});
+        final PerformanceBaseline before = baseline(baseline);
+        assertThat(before.regressions(baseline(noise), 0.15, 0.25)).isEmpty();
+        assertThat(before.regressions(baseline(slower), 0.15, 0.25))
+                .singleElement()
+                .asString()
+                .startsWith("java lines/s");
+
+        // a noisy measurement widens the threshold beyond the relative tolerance
+        final Statistics noisy = Statistics.of(new double[] {1000, 1300, 700, 1150, 850});
+        assertThat(noisy.threshold(noise, 0.15)).isGreaterThan(0.15 * noisy.median());
+    }
+
+    private static PerformanceBaseline baseline(Statistics linesPerSecond) {
+        return PerformanceBaseline.current(
+                Map.of(
+                        "java",
+                        new LanguageBaseline(
+                                linesPerSecond,
+                                Statistics.of(new double[] {1 << 20, 1 << 20}))));
+    }
+
+    private static LanguageBaseline measure(File directory, Pipeline pipeline) throws Exception {
+        final double[] linesPerSecond = new double[ITERATIONS];
+        final double[] peakHeapBytes = new double[ITERATIONS];
+        for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+            System.gc();
+            resetPeakHeap();
+            final long start = System.nanoTime();
+            final ScanResultDTO result = pipeline.run(directory);
+            final long nanos = System.nanoTime() - start;
+            assertThat(result.numberOfScannedFiles()).isPositive();
+            if (i >= WARMUP) {
+                linesPerSecond[i - WARMUP] = result.numberOfScannedLines() * 1e9 / nanos;
+                peakHeapBytes[i - WARMUP] = resetPeakHeap();
+            }
+        }
+        return new LanguageBaseline(Statistics.of(linesPerSecond), Statistics.of(peakHeapBytes));
+    }
+
+    private static ScanResultDTO scan(IndexingService indexService, ScannerService scannerService)
+            throws Exception {
+        final List<ProjectModule> modules = indexService.index(null);
+        return scannerService.scan(modules);
+    }
+
+    /** Copies of the pyca sample, since a single file is too small to measure. */
+    private static File pythonCorpus(Path corpus) throws IOException {
+        final Path source = Path.of("src/test/testdata/python/pyca");
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : files.toList()) {
+                for (int copy = 0; copy < PYTHON_COPIES; copy++) {
+                    final Path target = corpus.resolve("python/copy" + copy);
+                    Files.createDirectories(target);
+                    Files.copy(file, target.resolve(file.getFileName()));
+                }
+            }
+        }
+        return corpus.resolve("python").toFile();
+    }
+
+    /** Returns the summed peak usage of the heap pools since the last reset. */
+    private static long resetPeakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+                pool.resetPeakUsage();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.indexing.python.PythonIndexService;
+import org.pqca.scanning.ScanResultDTO;
+import org.pqca.scanning.python.PythonScannerService;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+
+class ScanProfilerTest {
+
+    @Test
+    void testProfileReport(@TempDir Path tempDir) throws Exception {
+        final File projectDirectory = new File("src/test/testdata/python/pyca");
+        final List<ProjectModule> projectModules =
+                new PythonIndexService(projectDirectory).index(null);
+        final PythonScannerService scannerService = new PythonScannerService(projectDirectory);
+        scannerService.setProfiler(new ScanProfiler(10));
+        final ScanResultDTO scanResult = scannerService.scan(projectModules);
+
+        final ProfileReport report = scanResult.profileReport();
+        assertThat(report).isNotNull();
+        assertThat(report.slowestModules()).hasSize(1);
+        assertThat(report.slowestFiles())
+                .singleElement()
+                .satisfies(
+                        file -> {
+                            assertThat(file.file()).endsWith("generate_key.py");
+                            assertThat(file.module()).isEqualTo(projectModules.get(0).identifier());
+                            assertThat(file.findings()).isPositive();
+                            assertThat(file.allocatedBytes()).isNotZero();
+                        });
+
+        final Path json = tempDir.resolve("profile.json");
+        report.write(json);
+        final JsonNode node = new ObjectMapper().readTree(json.toFile());
+        assertThat(node.at("/slowestFiles/0/findings").asInt())
+                .isEqualTo(report.slowestFiles().get(0).findings());
+    }
+
+    @Test
+    void testKeepsSlowestFiles() {
+        final ScanProfiler profiler = new ScanProfiler(2);
+        final ProjectModule module = new ProjectModule("m", Path.of("m"), List.of());
+        profiler.scanStarted();
+        profiler.moduleStarted(module);
+        for (int i = 0; i < 5; i++) {
+            final InputFile inputFile = new TestInputFileBuilder("m", "f" + i + ".py").build();
+            profiler.fileStarted(inputFile);
+            busyWait(i * 5L);
+            profiler.fileFinished(inputFile);
+        }
+        profiler.moduleFinished(module);
+
+        assertThat(profiler.getReport().slowestFiles())
+                .satisfiesExactly(
+                        file -> assertThat(file.file()).endsWith("f4.py"),
+                        file -> assertThat(file.file()).endsWith("f3.py"));
+    }
+
+    @Test
+    void testBatchAnalyzedOnAnotherThread() throws InterruptedException {
+        final ScanProfiler profiler = new ScanProfiler(1);
+        final ProjectModule module = new ProjectModule("m", Path.of("m"), List.of());
+        final InputFile inputFile = new TestInputFileBuilder("m", "f.py").build();
+        final List<byte[]> allocated = new ArrayList<>();
+        profiler.scanStarted();
+        profiler.moduleStarted(module);
+        final List<InputFile> batch = List.of(inputFile);
+        profiler.batchStarted(batch);
+        // the analysis runs on a worker, as with a scan budget
+        final Thread worker =
+                new Thread(
+                        () -> {
+                            profiler.fileStarted(inputFile);
+                            for (int i = 0; i < 16; i++) {
+                                allocated.add(new byte[1 << 20]);
+                            }
+                            profiler.fileFinished(inputFile);
+                        });
+        worker.start();
+        worker.join();
+        profiler.batchFinished(batch);
+        profiler.moduleFinished(module);
+
+        assertThat(allocated).hasSize(16);
+        assertThat(profiler.getReport().slowestFiles())
+                .singleElement()
+                .satisfies(
+                        file -> assertThat(file.allocatedBytes()).isGreaterThanOrEqualTo(16 << 20));
+    }
+
+    private static void busyWait(long millis) {
+        final long end = System.nanoTime() + millis * 1_000_000L;
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.nio.file.Path;
+import java.util.List;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Evidence;
+import org.cyclonedx.model.component.crypto.CryptoProperties;
+import org.cyclonedx.model.component.crypto.enums.AssetType;
+import org.cyclonedx.model.component.evidence.Occurrence;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pqca.scanning.CBOMDelta.AssetChange;
+import org.pqca.scanning.CBOMDelta.Location;
+import org.pqca.scanning.CBOMDelta.Move;
+
+class CBOMDiffTest {
+
+    private static CBOM older() {
+        return cbom(
+                component("ref_1", "AES", occurrence("a.java", 1), occurrence("a.java", 5)),
+                component("ref_2", "RSA", occurrence("b.java", 3)),
+                component("ref_3", "SHA256", occurrence("c.java", 1)));
+    }
+
+    private static CBOM newer() {
+        // bom-refs differ between scans
+        return cbom(
+                component(
+                        "ref_10",
+                        "AES",
+                        occurrence("a.java", 1),
+                        occurrence("a.java", 7),
+                        occurrence("d.java", 2)),
+                component("ref_11", "SHA256", occurrence("c.java", 1)),
+                component("ref_12", "MD5", occurrence("e.java", 1)));
+    }
+
+    @Test
+    void testDiff() {
+        CBOMDelta delta = older().diff(newer());
+
+        assertThat(delta.added()).extracting(Component::getName).containsExactly("MD5");
+        assertThat(delta.removed()).extracting(CBOMDelta.Asset::name).containsExactly("RSA");
+        assertThat(delta.removed().get(0).bomRef()).isEqualTo("ref_2");
+        assertThat(delta.changed()).hasSize(1);
+        AssetChange change = delta.changed().get(0);
+        assertThat(change.asset().bomRef()).isEqualTo("ref_10");
+        assertThat(change.added()).containsExactly(new Location("d.java", 2, null, null));
+        assertThat(change.removed()).isEmpty();
+        assertThat(change.moved())
+                .containsExactly(
+                        new Move(
+                                new Location("a.java", 5, null, null),
+                                new Location("a.java", 7, null, null)));
+
+        assertThat(older().diff(older()).isEmpty()).isTrue();
+        assertThat(newer().diff(older()).removed())
+                .extracting(CBOMDelta.Asset::name)
+                .containsExactly("MD5");
+    }
+
+    @Test
+    void testDiffFiles(@TempDir Path directory) throws Exception {
+        Path olderFile = directory.resolve("older.json");
+        Path newerFile = directory.resolve("newer.json");
+        StreamingCBOMWriter writer = new StreamingCBOMWriter();
+        writer.write(older(), olderFile);
+        writer.write(newer(), newerFile);
+
+        assertThat(CBOMDiff.diff(olderFile, newerFile).toJSON())
+                .isEqualTo(older().diff(newer()).toJSON());
+    }
+
+    @Test
+    void testDeltaJSON() throws Exception {
+        JsonNode json = older().diff(newer()).toJSON();
+
+        assertThat(json.get("added").get(0).get("name").asText()).isEqualTo("MD5");
+        assertThat(json.get("removed").get(0).get("id").asText()).hasSize(32);
+        JsonNode change = json.get("changed").get(0);
+        assertThat(change.has("removed")).isFalse();
+        assertThat(change.get("moved").get(0).get("to").get("line").asInt()).isEqualTo(7);
+        assertThat(new CBOMDelta(List.of(), List.of(), List.of()).toJSON()).isEmpty();
+    }
+
+    private static CBOM cbom(Component... components) {
+        Bom bom = new Bom();
+        bom.setComponents(List.of(components));
+        return new CBOM(bom);
+    }
+
+    private static Component component(String ref, String name, Occurrence... occurrences) {
+        Component component = new Component();
+        component.setType(Component.Type.CRYPTOGRAPHIC_ASSET);
+        component.setName(name);
+        component.setBomRef(ref);
+        CryptoProperties cryptoProperties = new CryptoProperties();
+        cryptoProperties.setAssetType(AssetType.ALGORITHM);
+        component.setCryptoProperties(cryptoProperties);
+        Evidence evidence = new Evidence();
+        evidence.setOccurrences(List.of(occurrences));
+        component.setEvidence(evidence);
+        return component;
+    }
+
+    private static Occurrence occurrence(String location, int line) {
+        Occurrence occurrence = new Occurrence();
+        occurrence.setLocation(location);
+        occurrence.setLine(line);
+        return occurrence;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.List;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Evidence;
+import org.cyclonedx.model.component.crypto.AlgorithmProperties;
+import org.cyclonedx.model.component.crypto.CryptoProperties;
+import org.cyclonedx.model.component.crypto.enums.AssetType;
+import org.cyclonedx.model.component.crypto.enums.Primitive;
+import org.cyclonedx.model.component.evidence.Occurrence;
+import org.junit.jupiter.api.Test;
+import org.pqca.scanning.CBOMIndex.Dimension;
+
+class CBOMIndexTest {
+    private final Component rsa2048 =
+            algorithm(
+                    "RSA-2048",
+                    Primitive.PKE,
+                    "2048",
+                    occurrence("/p/a/A.java", 1),
+                    occurrence("/p/b/B.java", 2));
+    private final Component rsa1024 =
+            algorithm("RSA-1024", Primitive.PKE, "1024", occurrence("/p/a/A.java", 5));
+    private final Component aes =
+            algorithm("AES128-GCM", Primitive.AE, "128", occurrence("/p/a/C.java", 7));
+    private final Component sha = algorithm("SHA256", Primitive.HASH, null);
+
+    private CBOMIndex index() {
+        Bom bom = new Bom();
+        bom.setComponents(List.of(rsa2048, rsa1024, aes, sha));
+        return CBOMIndex.of(new CBOM(bom));
+    }
+
+    @Test
+    void testQueries() {
+        CBOMIndex index = index();
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.query().count()).isEqualTo(4);
+        assertThat(index.query().components()).containsExactly(rsa2048, rsa1024, aes, sha);
+
+        List<Occurrence> weak = index.query().algorithm("rsa").keySizeBelow(2048).occurrences();
+        assertThat(weak).extracting(Occurrence::getLine).containsExactly(5);
+        assertThat(index.query().algorithm("RSA").count()).isEqualTo(3);
+        assertThat(index.query().algorithm("RSA-2048").keySizeAtLeast(2048).count()).isEqualTo(2);
+        assertThat(index.query().keySize(128, 1025).components()).containsExactly(rsa1024, aes);
+        assertThat(index.query().primitive(Primitive.AE).components()).containsExactly(aes);
+        assertThat(index.query().assetType(AssetType.ALGORITHM).count()).isEqualTo(4);
+        assertThat(index.query().parameterSet("4096").components()).isEmpty();
+
+        assertThat(index.query().location("/p/a/A.java").components())
+                .containsExactly(rsa2048, rsa1024);
+        assertThat(index.query().directory("/p/a").algorithm("RSA").count()).isEqualTo(2);
+        assertThat(index.query().directory("/p").count()).isEqualTo(4);
+
+        // components without occurrences are found, but not counted
+        assertThat(index.query().algorithm("SHA256").components()).containsExactly(sha);
+        assertThat(index.query().algorithm("SHA256").count()).isZero();
+    }
+
+    @Test
+    void testCountBy() {
+        CBOMIndex index = index();
+        assertThat(index.query().directory("/p/a").countBy(Dimension.ALGORITHM))
+                .containsOnly(entry("RSA-2048", 1), entry("RSA-1024", 1), entry("AES128-GCM", 1));
+        assertThat(index.query().algorithm("RSA").countBy(Dimension.LOCATION))
+                .containsOnly(entry("/p/a/A.java", 2), entry("/p/b/B.java", 1));
+        assertThat(index.query().countBy(Dimension.PRIMITIVE))
+                .containsOnly(entry("PKE", 3), entry("AE", 1));
+    }
+
+    private static Component algorithm(
+            String name, Primitive primitive, String parameterSet, Occurrence... occurrences) {
+        Component component = new Component();
+        component.setType(Component.Type.CRYPTOGRAPHIC_ASSET);
+        component.setName(name);
+        CryptoProperties cryptoProperties = new CryptoProperties();
+        cryptoProperties.setAssetType(AssetType.ALGORITHM);
+        AlgorithmProperties algorithmProperties = new AlgorithmProperties();
+        algorithmProperties.setPrimitive(primitive);
+        algorithmProperties.setParameterSetIdentifier(parameterSet);
+        cryptoProperties.setAlgorithmProperties(algorithmProperties);
+        component.setCryptoProperties(cryptoProperties);
+        if (occurrences.length > 0) {
+            Evidence evidence = new Evidence();
+            evidence.setOccurrences(List.of(occurrences));
+            component.setEvidence(evidence);
+        }
+        return component;
+    }
+
+    private static Occurrence occurrence(String location, int line) {
+        Occurrence occurrence = new Occurrence();
+        occurrence.setLocation(location);
+        occurrence.setLine(line);
+        return occurrence;
+    }
+}
@@ -22,14 +22,28 @@ package org.pqca.scanning;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 import org.cyclonedx.model.Bom;
 import org.cyclonedx.model.Component;
 import org.cyclonedx.model.Dependency;
+import org.cyclonedx.model.Evidence;
 import org.cyclonedx.model.Metadata;
 import org.cyclonedx.model.Property;
 import org.cyclonedx.model.Service;
+import org.cyclonedx.model.component.crypto.CryptoProperties;
+import org.cyclonedx.model.component.crypto.enums.AssetType;
+import org.cyclonedx.model.component.evidence.Occurrence;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class CBOMTest {
     @Test
@@ -75,7 +89,7 @@ public class CBOMTest {
         Component c12 = new Component();
         c12.setName("c12");
         c12.setBomRef("ref_c12");
-        bom1.addComponent(c11);
+        bom1.addComponent(c12);
         Dependency d1 = new Dependency("ref_c11");
         d1.addDependency(new Dependency("ref_c12"));
         bom1.addDependency(d1);
@@ -85,14 +99,14 @@ public class CBOMTest {
         Component c21 = new Component();
         c21.setName("c21");
         c21.setBomRef("ref_c21");
-        bom1.addComponent(c11);
+        bom2.addComponent(c21);
         Component c22 = new Component();
         c22.setName("c22");
         c22.setBomRef("ref_c22");
-        bom1.addComponent(c11);
+        bom2.addComponent(c22);
         Dependency d2 = new Dependency("ref_c21");
         d2.addDependency(new Dependency("ref_c22"));
-        bom1.addDependency(d2);
+        bom2.addDependency(d2);
         CBOM cbom2 = new CBOM(bom2);
 
         cbom1.merge(cbom2);
@@ -100,4 +114,308 @@ public class CBOMTest {
         assertThat(cbom1.cycloneDXbom().getComponents()).hasSize(4);
         assertThat(cbom1.cycloneDXbom().getDependencies()).hasSize(2);
     }
+
+    @Test
+    void testMergeDeduplicatesAssets() {
+        Bom bom1 = new Bom();
+        bom1.addComponent(component("ref_aes1", "AES", occurrence("A.java", 1)));
+        bom1.addComponent(component("ref_sha1", "SHA256", occurrence("A.java", 2)));
+        bom1.addDependency(dependency("ref_aes1", "ref_sha1"));
+        CBOM cbom1 = new CBOM(bom1);
+
+        Bom bom2 = new Bom();
+        bom2.addComponent(
+                component("ref_aes2", "AES", occurrence("A.java", 1), occurrence("B.java", 5)));
+        bom2.addComponent(component("ref_sha2", "SHA256", occurrence("B.java", 6)));
+        bom2.addDependency(dependency("ref_aes2", "ref_sha2"));
+        cbom1.merge(new CBOM(bom2));
+
+        List<Component> components = cbom1.cycloneDXbom().getComponents();
+        assertThat(components).extracting("bomRef").containsExactly("ref_aes1", "ref_sha1");
+        assertThat(components.get(0).getEvidence().getOccurrences())
+                .extracting("location", "line")
+                .containsExactly(tuple("A.java", 1), tuple("B.java", 5));
+        assertThat(components.get(1).getEvidence().getOccurrences()).hasSize(2);
+        assertThat(cbom1.cycloneDXbom().getDependencies()).hasSize(1);
+        Dependency dependency = cbom1.cycloneDXbom().getDependencies().get(0);
+        assertThat(dependency.getRef()).isEqualTo("ref_aes1");
+        assertThat(dependency.getDependencies()).extracting("ref").containsExactly("ref_sha1");
+    }
+
+    @Test
+    void testMergeAdoptsBomRef() {
+        Bom bom1 = new Bom();
+        bom1.addComponent(component(null, "AES", occurrence("A.java", 1)));
+        CBOM cbom1 = new CBOM(bom1);
+
+        Bom bom2 = new Bom();
+        bom2.addComponent(component("ref_aes", "AES", occurrence("B.java", 5)));
+        bom2.addComponent(component("ref_sha", "SHA256", occurrence("B.java", 6)));
+        bom2.addDependency(dependency("ref_aes", "ref_sha"));
+        cbom1.merge(new CBOM(bom2));
+
+        List<Component> components = cbom1.cycloneDXbom().getComponents();
+        assertThat(components).extracting("bomRef").containsExactly("ref_aes", "ref_sha");
+        assertThat(components.get(0).getEvidence().getOccurrences()).hasSize(2);
+        assertThat(cbom1.cycloneDXbom().getDependencies())
+                .singleElement()
+                .satisfies(
+                        dependency -> {
+                            assertThat(dependency.getRef()).isEqualTo("ref_aes");
+                            assertThat(dependency.getDependencies())
+                                    .extracting("ref")
+                                    .containsExactly("ref_sha");
+                        });
+    }
+
+    @Test
+    void testMergeAllIsIndependentOfPartitioning() {
+        // the same findings, once in a CBOM per file and once in a single CBOM
+        List<CBOM> perFile = new ArrayList<>();
+        Bom single = new Bom();
+        for (int file = 0; file < 20; file++) {
+            Bom bom = new Bom();
+            for (String name : List.of("AES", "RSA", "SHA256")) {
+                bom.addComponent(
+                        component(name + file, name, occurrence("F" + file + ".java", 1)));
+                single.addComponent(
+                        component(name + file, name, occurrence("F" + file + ".java", 1)));
+            }
+            bom.addDependency(dependency("AES" + file, "SHA256" + file));
+            single.addDependency(dependency("AES" + file, "SHA256" + file));
+            perFile.add(new CBOM(bom));
+        }
+
+        CBOM merged = CBOMMerger.mergeAll(perFile);
+        CBOM reference = CBOMMerger.mergeAll(List.of(new CBOM(single)));
+        assertThat(merged.cycloneDXbom().getComponents())
+                .extracting("name")
+                .containsExactly("AES", "RSA", "SHA256");
+        assertThat(merged.getNumberOfFindings()).isEqualTo(60);
+        assertThat(merged.cycloneDXbom().getComponents())
+                .extracting("bomRef")
+                .isEqualTo(
+                        reference.cycloneDXbom().getComponents().stream()
+                                .map(Component::getBomRef)
+                                .toList());
+        assertThat(merged.cycloneDXbom().getDependencies()).hasSize(1);
+        assertThat(merged.cycloneDXbom().getDependencies().get(0).getDependencies())
+                .extracting("ref")
+                .containsExactly("SHA2560");
+    }
+
+    @Test
+    void testJSONRoundTrip() throws Exception {
+        Bom bom = new Bom();
+        bom.addComponent(component("ref_aes", "AES", occurrence("A.java", 1)));
+        bom.addComponent(component("ref_rsa", "RSA", occurrence("B.java", 2)));
+        bom.addDependency(dependency("ref_aes", "ref_rsa"));
+
+        JsonNode json = new CBOM(bom).toJSON();
+        assertThat(json.get("bomFormat").asText()).isEqualTo("CycloneDX");
+        assertThat(json.get("specVersion").asText()).isEqualTo("1.6");
+        assertThat(json.get("components")).hasSize(2);
+
+        CBOM parsed = CBOM.formJSON(json);
+        assertThat(parsed.cycloneDXbom().getComponents())
+                .extracting("bomRef")
+                .containsExactly("ref_aes", "ref_rsa");
+        assertThat(parsed.getNumberOfFindings()).isEqualTo(2);
+        assertThat(parsed.toJSON()).isEqualTo(json);
+    }
+
+    @Test
+    void testStreamingWriter() throws Exception {
+        Bom bom = new Bom();
+        for (int i = 0; i < 100; i++) {
+            bom.addComponent(component("ref_" + i, "AES" + i, occurrence("A.java", i)));
+        }
+        CBOM cbom = new CBOM(bom);
+
+        StreamingCBOMWriter writer = new StreamingCBOMWriter();
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        assertThat(writer.write(cbom, plain)).isEqualTo(plain.size());
+        JsonNode json = new ObjectMapper().readTree(plain.toByteArray());
+        assertThat(json.get("specVersion").asText()).isEqualTo("1.6");
+        assertThat(json.get("components")).hasSize(100);
+        assertThat(json).isEqualTo(cbom.toJSON());
+
+        writer.setGzip(true);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        writer.write(cbom, compressed);
+        assertThat(compressed.size()).isLessThan(plain.size());
+        try (GZIPInputStream inputStream =
+                new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            assertThat(new ObjectMapper().readTree(inputStream)).isEqualTo(json);
+        }
+    }
+
+    @Test
+    void testStreamingReader(@TempDir Path directory) throws Exception {
+        Bom bom = new Bom();
+        for (int i = 0; i < 50; i++) {
+            bom.addComponent(component("ref_" + i, "AES" + i, occurrence("A.java", i)));
+        }
+        bom.addDependency(dependency("ref_0", "ref_1"));
+        CBOM cbom = new CBOM(bom);
+        cbom.addMetadata("https://github.com/keycloak/keycloak", "main", null, null);
+        Path file = directory.resolve("cbom.json.gz");
+        StreamingCBOMWriter writer = new StreamingCBOMWriter();
+        writer.setGzip(true);
+        writer.write(cbom, file);
+
+        try (StreamingCBOMReader reader = StreamingCBOMReader.open(file)) {
+            assertThat(reader.getSpecVersion()).isEqualTo("1.6");
+            assertThat(reader.getMetadata()).isNotNull();
+            assertThat(reader.getMetadata().getProperties())
+                    .extracting("name")
+                    .containsExactly("gitUrl", "revision");
+            List<String> names = new ArrayList<>();
+            for (Component component : reader.components()) {
+                names.add(component.getName());
+            }
+            assertThat(names).hasSize(50).startsWith("AES0", "AES1").endsWith("AES49");
+            assertThat(reader.dependencies()).singleElement().extracting("ref").isEqualTo("ref_0");
+        }
+
+        // dependencies can be read without iterating the components
+        try (StreamingCBOMReader reader = StreamingCBOMReader.open(file)) {
+            Iterator<Component> components = reader.components().iterator();
+            assertThat(components.next().getName()).isEqualTo("AES0");
+            assertThat(reader.dependencies()).hasSize(1);
+            assertThat(reader.components()).isEmpty();
+        }
+    }
+
+    @Test
+    void testBinaryFormats() throws Exception {
+        Bom bom = new Bom();
+        for (int i = 0; i < 50; i++) {
+            bom.addComponent(component("ref_" + i, "AES", occurrence("src/A.java", i)));
+        }
+        bom.addDependency(dependency("ref_0", "ref_1"));
+        CBOM cbom = new CBOM(bom);
+        JsonNode json = cbom.toJSON();
+        byte[] compactJson = cbom.encode(CBOMFormat.JSON);
+
+        for (CBOMFormat format : List.of(CBOMFormat.SMILE, CBOMFormat.CBOR)) {
+            byte[] encoded = cbom.encode(format);
+            assertThat(encoded).hasSizeLessThan(compactJson.length);
+            assertThat(CBOM.decode(format, encoded).toJSON()).isEqualTo(json);
+            try (StreamingCBOMReader reader =
+                    new StreamingCBOMReader(new ByteArrayInputStream(encoded), format)) {
+                assertThat(reader.components()).hasSize(50);
+                assertThat(reader.dependencies()).hasSize(1);
+            }
+        }
+        assertThat(CBOM.decode(CBOMFormat.JSON, compactJson).toJSON()).isEqualTo(json);
+    }
+
+    @Test
+    void testCanonicalOutput() throws Exception {
+        CBOM first = canonicalTestCBOM(false);
+        CBOM second = canonicalTestCBOM(true);
+        new OccurrenceCompactor().compact(second);
+        assertThat(first.toJSON()).isNotEqualTo(second.toJSON());
+
+        // the digest does not canonicalize the CBOMs
+        assertThat(first.digest()).isEqualTo(second.digest()).hasSize(64);
+        assertThat(first.toJSON()).isNotEqualTo(second.toJSON());
+        first.canonicalize();
+        second.canonicalize();
+        assertThat(first.toJSON()).isEqualTo(second.toJSON());
+        assertThat(second.cycloneDXbom().getComponents().get(0).getEvidence().getOccurrences())
+                .isInstanceOf(CompactOccurrenceList.class);
+
+        // the timestamp of the metadata does not change the digest
+        String digest = first.digest();
+        first.addMetadata("https://example.com/repository", "main", "c1", null);
+        assertThat(first.digest()).isEqualTo(digest);
+        Component aes = first.cycloneDXbom().getComponents().get(0);
+        aes.getEvidence().getOccurrences().get(0).setLine(9);
+        assertThat(first.digest()).isNotEqualTo(digest);
+
+        StreamingCBOMWriter writer = new StreamingCBOMWriter();
+        writer.setCanonical(true);
+        ByteArrayOutputStream firstBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream secondBytes = new ByteArrayOutputStream();
+        writer.write(canonicalTestCBOM(false), firstBytes);
+        writer.write(canonicalTestCBOM(true), secondBytes);
+        assertThat(firstBytes.toByteArray()).isEqualTo(secondBytes.toByteArray());
+    }
+
+    @Test
+    void testCanonicalOrderOfEqualKeys() throws Exception {
+        // same identity and bom-ref, e.g. from CBOMs that were concatenated without merging
+        List<Component> components =
+                List.of(
+                        component("ref_1", "AES", occurrence("src/A.java", 1)),
+                        component("ref_1", "AES", occurrence("src/B.java", 2)));
+        Bom bom = new Bom();
+        bom.setComponents(new ArrayList<>(components));
+        CBOM first = new CBOM(bom);
+        Bom reversedBom = new Bom();
+        reversedBom.setComponents(new ArrayList<>(components.reversed()));
+        CBOM second = new CBOM(reversedBom);
+
+        assertThat(first.digest()).isEqualTo(second.digest());
+        first.canonicalize();
+        second.canonicalize();
+        assertThat(first.toJSON()).isEqualTo(second.toJSON());
+    }
+
+    /** The same findings, in the order of a scan or in reverse order. */
+    private static CBOM canonicalTestCBOM(boolean reversed) {
+        List<Component> components =
+                new ArrayList<>(
+                        List.of(
+                                component(
+                                        "ref_1",
+                                        "AES",
+                                        occurrence("src/A.java", 1),
+                                        occurrence("src/B.java", 3),
+                                        occurrence("src/A.java", 2)),
+                                component("ref_2", "RSA", occurrence("src/C.java", 1))));
+        List<Dependency> dependencies =
+                new ArrayList<>(
+                        List.of(dependency("ref_1", "ref_2"), dependency("ref_2", "ref_1")));
+        if (reversed) {
+            Collections.reverse(components);
+            Collections.reverse(dependencies);
+            for (Component component : components) {
+                Collections.reverse(component.getEvidence().getOccurrences());
+            }
+        }
+        Bom bom = new Bom();
+        bom.setComponents(components);
+        bom.setDependencies(dependencies);
+        return new CBOM(bom);
+    }
+
+    private static Component component(String ref, String name, Occurrence... occurrences) {
+        Component component = new Component();
+        component.setType(Component.Type.CRYPTOGRAPHIC_ASSET);
+        component.setName(name);
+        component.setBomRef(ref);
+        CryptoProperties cryptoProperties = new CryptoProperties();
+        cryptoProperties.setAssetType(AssetType.ALGORITHM);
+        component.setCryptoProperties(cryptoProperties);
+        Evidence evidence = new Evidence();
+        evidence.setOccurrences(new ArrayList<>(List.of(occurrences)));
+        component.setEvidence(evidence);
+        return component;
+    }
+
+    private static Occurrence occurrence(String location, int line) {
+        Occurrence occurrence = new Occurrence();
+        occurrence.setLocation(location);
+        occurrence.setLine(line);
+        return occurrence;
+    }
+
+    private static Dependency dependency(String ref, String dependsOn) {
+        Dependency dependency = new Dependency(ref);
+        dependency.addDependency(new Dependency(dependsOn));
+        return dependency;
+    }
 }
@@ -0,0 +1,78 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.pqca.errors.ClientDisconnected;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.indexing.java.JavaIndexService;
+import org.pqca.scanning.java.JavaBatchSizer;
+import org.sonar.api.batch.fs.InputFile;
+
+class JavaBatchSizerTest {
+
+    @Test
+    void testSmallBatches() throws ClientDisconnected {
+        final List<InputFile> inputFiles = inputFiles();
+        final JavaBatchSizer batchSizer = new JavaBatchSizer(1, 1);
+        final Deque<InputFile> pending = new ArrayDeque<>(inputFiles);
+        final List<InputFile> batched = new ArrayList<>();
+        while (!pending.isEmpty()) {
+            final List<InputFile> batch = batchSizer.nextBatch(pending);
+            // a batch contains at least one file
+            assertThat(batch).hasSize(1);
+            batched.addAll(batch);
+        }
+        assertThat(batched).containsExactlyElementsOf(inputFiles);
+    }
+
+    @Test
+    void testSingleBatch() throws ClientDisconnected {
+        final List<InputFile> inputFiles = inputFiles();
+        final JavaBatchSizer batchSizer = new JavaBatchSizer(1L << 30, 1L << 30);
+        final Deque<InputFile> pending = new ArrayDeque<>(inputFiles);
+        assertThat(batchSizer.nextBatch(pending)).containsExactlyElementsOf(inputFiles);
+        assertThat(pending).isEmpty();
+    }
+
+    @Test
+    void testBatchSizeWithinRange() throws ClientDisconnected {
+        final List<InputFile> inputFiles = inputFiles();
+        final JavaBatchSizer batchSizer = new JavaBatchSizer(1024, 4096);
+        batchSizer.batchStarted();
+        batchSizer.batchFinished(inputFiles);
+        assertThat(batchSizer.getBatchBytes()).isBetween(1024L, 4096L);
+    }
+
+    private static List<InputFile> inputFiles() throws ClientDisconnected {
+        return new JavaIndexService(new File("src/test/testdata/java/keycloak"))
+                .index(null).stream()
+                        .map(ProjectModule::inputFileList)
+                        .flatMap(List::stream)
+                        .toList();
+    }
+}
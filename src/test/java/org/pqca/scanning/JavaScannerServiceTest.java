@@ -23,12 +23,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.pqca.errors.ClientDisconnected;
 import org.pqca.indexing.ProjectModule;
 import org.pqca.indexing.java.JavaIndexService;
+import org.pqca.scanning.cache.FindingsCache;
 import org.pqca.scanning.java.JavaScannerService;
 import org.pqca.utils.AssertableCBOM;
 
@@ -157,6 +160,45 @@ class JavaScannerServiceTest {
                 .isTrue();
     }
 
+    @Test
+    void testFindingsCacheMatchesColdScan(@TempDir Path cacheDirectory) throws ClientDisconnected {
+        final File projectDirectory = new File("src/test/testdata/java/keycloak");
+        final List<ProjectModule> projectModules =
+                new JavaIndexService(projectDirectory).index(null);
+        final ScanResultDTO coldResult = newScanner(projectDirectory, null).scan(projectModules);
+
+        // populate the cache with one module, so that the next scan replays some files and
+        // analyzes the others
+        final FindingsCache findingsCache = new FindingsCache(cacheDirectory);
+        newScanner(projectDirectory, findingsCache)
+                .scan(
+                        projectModules.stream()
+                                .filter(module -> module.identifier().equals("crypto/default"))
+                                .toList());
+        final ScanResultDTO warmResult =
+                newScanner(projectDirectory, findingsCache).scan(projectModules);
+        assertThat(warmResult.cacheStatistics()).isNotNull();
+        assertThat(warmResult.cacheStatistics().hits()).isPositive();
+        assertThat(warmResult.cacheStatistics().misses()).isPositive();
+
+        assertThat(CBOMDiff.diff(coldResult.cbom(), warmResult.cbom()).isEmpty()).isTrue();
+        assertThat(warmResult.cbom().cycloneDXbom().getComponents())
+                .hasSameSizeAs(coldResult.cbom().cycloneDXbom().getComponents());
+        assertThat(warmResult.cbom().cycloneDXbom().getDependencies())
+                .hasSameSizeAs(coldResult.cbom().cycloneDXbom().getDependencies());
+    }
+
+    private static JavaScannerService newScanner(
+            File projectDirectory, FindingsCache findingsCache) {
+        final JavaScannerService javaScannerService = new JavaScannerService(projectDirectory);
+        javaScannerService.addJavaDependencyJar("src/test/resources/java/scan");
+        javaScannerService.setRequireBuild(false);
+        if (findingsCache != null) {
+            javaScannerService.setFindingsCache(findingsCache);
+        }
+        return javaScannerService;
+    }
+
     @Test
     void testRequireBuildException() throws ClientDisconnected {
         final File projectDirectory = new File("src/test/testdata/java/plain");
@@ -0,0 +1,134 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.ArrayList;
+import java.util.List;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.Evidence;
+import org.cyclonedx.model.Property;
+import org.cyclonedx.model.component.evidence.Occurrence;
+import org.junit.jupiter.api.Test;
+
+class OccurrenceCompactorTest {
+
+    @Test
+    void testGroupsByFile() throws Exception {
+        Component component =
+                component(
+                        occurrence("a.java", 1),
+                        occurrence("b.java", 5),
+                        occurrence("a.java", 2),
+                        occurrence("b.java", null),
+                        occurrence("a.java", 3));
+        CBOM cbom = cbom(component);
+        JsonNode before = cbom.toJSON();
+
+        assertThat(new OccurrenceCompactor().compact(cbom)).isZero();
+
+        List<Occurrence> occurrences = component.getEvidence().getOccurrences();
+        assertThat(occurrences)
+                .extracting(Occurrence::getLocation, Occurrence::getLine)
+                .containsExactly(
+                        tuple("a.java", 1),
+                        tuple("a.java", 2),
+                        tuple("a.java", 3),
+                        tuple("b.java", 5),
+                        tuple("b.java", null));
+        assertThat(occurrences.get(0).getAdditionalContext()).isEqualTo("context");
+        assertThat(occurrences.get(0).getLocation()).isSameAs(occurrences.get(2).getLocation());
+        assertThat(component.getProperties()).isNull();
+        assertThatThrownBy(() -> occurrences.add(new Occurrence()))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        // the same occurrences, grouped differently
+        JsonNode after = cbom.toJSON();
+        assertThat(after.get("components").get(0).get("evidence").get("occurrences"))
+                .containsExactlyInAnyOrderElementsOf(
+                        before.get("components").get(0).get("evidence").get("occurrences"));
+        assertThat(CBOM.formJSON(after).toJSON()).isEqualTo(after);
+    }
+
+    @Test
+    void testCapsOccurrences() throws Exception {
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            occurrences.add(occurrence("a.java", i));
+        }
+        occurrences.add(occurrence("b.java", 1));
+        occurrences.add(occurrence("c.java", 1));
+        Component component = component(occurrences.toArray(new Occurrence[0]));
+        OccurrenceCompactor compactor = new OccurrenceCompactor();
+        compactor.setMaxOccurrencesPerComponent(5);
+
+        assertThat(compactor.compact(cbom(component))).isEqualTo(7);
+        assertThat(component.getEvidence().getOccurrences())
+                .extracting(Occurrence::getLocation, Occurrence::getLine)
+                .containsExactly(
+                        tuple("a.java", 0),
+                        tuple("a.java", 1),
+                        tuple("a.java", 2),
+                        tuple("b.java", 1),
+                        tuple("c.java", 1));
+        assertThat(component.getProperties())
+                .extracting(Property::getName, Property::getValue)
+                .containsExactly(tuple(OccurrenceCompactor.TOTAL_OCCURRENCES, "12"));
+
+        // compacting again keeps the original total
+        compactor.setMaxOccurrencesPerComponent(2);
+        assertThat(compactor.compact(component)).isEqualTo(3);
+        assertThat(component.getEvidence().getOccurrences()).hasSize(2);
+        assertThat(component.getProperties())
+                .extracting(Property::getValue)
+                .containsExactly("12");
+    }
+
+    private static CBOM cbom(Component component) {
+        Bom bom = new Bom();
+        bom.setComponents(List.of(component));
+        return new CBOM(bom);
+    }
+
+    private static Component component(Occurrence... occurrences) {
+        Component component = new Component();
+        component.setType(Component.Type.CRYPTOGRAPHIC_ASSET);
+        component.setName("SHA256");
+        component.setBomRef("ref");
+        Evidence evidence = new Evidence();
+        evidence.setOccurrences(new ArrayList<>(List.of(occurrences)));
+        component.setEvidence(evidence);
+        return component;
+    }
+
+    private static Occurrence occurrence(String location, Integer line) {
+        Occurrence occurrence = new Occurrence();
+        // a new instance every time, as produced by the scanner
+        occurrence.setLocation(new String(location));
+        occurrence.setLine(line);
+        occurrence.setAdditionalContext("context");
+        return occurrence;
+    }
+}
@@ -22,12 +22,20 @@ package org.pqca.scanning;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.pqca.errors.ClientDisconnected;
 import org.pqca.indexing.ProjectModule;
 import org.pqca.indexing.python.PythonIndexService;
+import org.pqca.profiling.ScanProfiler;
+import org.pqca.scanning.cache.FindingsCache;
 import org.pqca.scanning.python.PythonScannerService;
+import org.pqca.scanning.rules.RuleGroupCost;
 import org.pqca.utils.AssertableCBOM;
 
 class PythonScannerServiceTest {
@@ -77,4 +85,103 @@ class PythonScannerServiceTest {
                                 "secret-key", "src/test/testdata/python/pyca/generate_key.py", 4))
                 .isTrue();
     }
+
+    @Test
+    void testFindingsCache(@TempDir Path cacheDirectory) throws ClientDisconnected {
+        final File projectDirectory = new File("src/test/testdata/python/pyca");
+        final List<ProjectModule> projectModules =
+                new PythonIndexService(projectDirectory).index(null);
+        final FindingsCache findingsCache = new FindingsCache(cacheDirectory);
+
+        // first scan analyzes the file and populates the cache
+        final PythonScannerService coldScanner = new PythonScannerService(projectDirectory);
+        coldScanner.setFindingsCache(findingsCache);
+        final ScanResultDTO coldResult = coldScanner.scan(projectModules);
+        assertThat(coldResult.cacheStatistics()).isNotNull();
+        assertThat(coldResult.cacheStatistics().hits()).isZero();
+        assertThat(coldResult.cacheStatistics().misses()).isEqualTo(1);
+        new AssertableCBOM(coldResult.cbom()).hasNumberOfDetections(5);
+
+        // second scan replays the findings from the cache
+        final PythonScannerService warmScanner = new PythonScannerService(projectDirectory);
+        warmScanner.setFindingsCache(findingsCache);
+        final ScanResultDTO warmResult = warmScanner.scan(projectModules);
+        assertThat(warmResult.cacheStatistics()).isNotNull();
+        assertThat(warmResult.cacheStatistics().hits()).isEqualTo(1);
+        assertThat(warmResult.cacheStatistics().misses()).isZero();
+        assertThat(warmResult.numberOfScannedFiles()).isEqualTo(coldResult.numberOfScannedFiles());
+        new AssertableCBOM(warmResult.cbom()).hasNumberOfDetections(5);
+        assertThat(CBOMDiff.diff(coldResult.cbom(), warmResult.cbom()).isEmpty()).isTrue();
+        assertThat(warmResult.cbom().cycloneDXbom().getComponents())
+                .hasSameSizeAs(coldResult.cbom().cycloneDXbom().getComponents());
+    }
+
+    @Test
+    void testRuleGroupCosts() throws ClientDisconnected {
+        final File projectDirectory = new File("src/test/testdata/python/pyca");
+        final List<ProjectModule> projectModules =
+                new PythonIndexService(projectDirectory).index(null);
+        final ScanResultDTO scanResult =
+                new PythonScannerService(projectDirectory).scan(projectModules);
+
+        assertThat(scanResult.ruleGroupCosts()).isNotEmpty();
+        assertThat(scanResult.ruleGroupCosts())
+                .allSatisfy(cost -> assertThat(cost.rules()).isPositive())
+                .allSatisfy(cost -> assertThat(cost.invocations()).isPositive());
+        assertThat(scanResult.ruleGroupCosts().stream().mapToLong(RuleGroupCost::findings).sum())
+                .isPositive();
+        assertThat(scanResult.ruleGroupCosts())
+                .isSortedAccordingTo(
+                        Comparator.comparingLong(RuleGroupCost::totalTimeNanos).reversed());
+        // rules are only timed while profiling
+        assertThat(scanResult.ruleGroupCosts())
+                .allSatisfy(cost -> assertThat(cost.totalTimeNanos()).isZero());
+
+        final PythonScannerService profiledScanner = new PythonScannerService(projectDirectory);
+        profiledScanner.setProfiler(new ScanProfiler(1));
+        final ScanResultDTO profiledResult = profiledScanner.scan(projectModules);
+        assertThat(profiledResult.ruleGroupCosts())
+                .extracting(RuleGroupCost::invocations)
+                .containsExactlyInAnyOrderElementsOf(
+                        scanResult.ruleGroupCosts().stream()
+                                .map(RuleGroupCost::invocations)
+                                .toList());
+        assertThat(
+                        profiledResult.ruleGroupCosts().stream()
+                                .mapToLong(RuleGroupCost::detectionTimeNanos)
+                                .sum())
+                .isPositive();
+    }
+
+    @Test
+    void testEnabledRuleGroups() throws ClientDisconnected {
+        final File projectDirectory = new File("src/test/testdata/python/pyca");
+        final List<ProjectModule> projectModules =
+                new PythonIndexService(projectDirectory).index(null);
+        final ScanResultDTO fullResult =
+                new PythonScannerService(projectDirectory).scan(projectModules);
+        final Set<String> allGroups =
+                fullResult.ruleGroupCosts().stream()
+                        .map(RuleGroupCost::group)
+                        .collect(Collectors.toSet());
+
+        // no rules enabled
+        final PythonScannerService noRulesScanner = new PythonScannerService(projectDirectory);
+        noRulesScanner.setEnabledRuleGroups(Set.of());
+        final ScanResultDTO noRulesResult = noRulesScanner.scan(projectModules);
+        assertThat(noRulesResult.ruleGroupCosts()).isEmpty();
+        assertThat(noRulesResult.numberOfScannedFiles()).isEqualTo(1);
+        assertThat(noRulesResult.cbom() == null ? 0 : noRulesResult.cbom().getNumberOfFindings())
+                .isZero();
+
+        // all groups, in lower case
+        final PythonScannerService allRulesScanner = new PythonScannerService(projectDirectory);
+        allRulesScanner.setEnabledRuleGroups(
+                allGroups.stream().map(String::toLowerCase).collect(Collectors.toSet()));
+        final ScanResultDTO allRulesResult = allRulesScanner.scan(projectModules);
+        assertThat(allRulesResult.ruleGroupCosts())
+                .extracting(RuleGroupCost::group)
+                .containsExactlyInAnyOrderElementsOf(allGroups);
+        new AssertableCBOM(allRulesResult.cbom()).hasNumberOfDetections(5);
+    }
 }
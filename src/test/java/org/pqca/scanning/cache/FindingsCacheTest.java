@@ -0,0 +1,100 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.cyclonedx.model.Component;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FindingsCacheTest {
+    private static final String KEY = AnalysisFingerprint.sha256("test");
+
+    @Test
+    void testHttpBackend(@TempDir Path serverDirectory) throws IOException {
+        try (HttpCacheServer server =
+                new HttpCacheServer(new DirectoryCacheBackend(serverDirectory), 0)) {
+            server.start();
+            final HttpCacheBackend backend = new HttpCacheBackend(server.getBaseUri());
+            assertThat(backend.get(KEY)).isEmpty();
+            backend.put(KEY, new byte[] {1, 2, 3});
+            assertThat(backend.get(KEY)).hasValueSatisfying(v -> assertThat(v).hasSize(3));
+        }
+    }
+
+    @Test
+    void testHttpBackendToken(@TempDir Path serverDirectory) throws IOException {
+        try (HttpCacheServer server =
+                new HttpCacheServer(
+                        new DirectoryCacheBackend(serverDirectory),
+                        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                        "secret")) {
+            server.start();
+            final HttpCacheBackend anonymous = new HttpCacheBackend(server.getBaseUri());
+            assertThatIOException().isThrownBy(() -> anonymous.put(KEY, new byte[] {1}));
+            final HttpCacheBackend authorized =
+                    new HttpCacheBackend(server.getBaseUri(), Duration.ofSeconds(10), "secret");
+            authorized.put(KEY, new byte[] {1, 2, 3});
+            assertThat(authorized.get(KEY)).hasValueSatisfying(v -> assertThat(v).hasSize(3));
+            assertThatIOException().isThrownBy(() -> anonymous.get(KEY));
+        }
+    }
+
+    @Test
+    void testReadThroughAndWriteBehind(@TempDir Path localDirectory, @TempDir Path sharedDirectory)
+            throws IOException {
+        final DirectoryCacheBackend shared = new DirectoryCacheBackend(sharedDirectory);
+
+        // populate the shared layer from one node
+        try (FindingsCache writer =
+                new FindingsCache(new DirectoryCacheBackend(localDirectory.resolve("a")), shared)) {
+            writer.put(KEY, findings("AES"));
+        }
+        assertThat(shared.get(KEY)).isPresent();
+
+        // another node reads through and populates its local layer
+        final DirectoryCacheBackend local = new DirectoryCacheBackend(localDirectory.resolve("b"));
+        try (FindingsCache reader = new FindingsCache(local, shared)) {
+            assertThat(reader.get(KEY))
+                    .hasValueSatisfying(
+                            cached ->
+                                    assertThat(cached.components())
+                                            .extracting(Component::getName)
+                                            .containsExactly("AES"));
+        }
+        assertThat(local.get(KEY)).isPresent();
+    }
+
+    private static CachedFindings findings(String name) {
+        final Component component = new Component();
+        component.setName(name);
+        component.setBomRef("ref-" + name);
+        return new CachedFindings(List.of(component), Map.of(), 42);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.scanning.watchdog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+
+class ScanWatchdogTest {
+
+    @Test
+    void testCompletesWithinBudget() {
+        try (ScanWatchdog watchdog =
+                new ScanWatchdog(new ScanBudget(Duration.ofSeconds(10), null))) {
+            final AtomicBoolean ran = new AtomicBoolean();
+            assertThat(watchdog.run(() -> ran.set(true), null)).isEmpty();
+            assertThat(ran).isTrue();
+            assertThat(watchdog.hasAbandonedAnalyses()).isFalse();
+        }
+    }
+
+    @Test
+    void testAbandonsHangingAnalysis() throws InterruptedException {
+        try (ScanWatchdog watchdog =
+                new ScanWatchdog(new ScanBudget(Duration.ofMillis(50), null))) {
+            final AtomicReference<Thread> worker = new AtomicReference<>();
+            final AtomicBoolean cancelled = new AtomicBoolean();
+            final CountDownLatch hang = new CountDownLatch(1);
+            final InputFile file = new TestInputFileBuilder("m", "hang.py").build();
+            final Optional<ScanWatchdog.Timeout> timeout =
+                    watchdog.run(
+                            () -> {
+                                worker.set(Thread.currentThread());
+                                watchdog.fileStarted(file);
+                                try {
+                                    hang.await();
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                            },
+                            () -> cancelled.set(true));
+
+            assertThat(timeout)
+                    .hasValueSatisfying(
+                            t ->
+                                    assertThat(t.reason())
+                                            .isEqualTo(TimedOutFile.Reason.FILE_BUDGET_EXCEEDED));
+            assertThat(timeout.get().file()).isEqualTo(file);
+            assertThat(cancelled).isTrue();
+            assertThat(watchdog.isAbandoned(worker.get())).isTrue();
+
+            // the scan continues on a new worker
+            final AtomicReference<Thread> next = new AtomicReference<>();
+            assertThat(watchdog.run(() -> next.set(Thread.currentThread()), null)).isEmpty();
+            assertThat(next.get()).isNotSameAs(worker.get());
+            assertThat(watchdog.isAbandoned(next.get())).isFalse();
+            hang.countDown();
+        }
+    }
+
+    @Test
+    void testFileBudgetStartsWithFirstFile() {
+        try (ScanWatchdog watchdog =
+                new ScanWatchdog(new ScanBudget(Duration.ofMillis(50), Duration.ofSeconds(10)))) {
+            final InputFile file = new TestInputFileBuilder("m", "a.java").build();
+            final Optional<ScanWatchdog.Timeout> timeout =
+                    watchdog.run(
+                            () -> {
+                                // parsing the batch before the first file is reported
+                                try {
+                                    Thread.sleep(150);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                                watchdog.fileStarted(file);
+                                watchdog.fileFinished(file);
+                            },
+                            null);
+            assertThat(timeout).isEmpty();
+            assertThat(watchdog.isFinished(file)).isTrue();
+        }
+    }
+
+    @Test
+    void testAbandonsHangingDegradedAnalysis() {
+        try (ScanWatchdog watchdog =
+                new ScanWatchdog(new ScanBudget(Duration.ofMillis(50), null))) {
+            final CountDownLatch hang = new CountDownLatch(1);
+            final InputFile file = new TestInputFileBuilder("m", "hang.cpp").build();
+            // the analysis never reports the file, the file budget applies nonetheless
+            final Optional<ScanWatchdog.Timeout> timeout =
+                    watchdog.runFile(
+                            file,
+                            () -> {
+                                try {
+                                    hang.await();
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                            },
+                            null);
+
+            assertThat(timeout)
+                    .hasValueSatisfying(
+                            t ->
+                                    assertThat(t.reason())
+                                            .isEqualTo(TimedOutFile.Reason.FILE_BUDGET_EXCEEDED));
+            assertThat(timeout.get().file()).isEqualTo(file);
+            assertThat(watchdog.isFinished(file)).isFalse();
+            assertThat(watchdog.hasAbandonedAnalyses()).isTrue();
+            hang.countDown();
+        }
+    }
+
+    @Test
+    void testDegradedAnalysisFinishesFile() {
+        try (ScanWatchdog watchdog =
+                new ScanWatchdog(new ScanBudget(Duration.ofSeconds(10), null))) {
+            final InputFile file = new TestInputFileBuilder("m", "a.cpp").build();
+            assertThat(watchdog.runFile(file, () -> {}, null)).isEmpty();
+            assertThat(watchdog.isFinished(file)).isTrue();
+        }
+    }
+
+    @Test
+    void testModuleBudget() throws InterruptedException {
+        try (ScanWatchdog watchdog =
+                new ScanWatchdog(new ScanBudget(null, Duration.ofMillis(20)))) {
+            watchdog.moduleStarted();
+            Thread.sleep(50);
+            assertThat(watchdog.isModuleBudgetExceeded()).isTrue();
+            watchdog.moduleStarted();
+            assertThat(watchdog.isModuleBudgetExceeded()).isFalse();
+        }
+    }
+}
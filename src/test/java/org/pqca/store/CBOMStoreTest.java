@@ -0,0 +1,152 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.cyclonedx.model.Bom;
+import org.cyclonedx.model.Component;
+import org.cyclonedx.model.component.crypto.AlgorithmProperties;
+import org.cyclonedx.model.component.crypto.CryptoProperties;
+import org.cyclonedx.model.component.crypto.enums.AssetType;
+import org.cyclonedx.model.component.crypto.enums.Primitive;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pqca.scanning.CBOM;
+import org.pqca.store.CBOMStore.Field;
+import org.pqca.store.CBOMStore.Term;
+
+class CBOMStoreTest {
+    @TempDir Path directory;
+
+    @Test
+    void testFind() throws Exception {
+        try (CBOMStore store = CBOMStore.open(directory)) {
+            store.append(
+                    List.of(
+                            cbom("https://example.com/a", "c1", "MD5"),
+                            cbom("https://example.com/b", "c1", "RSA-1024"),
+                            cbom("https://example.com/c", "c1", "MD5", "RSA-2048")));
+
+            assertThat(store.size()).isEqualTo(3);
+            assertThat(store.find(Field.ALGORITHM, "md5"))
+                    .extracting(StoredCBOM::repository)
+                    .containsExactly("https://example.com/a", "https://example.com/c");
+            assertThat(store.find(Field.ALGORITHM, "RSA"))
+                    .extracting(StoredCBOM::repository)
+                    .containsExactly("https://example.com/b", "https://example.com/c");
+            assertThat(store.find(Field.ALGORITHM, "RSA-1024"))
+                    .extracting(StoredCBOM::commit)
+                    .containsExactly("c1");
+            assertThat(
+                            store.findAll(
+                                    new Term(Field.PRIMITIVE, "HASH"),
+                                    new Term(Field.PARAMETER_SET, "2048")))
+                    .extracting(StoredCBOM::repository)
+                    .containsExactly("https://example.com/c");
+            assertThat(store.find(Field.ALGORITHM, "DES")).isEmpty();
+
+            StoredCBOM stored = store.find(Field.ALGORITHM, "RSA-1024").get(0);
+            assertThat(stored.revision()).isEqualTo("main");
+            assertThat(stored.timestamp()).isPositive();
+            CBOM loaded = store.load(stored);
+            assertThat(loaded.cycloneDXbom().getComponents())
+                    .extracting(Component::getName)
+                    .containsExactly("RSA-1024");
+        }
+    }
+
+    @Test
+    void testReopenAndCompact() throws Exception {
+        try (CBOMStore store = CBOMStore.open(directory)) {
+            store.append(cbom("https://example.com/a", "c1", "MD5"));
+            store.append(cbom("https://example.com/b", "c1", "DES"));
+            // the same scan again, replaced on compaction
+            store.append(cbom("https://example.com/a", "c1", "SHA256"));
+            assertThat(store.getSegmentCount()).isEqualTo(3);
+            StoredCBOM before = store.find(Field.ALGORITHM, "DES").get(0);
+
+            store.compact();
+            assertThat(store.getSegmentCount()).isEqualTo(1);
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.find(Field.ALGORITHM, "MD5")).isEmpty();
+            assertThat(store.find(Field.ALGORITHM, "SHA256")).hasSize(1);
+            assertThatThrownBy(() -> store.load(before)).isInstanceOf(IOException.class);
+            StoredCBOM after = store.find(Field.ALGORITHM, "DES").get(0);
+            assertThat(store.load(after).cycloneDXbom().getComponents()).hasSize(1);
+        }
+        try (CBOMStore store = CBOMStore.open(directory)) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.find(Field.ALGORITHM, "DES"))
+                    .extracting(StoredCBOM::repository)
+                    .containsExactly("https://example.com/b");
+        }
+    }
+
+    @Test
+    void testConcurrentReader() throws Exception {
+        try (CBOMStore writer = CBOMStore.open(directory);
+                CBOMStore reader = CBOMStore.open(directory)) {
+            writer.append(cbom("https://example.com/a", "c1", "MD5"));
+            assertThat(reader.find(Field.ALGORITHM, "MD5")).isEmpty();
+            reader.refresh();
+            assertThat(reader.find(Field.ALGORITHM, "MD5")).hasSize(1);
+
+            StoredCBOM stored = reader.find(Field.ALGORITHM, "MD5").get(0);
+            writer.append(cbom("https://example.com/b", "c1", "MD5"));
+            writer.compact();
+            // the reader keeps its segments until it refreshes
+            assertThat(reader.load(stored).cycloneDXbom().getComponents()).hasSize(1);
+            reader.refresh();
+            assertThat(reader.find(Field.ALGORITHM, "MD5")).hasSize(2);
+        }
+    }
+
+    private static CBOM cbom(String repository, String commit, String... algorithms) {
+        List<Component> components = new ArrayList<>();
+        for (String algorithm : algorithms) {
+            Component component = new Component();
+            component.setType(Component.Type.CRYPTOGRAPHIC_ASSET);
+            component.setName(algorithm);
+            CryptoProperties cryptoProperties = new CryptoProperties();
+            cryptoProperties.setAssetType(AssetType.ALGORITHM);
+            AlgorithmProperties algorithmProperties = new AlgorithmProperties();
+            if (algorithm.startsWith("RSA")) {
+                algorithmProperties.setPrimitive(Primitive.PKE);
+                algorithmProperties.setParameterSetIdentifier(algorithm.substring(4));
+            } else {
+                algorithmProperties.setPrimitive(Primitive.HASH);
+            }
+            cryptoProperties.setAlgorithmProperties(algorithmProperties);
+            component.setCryptoProperties(cryptoProperties);
+            components.add(component);
+        }
+        Bom bom = new Bom();
+        bom.setComponents(components);
+        CBOM cbom = new CBOM(bom);
+        cbom.addMetadata(repository, "main", commit, null);
+        return cbom;
+    }
+}
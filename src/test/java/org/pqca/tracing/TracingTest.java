@@ -0,0 +1,150 @@
+/*
+ * CBOMkit-lib
+ * Copyright (C) 2026 PQCA
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * */
+package org.pqca.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.pqca.indexing.ProjectModule;
+import org.pqca.indexing.python.PythonIndexService;
+import org.pqca.scanning.python.PythonScannerService;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+
+class TracingTest {
+
+    @Test
+    void testScanSpans(@TempDir Path tempDir) throws Exception {
+        final List<Span> spans = new ArrayList<>();
+        final Tracer tracer = new Tracer(spans::add);
+        final Span root = tracer.startSpan("pipeline", null);
+
+        final File projectDirectory = new File("src/test/testdata/python/pyca");
+        final PythonIndexService indexService = new PythonIndexService(projectDirectory);
+        indexService.setTracer(tracer, root);
+        final List<ProjectModule> projectModules = indexService.index(null);
+        final PythonScannerService scannerService = new PythonScannerService(projectDirectory);
+        scannerService.addScanListener(
+                new TracingScanListener(
+                        tracer, root, indexService.getMainBuildType().orElse(null)));
+        scannerService
+                .scan(projectModules)
+                .cbom()
+                .write(tempDir.resolve("cbom.json").toString(), tracer, root);
+        root.end();
+
+        final Map<String, Span> byName =
+                spans.stream().collect(Collectors.toMap(Span::getName, Function.identity()));
+        assertThat(byName)
+                .containsOnlyKeys("pipeline", "index", "scan", "module", "file", "serialize");
+        assertThat(spans).allMatch(span -> span.getTraceId().equals(root.getTraceId()));
+        assertThat(byName.get("index").getParentSpanId()).isEqualTo(root.getSpanId());
+        assertThat(byName.get("scan").getParentSpanId()).isEqualTo(root.getSpanId());
+        assertThat(byName.get("module").getParentSpanId())
+                .isEqualTo(byName.get("scan").getSpanId());
+        assertThat(byName.get("file").getParentSpanId())
+                .isEqualTo(byName.get("module").getSpanId());
+        assertThat(byName.get("scan").getAttributes()).containsEntry("cbomkit.findings", 5L);
+        assertThat(byName.get("serialize").getParentSpanId()).isEqualTo(root.getSpanId());
+        assertThat(byName.get("serialize").getAttributes())
+                .containsEntry("cbomkit.operation", "write")
+                .containsEntry("cbomkit.findings", 5L)
+                .containsEntry("cbomkit.bytes", Files.size(tempDir.resolve("cbom.json")));
+        assertThat((long) byName.get("serialize").getAttributes().get("cbomkit.components"))
+                .isPositive();
+        assertThat((long) byName.get("file").getAttributes().get("cbomkit.findings"))
+                .isPositive();
+        assertThat(spans)
+                .allMatch(span -> span.getEndEpochNanos() >= span.getStartEpochNanos());
+    }
+
+    @Test
+    void testScanFailedEndsSpans() {
+        final List<Span> spans = new ArrayList<>();
+        final Tracer tracer = new Tracer(spans::add);
+        final TracingScanListener listener = new TracingScanListener(tracer);
+        final InputFile file = new TestInputFileBuilder("m", "a.py").build();
+        listener.scanStarted();
+        listener.moduleStarted(new ProjectModule("m", Path.of("."), List.of(file)));
+        listener.fileStarted(file);
+        listener.scanFailed(new IllegalStateException("failed"));
+
+        assertThat(spans).extracting(Span::getName).containsExactly("file", "module", "scan");
+        assertThat(spans).allMatch(Span::isError);
+        assertThat(spans.get(2).getAttributes())
+                .containsEntry("cbomkit.error", IllegalStateException.class.getName());
+    }
+
+    @Test
+    void testOtlpJsonFile(@TempDir Path tempDir) throws Exception {
+        final Path file = tempDir.resolve("spans.json");
+        try (OtlpJsonFileSink sink = new OtlpJsonFileSink(file)) {
+            final Tracer tracer = new Tracer(sink);
+            final Span parent = tracer.startSpan("scan", null);
+            tracer.startSpan("module", parent).setAttribute("cbomkit.module", "core").end();
+            parent.setAttribute("cbomkit.files", 3).end();
+        }
+
+        final List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(1);
+        final JsonNode scopeSpans =
+                new ObjectMapper().readTree(lines.get(0)).at("/resourceSpans/0/scopeSpans/0");
+        assertThat(scopeSpans.at("/scope/name").asText()).isEqualTo("org.pqca.cbomkit");
+        final JsonNode module = scopeSpans.at("/spans/0");
+        final JsonNode scan = scopeSpans.at("/spans/1");
+        assertThat(module.get("name").asText()).isEqualTo("module");
+        assertThat(module.get("parentSpanId").asText()).isEqualTo(scan.get("spanId").asText());
+        assertThat(module.get("traceId").asText()).hasSize(32);
+        assertThat(module.at("/attributes/0/value/stringValue").asText()).isEqualTo("core");
+        assertThat(scan.at("/attributes/0/value/intValue").asText()).isEqualTo("3");
+        assertThat(scan.has("parentSpanId")).isFalse();
+    }
+
+    @Test
+    void testOtlpJsonFileBatches(@TempDir Path tempDir) throws Exception {
+        final Path file = tempDir.resolve("spans.json");
+        try (OtlpJsonFileSink sink = new OtlpJsonFileSink(file, "cbomkit", 2)) {
+            final Tracer tracer = new Tracer(sink);
+            for (int i = 0; i < 3; i++) {
+                tracer.startSpan("file", null).end();
+            }
+            // a full batch is written without a flush
+            final List<String> lines = Files.readAllLines(file);
+            assertThat(lines).hasSize(1);
+            assertThat(
+                            new ObjectMapper()
+                                    .readTree(lines.get(0))
+                                    .at("/resourceSpans/0/scopeSpans/0/spans"))
+                    .hasSize(2);
+        }
+        assertThat(Files.readAllLines(file)).hasSize(2);
+    }
+}